@@ -0,0 +1,52 @@
+package com.nexus.agent.agents;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Collections;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+
+// LRU of MAP chunk outputs keyed by node scope and the SHA-256 of the chunk text.
+public class ChunkResultCache {
+
+    private final int maxEntries;
+    private final Map<String, String> results;
+
+    public ChunkResultCache(int maxEntries) {
+        this.maxEntries = maxEntries;
+        this.results = Collections.synchronizedMap(new LinkedHashMap<>(64, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, String> eldest) {
+                return size() > ChunkResultCache.this.maxEntries;
+            }
+        });
+    }
+
+    public Optional<String> get(String scope, String chunk) {
+        return Optional.ofNullable(results.get(key(scope, chunk)));
+    }
+
+    public void put(String scope, String chunk, String result) {
+        results.put(key(scope, chunk), result);
+    }
+
+    public void clear() {
+        results.clear();
+    }
+
+    private String key(String scope, String chunk) {
+        return scope + ":" + sha256(chunk);
+    }
+
+    private static String sha256(String text) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(text.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException ex) {
+            throw new IllegalStateException("SHA-256 is not available", ex);
+        }
+    }
+}
@@ -0,0 +1,60 @@
+package com.nexus.agent.agents;
+
+import com.google.adk.agents.BaseAgent;
+import com.google.adk.agents.InvocationContext;
+import com.google.adk.events.Event;
+import com.nexus.agent.service.RunMetrics;
+import io.reactivex.rxjava3.core.Flowable;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+// Bounds a node by its own timeoutMs and by whatever is left of the run deadline, whichever is shorter.
+// The wrapper takes the node's name and description so parents, routes and LLM transfers address it unchanged.
+public class DeadlineAgent extends BaseAgent {
+
+    private final BaseAgent node;
+    private final long timeoutMs;
+    private final RunDeadline runDeadline;
+    private final String metricScope;
+    private final RunMetrics metrics;
+
+    public DeadlineAgent(BaseAgent node,
+                         long timeoutMs,
+                         RunDeadline runDeadline,
+                         String metricScope,
+                         RunMetrics metrics) {
+        super(node.name(), node.description(), List.of(node), List.of(), List.of());
+        this.node = node;
+        this.timeoutMs = timeoutMs;
+        this.runDeadline = runDeadline;
+        this.metricScope = metricScope;
+        this.metrics = metrics;
+    }
+
+    @Override
+    protected Flowable<Event> runAsyncImpl(InvocationContext invocationContext) {
+        return Flowable.defer(() -> {
+            long budget = runDeadline == null ? timeoutMs : Math.min(timeoutMs, runDeadline.remainingMillis());
+            AtomicBoolean expired = new AtomicBoolean();
+            return node.runAsync(invocationContext)
+                    .takeUntil(Flowable.timer(budget, TimeUnit.MILLISECONDS)
+                            .doOnNext(ignored -> expired.set(true)))
+                    .doOnComplete(() -> {
+                        if (!expired.get()) {
+                            return;
+                        }
+                        metrics.increment("deadline." + metricScope + ".expired");
+                        if (runDeadline != null) {
+                            runDeadline.markExpired(name());
+                        }
+                    });
+        });
+    }
+
+    @Override
+    protected Flowable<Event> runLiveImpl(InvocationContext invocationContext) {
+        return Flowable.error(new UnsupportedOperationException("Live mode is not supported by deadline node " + name()));
+    }
+}
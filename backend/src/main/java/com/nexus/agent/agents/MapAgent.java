@@ -0,0 +1,145 @@
+package com.nexus.agent.agents;
+
+import com.google.adk.agents.BaseAgent;
+import com.google.adk.agents.InvocationContext;
+import com.google.adk.agents.RunConfig;
+import com.google.adk.events.Event;
+import com.google.adk.runner.Runner;
+import com.google.adk.sessions.BaseSessionService;
+import com.google.adk.sessions.InMemorySessionService;
+import com.google.genai.types.Content;
+import com.google.genai.types.Part;
+import com.nexus.agent.service.RunMetrics;
+import io.reactivex.rxjava3.core.Flowable;
+import io.reactivex.rxjava3.core.Single;
+import io.reactivex.rxjava3.schedulers.Schedulers;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+// Splits the user message into chunks and runs the mapper child on each chunk in its own scratch session,
+// at most maxParallelism at a time. One event per chunk is emitted in input order for a following reduce node.
+public class MapAgent extends BaseAgent {
+
+    private static final String SCRATCH_USER_ID = "map";
+
+    private final String appName;
+    private final String metricScope;
+    private final String cacheScope;
+    private final int chunkSize;
+    private final int chunkOverlap;
+    private final int maxParallelism;
+    private final BaseAgent mapper;
+    private final ChunkResultCache cache;
+    private final RunMetrics metrics;
+    private final BaseSessionService scratchSessions = new InMemorySessionService();
+
+    public MapAgent(String name,
+                    String description,
+                    String appName,
+                    String metricScope,
+                    String cacheScope,
+                    int chunkSize,
+                    int chunkOverlap,
+                    int maxParallelism,
+                    BaseAgent mapper,
+                    ChunkResultCache cache,
+                    RunMetrics metrics) {
+        super(name, description, List.of(mapper), List.of(), List.of());
+        this.appName = appName;
+        this.metricScope = metricScope;
+        this.cacheScope = cacheScope;
+        this.chunkSize = chunkSize;
+        this.chunkOverlap = chunkOverlap;
+        this.maxParallelism = maxParallelism;
+        this.mapper = mapper;
+        this.cache = cache;
+        this.metrics = metrics;
+    }
+
+    @Override
+    protected Flowable<Event> runAsyncImpl(InvocationContext invocationContext) {
+        return Flowable.defer(() -> {
+            String input = invocationContext.userContent()
+                    .map(Content::text)
+                    .orElse("");
+            List<String> chunks = TextChunker.split(input, chunkSize, chunkOverlap);
+            if (chunks.size() <= 1) {
+                metrics.increment("map." + metricScope + ".passthrough");
+                return mapper.runAsync(invocationContext);
+            }
+
+            metrics.increment("map." + metricScope + ".runs");
+            metrics.add("map." + metricScope + ".chunks", chunks.size());
+            // concatMapEager subscribes up to maxParallelism chunk runs at once but emits results in chunk order.
+            return Flowable.range(0, chunks.size())
+                    .concatMapEager(index -> mapChunk(invocationContext, chunks, index).toFlowable(), maxParallelism, 1)
+                    .map(result -> chunkEvent(invocationContext, result));
+        });
+    }
+
+    @Override
+    protected Flowable<Event> runLiveImpl(InvocationContext invocationContext) {
+        return Flowable.error(new UnsupportedOperationException("Live mode is not supported by map node " + name()));
+    }
+
+    private Single<ChunkResult> mapChunk(InvocationContext invocationContext, List<String> chunks, int index) {
+        String chunk = chunks.get(index);
+        Optional<String> cached = cache.get(cacheScope, chunk);
+        if (cached.isPresent()) {
+            metrics.increment("map." + metricScope + ".cache-hits");
+            return Single.just(new ChunkResult(index, chunks.size(), cached.get()));
+        }
+
+        String sessionId = invocationContext.invocationId() + "-chunk-" + index;
+        Content prompt = Content.fromParts(Part.fromText(
+                "Part " + (index + 1) + " of " + chunks.size() + " of a longer input:\n\n" + chunk));
+        Runner runner = Runner.builder()
+                .agent(mapper)
+                .appName(appName)
+                .sessionService(scratchSessions)
+                .build();
+
+        return Single.defer(() -> {
+                    long started = System.currentTimeMillis();
+                    return scratchSessions.createSession(appName, SCRATCH_USER_ID, new ConcurrentHashMap<>(), sessionId)
+                            .flatMap(session -> runner.runAsync(SCRATCH_USER_ID, session.id(), prompt, RunConfig.builder().build())
+                                    .filter(Event::finalResponse)
+                                    .map(MapAgent::text)
+                                    .filter(text -> !text.isBlank())
+                                    .toList())
+                            .map(parts -> String.join("\n", parts))
+                            .doOnSuccess(result -> {
+                                cache.put(cacheScope, chunk, result);
+                                metrics.recordLatency("map." + metricScope + ".chunk", System.currentTimeMillis() - started);
+                            });
+                })
+                .map(result -> new ChunkResult(index, chunks.size(), result))
+                .doFinally(() -> scratchSessions.deleteSession(appName, SCRATCH_USER_ID, sessionId)
+                        .onErrorComplete()
+                        .subscribe())
+                .subscribeOn(Schedulers.io());
+    }
+
+    private Event chunkEvent(InvocationContext invocationContext, ChunkResult result) {
+        String text = "Chunk " + (result.index() + 1) + "/" + result.total() + ":\n" + result.text();
+        return Event.builder()
+                .id(Event.generateEventId())
+                .invocationId(invocationContext.invocationId())
+                .author(name())
+                .content(Content.builder().role("model").parts(List.of(Part.fromText(text))).build())
+                .timestamp(Instant.now().toEpochMilli())
+                .build();
+    }
+
+    private static String text(Event event) {
+        return event.content()
+                .map(Content::text)
+                .orElse("");
+    }
+
+    private record ChunkResult(int index, int total, String text) {
+    }
+}
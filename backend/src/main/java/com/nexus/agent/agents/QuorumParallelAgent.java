@@ -0,0 +1,115 @@
+package com.nexus.agent.agents;
+
+import com.google.adk.agents.BaseAgent;
+import com.google.adk.agents.InvocationContext;
+import com.google.adk.events.Event;
+import com.nexus.agent.modes.ParallelWaitPolicy;
+import com.nexus.agent.service.RunMetrics;
+import io.reactivex.rxjava3.core.Flowable;
+import io.reactivex.rxjava3.processors.FlowableProcessor;
+import io.reactivex.rxjava3.processors.PublishProcessor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+// Parallel fan-out that stops once enough branches have completed and cuts off branches past their deadline.
+// Branches still running at that point are cancelled, so downstream nodes only see the results that arrived.
+public class QuorumParallelAgent extends BaseAgent {
+
+    private static final Logger log = LoggerFactory.getLogger(QuorumParallelAgent.class);
+
+    private final String metricScope;
+    private final ParallelWaitPolicy waitPolicy;
+    private final Long branchTimeoutMs;
+    private final RunMetrics metrics;
+
+    public QuorumParallelAgent(String name,
+                               String description,
+                               String metricScope,
+                               ParallelWaitPolicy waitPolicy,
+                               Long branchTimeoutMs,
+                               List<BaseAgent> branches,
+                               RunMetrics metrics) {
+        super(name, description, branches, List.of(), List.of());
+        this.metricScope = metricScope;
+        this.waitPolicy = waitPolicy;
+        this.branchTimeoutMs = branchTimeoutMs;
+        this.metrics = metrics;
+    }
+
+    @Override
+    protected Flowable<Event> runAsyncImpl(InvocationContext invocationContext) {
+        return Flowable.defer(() -> {
+            // Same branch scoping as ParallelAgent so sibling branches do not see each other's events.
+            String branch = invocationContext.branch().orElse(null);
+            invocationContext.branch(branch == null || branch.isEmpty() ? name() : branch + "." + name());
+
+            List<? extends BaseAgent> branches = subAgents();
+            int required = waitPolicy.requiredOf(branches.size());
+            AtomicInteger completed = new AtomicInteger();
+            FlowableProcessor<Boolean> quorumReached = PublishProcessor.<Boolean>create().toSerialized();
+
+            List<Flowable<Event>> runs = new ArrayList<>();
+            for (BaseAgent child : branches) {
+                runs.add(runBranch(invocationContext, child, () -> {
+                    if (completed.incrementAndGet() == required && required < branches.size()) {
+                        metrics.increment("parallel." + metricScope + ".early-exit");
+                        quorumReached.onNext(Boolean.TRUE);
+                    }
+                }));
+            }
+            return Flowable.merge(runs).takeUntil(quorumReached);
+        });
+    }
+
+    @Override
+    protected Flowable<Event> runLiveImpl(InvocationContext invocationContext) {
+        return Flowable.error(new UnsupportedOperationException("Live mode is not supported by parallel node " + name()));
+    }
+
+    private Flowable<Event> runBranch(InvocationContext invocationContext, BaseAgent child, Runnable onSuccess) {
+        String key = "parallel." + metricScope + ".branch." + child.name();
+        AtomicBoolean timedOut = new AtomicBoolean();
+        AtomicBoolean failed = new AtomicBoolean();
+        AtomicBoolean finished = new AtomicBoolean();
+        long started = System.currentTimeMillis();
+
+        Flowable<Event> run = child.runAsync(invocationContext);
+        if (branchTimeoutMs != null) {
+            run = run.takeUntil(Flowable.timer(branchTimeoutMs, TimeUnit.MILLISECONDS)
+                    .doOnNext(ignored -> timedOut.set(true)));
+        }
+        if (!waitPolicy.waitsForAll()) {
+            // With first/quorum a failed branch is just one that did not arrive.
+            run = run.onErrorResumeNext(error -> {
+                log.warn("Branch {} of {} failed, continuing without it", child.name(), name(), error);
+                metrics.increment(key + ".failed");
+                failed.set(true);
+                return Flowable.empty();
+            });
+        }
+        return run
+                .doOnComplete(() -> {
+                    finished.set(true);
+                    if (timedOut.get()) {
+                        metrics.increment(key + ".timeout");
+                        return;
+                    }
+                    if (failed.get()) {
+                        return;
+                    }
+                    metrics.recordLatency(key, System.currentTimeMillis() - started);
+                    onSuccess.run();
+                })
+                .doOnCancel(() -> {
+                    if (!finished.get()) {
+                        metrics.increment(key + ".cancelled");
+                    }
+                });
+    }
+}
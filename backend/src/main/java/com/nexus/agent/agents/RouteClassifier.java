@@ -0,0 +1,104 @@
+package com.nexus.agent.agents;
+
+import com.nexus.agent.modes.ModeNodeDefinition;
+import com.nexus.agent.modes.ModeRouteDefinition;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.regex.Pattern;
+
+// Keyword-rule classifier for ROUTER nodes; decisions for recently seen messages are served from a small LRU.
+public class RouteClassifier {
+
+    private static final int MAX_CACHED_DECISIONS = 512;
+    private static final int MAX_CACHEABLE_MESSAGE_CHARS = 4096;
+
+    private final List<Rule> rules;
+    private final String defaultTarget;
+    private final Map<String, RouteDecision> decisions = Collections.synchronizedMap(
+            new LinkedHashMap<>(64, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<String, RouteDecision> eldest) {
+                    return size() > MAX_CACHED_DECISIONS;
+                }
+            });
+
+    public RouteClassifier(ModeNodeDefinition node) {
+        List<Rule> compiled = new ArrayList<>();
+        for (ModeRouteDefinition route : node.getRoutes()) {
+            List<Matcher> matchers = route.getKeywords().stream()
+                    .filter(keyword -> keyword != null && !keyword.isBlank())
+                    .map(keyword -> compile(keyword.trim().toLowerCase(Locale.ROOT)))
+                    .toList();
+            compiled.add(new Rule(route.getTarget(), matchers));
+        }
+        this.rules = List.copyOf(compiled);
+        this.defaultTarget = node.getDefaultRoute() != null ? node.getDefaultRoute() : node.getSubAgents().get(0);
+    }
+
+    public RouteDecision classify(String message) {
+        String text = message == null ? "" : message;
+        boolean cacheable = text.length() <= MAX_CACHEABLE_MESSAGE_CHARS;
+        if (cacheable) {
+            RouteDecision cached = decisions.get(text);
+            if (cached != null) {
+                return cached.asCached();
+            }
+        }
+
+        RouteDecision decision = evaluate(text.toLowerCase(Locale.ROOT));
+        if (cacheable) {
+            decisions.put(text, decision);
+        }
+        return decision;
+    }
+
+    private RouteDecision evaluate(String lowerText) {
+        Rule best = null;
+        int bestHits = 0;
+        for (Rule rule : rules) {
+            int hits = 0;
+            for (Matcher matcher : rule.matchers()) {
+                if (matcher.matches(lowerText)) {
+                    hits++;
+                }
+            }
+            // Earlier routes win ties, so route order in the mode file expresses priority.
+            if (hits > bestHits) {
+                best = rule;
+                bestHits = hits;
+            }
+        }
+        if (best == null) {
+            return new RouteDecision(defaultTarget, "default", 0, false);
+        }
+        return new RouteDecision(best.target(), "keywords", bestHits, false);
+    }
+
+    private Matcher compile(String keyword) {
+        boolean ascii = keyword.chars().allMatch(ch -> ch < 128);
+        if (!ascii) {
+            return text -> text.contains(keyword);
+        }
+        Pattern pattern = Pattern.compile("(?<![\\p{Alnum}])" + Pattern.quote(keyword) + "(?![\\p{Alnum}])");
+        return text -> pattern.matcher(text).find();
+    }
+
+    public record RouteDecision(String target, String reason, int score, boolean cached) {
+
+        private RouteDecision asCached() {
+            return new RouteDecision(target, reason, score, true);
+        }
+    }
+
+    private interface Matcher {
+        boolean matches(String lowerText);
+    }
+
+    private record Rule(String target, List<Matcher> matchers) {
+    }
+}
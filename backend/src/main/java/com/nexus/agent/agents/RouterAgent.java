@@ -0,0 +1,81 @@
+package com.nexus.agent.agents;
+
+import com.google.adk.agents.BaseAgent;
+import com.google.adk.agents.InvocationContext;
+import com.google.adk.events.Event;
+import com.google.genai.types.Content;
+import com.nexus.agent.service.RunMetrics;
+import io.reactivex.rxjava3.core.Flowable;
+
+import java.util.List;
+import java.util.Map;
+
+// Runs exactly one child chosen by a RouteClassifier; the other branches are never started.
+public class RouterAgent extends BaseAgent {
+
+    private final String metricScope;
+    private final RouteClassifier classifier;
+    private final Map<String, BaseAgent> targets;
+    private final RunMetrics metrics;
+
+    public RouterAgent(String name,
+                       String description,
+                       String metricScope,
+                       RouteClassifier classifier,
+                       Map<String, BaseAgent> targets,
+                       RunMetrics metrics) {
+        super(name, description, List.copyOf(targets.values()), List.of(), List.of());
+        this.metricScope = metricScope;
+        this.classifier = classifier;
+        this.targets = Map.copyOf(targets);
+        this.metrics = metrics;
+    }
+
+    @Override
+    protected Flowable<Event> runAsyncImpl(InvocationContext invocationContext) {
+        return Flowable.defer(() -> {
+            String message = invocationContext.userContent()
+                    .map(Content::text)
+                    .orElse("");
+            long classifyStarted = System.nanoTime();
+            RouteClassifier.RouteDecision decision = classifier.classify(message);
+            long classifyMicros = (System.nanoTime() - classifyStarted) / 1_000;
+
+            BaseAgent target = targets.get(decision.target());
+            if (target == null) {
+                return Flowable.error(new IllegalStateException("Router " + name() + " selected unknown target " + decision.target()));
+            }
+
+            metrics.increment("router." + metricScope + ".decision." + decision.target());
+            metrics.increment("router." + metricScope + ".reason." + decision.reason() + (decision.cached() ? ".cached" : ""));
+            metrics.add("router." + metricScope + ".classify-micros", classifyMicros);
+            metrics.add("router." + metricScope + ".skipped-branch-ms", estimateSkippedMillis(decision.target()));
+
+            long branchStarted = System.currentTimeMillis();
+            return target.runAsync(invocationContext)
+                    .doOnComplete(() -> metrics.recordLatency(
+                            branchLatencyKey(decision.target()),
+                            System.currentTimeMillis() - branchStarted));
+        });
+    }
+
+    @Override
+    protected Flowable<Event> runLiveImpl(InvocationContext invocationContext) {
+        return Flowable.error(new UnsupportedOperationException("Live mode is not supported by router " + name()));
+    }
+
+    // Branch time avoided relative to running every route, based on the observed mean latency of the routes not taken.
+    private long estimateSkippedMillis(String selected) {
+        long skipped = 0;
+        for (String target : targets.keySet()) {
+            if (!target.equals(selected)) {
+                skipped += metrics.latency(branchLatencyKey(target)).meanMillis();
+            }
+        }
+        return skipped;
+    }
+
+    private String branchLatencyKey(String target) {
+        return "router." + metricScope + ".branch." + target;
+    }
+}
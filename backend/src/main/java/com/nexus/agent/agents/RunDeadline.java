@@ -0,0 +1,41 @@
+package com.nexus.agent.agents;
+
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+// Absolute deadline of one run, shared by every node instantiated for it; nodes that expire record themselves here.
+public class RunDeadline {
+
+    private final long timeoutMs;
+    private final long deadlineEpochMillis;
+    private final Set<String> expiredNodes = Collections.synchronizedSet(new LinkedHashSet<>());
+
+    private RunDeadline(long timeoutMs, long deadlineEpochMillis) {
+        this.timeoutMs = timeoutMs;
+        this.deadlineEpochMillis = deadlineEpochMillis;
+    }
+
+    public static RunDeadline after(long timeoutMs) {
+        return new RunDeadline(timeoutMs, System.currentTimeMillis() + timeoutMs);
+    }
+
+    public long timeoutMs() {
+        return timeoutMs;
+    }
+
+    public long remainingMillis() {
+        return Math.max(0, deadlineEpochMillis - System.currentTimeMillis());
+    }
+
+    public void markExpired(String nodeName) {
+        expiredNodes.add(nodeName);
+    }
+
+    public List<String> expiredNodes() {
+        synchronized (expiredNodes) {
+            return List.copyOf(expiredNodes);
+        }
+    }
+}
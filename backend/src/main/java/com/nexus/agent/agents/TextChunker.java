@@ -0,0 +1,68 @@
+package com.nexus.agent.agents;
+
+import java.util.ArrayList;
+import java.util.List;
+
+// Splits text into windows of at most chunkSize chars, preferring paragraph, sentence and word boundaries.
+final class TextChunker {
+
+    private static final double MIN_BOUNDARY_FRACTION = 0.6;
+
+    private TextChunker() {
+    }
+
+    static List<String> split(String text, int chunkSize, int chunkOverlap) {
+        if (text == null || text.isEmpty()) {
+            return List.of();
+        }
+        if (text.length() <= chunkSize) {
+            return List.of(text);
+        }
+
+        List<String> chunks = new ArrayList<>();
+        int start = 0;
+        while (start < text.length()) {
+            int end = Math.min(text.length(), start + chunkSize);
+            if (end < text.length()) {
+                end = boundary(text, start, end);
+            }
+            chunks.add(text.substring(start, end));
+            if (end >= text.length()) {
+                break;
+            }
+            start = overlapStart(text, Math.max(start + 1, end - chunkOverlap), end);
+        }
+        return chunks;
+    }
+
+    // Moves the overlap start forward to the next word so a chunk does not open mid-word.
+    private static int overlapStart(String text, int start, int end) {
+        for (int i = start; i < end; i++) {
+            if (Character.isWhitespace(text.charAt(i - 1))) {
+                return i;
+            }
+        }
+        return Character.isLowSurrogate(text.charAt(start)) ? start + 1 : start;
+    }
+
+    private static int boundary(String text, int start, int end) {
+        int floor = start + (int) ((end - start) * MIN_BOUNDARY_FRACTION);
+        int paragraph = text.lastIndexOf("\n\n", end - 2);
+        if (paragraph >= floor) {
+            return paragraph + 2;
+        }
+        for (int i = end - 1; i >= floor; i--) {
+            char c = text.charAt(i);
+            if (c == '\u3002' || c == '\uff01' || c == '\uff1f' || c == '\n'
+                    || ((c == '.' || c == '!' || c == '?') && i + 1 < text.length() && Character.isWhitespace(text.charAt(i + 1)))) {
+                return i + 1;
+            }
+        }
+        for (int i = end - 1; i >= floor; i--) {
+            if (Character.isWhitespace(text.charAt(i))) {
+                return i + 1;
+            }
+        }
+        return Character.isHighSurrogate(text.charAt(end - 1)) ? end - 1 : end;
+    }
+}
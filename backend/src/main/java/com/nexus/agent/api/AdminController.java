@@ -0,0 +1,87 @@
+package com.nexus.agent.api;
+
+import com.nexus.agent.llm.CircuitBreakerRegistry;
+import com.nexus.agent.llm.ContextCacheManager;
+import com.nexus.agent.service.ModeDecision;
+import com.nexus.agent.service.ModeSelector;
+import com.nexus.agent.service.PromptBudgetAnalyzer;
+import com.nexus.agent.service.PromptBudgetReport;
+import com.nexus.agent.service.RunMetrics;
+import com.nexus.agent.tools.ToolResultCache;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+@RestController
+@RequestMapping("/api/v1/admin")
+public class AdminController {
+
+    private final PromptBudgetAnalyzer promptBudgetAnalyzer;
+    private final RunMetrics runMetrics;
+    private final ModeSelector modeSelector;
+    private final ToolResultCache toolResultCache;
+    private final CircuitBreakerRegistry circuitBreakerRegistry;
+    private final ContextCacheManager contextCacheManager;
+
+    public AdminController(PromptBudgetAnalyzer promptBudgetAnalyzer,
+                           RunMetrics runMetrics,
+                           ModeSelector modeSelector,
+                           ToolResultCache toolResultCache,
+                           CircuitBreakerRegistry circuitBreakerRegistry,
+                           ContextCacheManager contextCacheManager) {
+        this.promptBudgetAnalyzer = promptBudgetAnalyzer;
+        this.runMetrics = runMetrics;
+        this.modeSelector = modeSelector;
+        this.toolResultCache = toolResultCache;
+        this.circuitBreakerRegistry = circuitBreakerRegistry;
+        this.contextCacheManager = contextCacheManager;
+    }
+
+    @GetMapping("/metrics")
+    public Map<String, Object> metrics() {
+        return runMetrics.snapshot();
+    }
+
+    @GetMapping("/prompt-budget")
+    public PromptBudgetReport promptBudget(@RequestParam(required = false) List<String> skills) {
+        if (skills == null || skills.isEmpty()) {
+            return promptBudgetAnalyzer.report();
+        }
+        return promptBudgetAnalyzer.analyze(skills.stream()
+                .filter(name -> name != null && !name.isBlank())
+                .map(name -> name.trim().toLowerCase(Locale.ROOT))
+                .collect(Collectors.toSet()));
+    }
+
+    @GetMapping("/tool-cache")
+    public List<ToolResultCache.ToolCacheStats> toolCache() {
+        return toolResultCache.stats();
+    }
+
+    @GetMapping("/circuit-breakers")
+    public List<CircuitBreakerRegistry.CircuitState> circuitBreakers() {
+        return circuitBreakerRegistry.states();
+    }
+
+    @GetMapping("/context-cache")
+    public List<ContextCacheManager.ContextCacheEntry> contextCache() {
+        return contextCacheManager.entries();
+    }
+
+    @GetMapping("/auto-mode/decisions")
+    public List<ModeDecision> autoModeDecisions() {
+        return modeSelector.recentDecisions();
+    }
+
+    // Dry run: explains what AUTO would pick for the message right now without recording a decision.
+    @GetMapping("/auto-mode/explain")
+    public ModeDecision explainAutoMode(@RequestParam String message) {
+        return modeSelector.explain(message);
+    }
+}
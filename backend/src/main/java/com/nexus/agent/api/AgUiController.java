@@ -3,6 +3,8 @@ package com.nexus.agent.api;
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.nexus.agent.api.dto.agui.AgUiRunRequest;
+import com.nexus.agent.llm.AdmissionRejectedException;
+import com.nexus.agent.llm.CircuitOpenException;
 import com.nexus.agent.service.AgUiProtocolService;
 import com.nexus.agent.service.AgUiRunResult;
 import org.springframework.http.MediaType;
@@ -76,14 +78,56 @@ public class AgUiController {
                 } catch (UncheckedIOException ex) {
                     throw ex.getCause();
                 } catch (Exception ex) {
+                    Map<String, Object> error = new LinkedHashMap<>();
+                    error.put("type", "RUN_ERROR");
+                    error.put("threadId", threadId);
+                    error.put("runId", runId);
+                    error.put("message", ex.getMessage() == null ? "run failed" : ex.getMessage());
+                    AdmissionRejectedException.find(ex).ifPresent(rejected -> {
+                        error.put("code", "ADMISSION_REJECTED");
+                        error.put("retryAfterMs", rejected.retryAfterMs());
+                    });
+                    CircuitOpenException.find(ex).ifPresent(open -> {
+                        error.put("code", "CIRCUIT_OPEN");
+                        error.put("retryAfterMs", open.retryAfterMs());
+                    });
+                    error.put("timestamp", Instant.now().toEpochMilli());
+                    sendEvent(writer, error);
+                    return;
+                }
+
+                if (result.deadlineExceeded() || !result.expiredNodes().isEmpty()) {
                     sendEvent(writer, Map.of(
-                            "type", "RUN_ERROR",
+                            "type", "CUSTOM",
                             "threadId", threadId,
                             "runId", runId,
-                            "message", ex.getMessage() == null ? "run failed" : ex.getMessage(),
+                            "name", "nexus.deadline_exceeded",
+                            "value", Map.of(
+                                    "timeoutMs", result.timeoutMs(),
+                                    "runDeadlineExceeded", result.deadlineExceeded(),
+                                    "expiredNodes", result.expiredNodes(),
+                                    "partial", true
+                            ),
+                            "timestamp", Instant.now().toEpochMilli()
+                    ));
+                }
+
+                if (result.budget().exceeded()) {
+                    Map<String, Object> budget = new LinkedHashMap<>();
+                    budget.put("limit", result.budget().exceededLimit());
+                    budget.put("maxTokens", result.budget().maxTokens());
+                    budget.put("maxLlmCalls", result.budget().maxLlmCalls());
+                    budget.put("tokens", result.budget().tokens());
+                    budget.put("llmCalls", result.budget().llmCalls());
+                    budget.put("partial", true);
+                    sendEvent(writer, Map.of(
+                            "type", "CUSTOM",
+                            "threadId", threadId,
+                            "runId", runId,
+                            "name", "nexus.budget_exceeded",
+                            "value", budget,
                             "timestamp", Instant.now().toEpochMilli()
                     ));
-                    return;
                 }
 
                 sendEvent(writer, Map.of(
@@ -97,10 +141,17 @@ public class AgUiController {
                 Map<String, Object> resultPayload = new LinkedHashMap<>();
                 resultPayload.put("sessionId", result.sessionId());
                 resultPayload.put("mode", result.mode());
+                resultPayload.put("servedMode", result.servedMode());
                 resultPayload.put("response", result.response());
                 resultPayload.put("activatedSkills", result.activatedSkills());
                 resultPayload.put("eventCount", result.eventCount());
                 resultPayload.put("timestamp", result.timestamp());
+                resultPayload.put("deadlineExceeded", result.deadlineExceeded());
+                resultPayload.put("expiredNodes", result.expiredNodes());
+                resultPayload.put("payloadEdges", result.payloadEdges());
+                resultPayload.put("cached", result.cached());
+                resultPayload.put("usage", result.usage());
+                resultPayload.put("budget", result.budget());
 
                 sendEvent(writer, Map.of(
                         "type", "RUN_FINISHED",
@@ -1,6 +1,10 @@
 package com.nexus.agent.api;
 
+import com.nexus.agent.llm.AdmissionRejectedException;
+import com.nexus.agent.llm.CircuitOpenException;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.MethodArgumentNotValidException;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.ResponseStatus;
@@ -36,4 +40,43 @@ public class ApiExceptionHandler {
                 "message", message
         );
     }
+
+    // Runs surface admission rejections and open circuits wrapped by the hedge race, Rx or the ADK runner, so the
+    // status is resolved along the cause chain, as the AG-UI path does; anything else is left to the default handling.
+    @ExceptionHandler(RuntimeException.class)
+    public ResponseEntity<Map<String, Object>> handleRunFailure(RuntimeException ex) {
+        AdmissionRejectedException rejected = AdmissionRejectedException.find(ex).orElse(null);
+        if (rejected != null) {
+            return handleAdmissionRejected(rejected);
+        }
+        CircuitOpenException open = CircuitOpenException.find(ex).orElse(null);
+        if (open != null) {
+            return handleCircuitOpen(open);
+        }
+        throw ex;
+    }
+
+    private ResponseEntity<Map<String, Object>> handleAdmissionRejected(AdmissionRejectedException ex) {
+        long retryAfterSeconds = Math.max(1, (ex.retryAfterMs() + 999) / 1000);
+        return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+                .header(HttpHeaders.RETRY_AFTER, Long.toString(retryAfterSeconds))
+                .body(Map.of(
+                        "timestamp", Instant.now(),
+                        "error", "admission_rejected",
+                        "message", ex.getMessage(),
+                        "retryAfterMs", ex.retryAfterMs()
+                ));
+    }
+
+    private ResponseEntity<Map<String, Object>> handleCircuitOpen(CircuitOpenException ex) {
+        long retryAfterSeconds = Math.max(1, (ex.retryAfterMs() + 999) / 1000);
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, Long.toString(retryAfterSeconds))
+                .body(Map.of(
+                        "timestamp", Instant.now(),
+                        "error", "circuit_open",
+                        "message", ex.getMessage(),
+                        "retryAfterMs", ex.retryAfterMs()
+                ));
+    }
 }
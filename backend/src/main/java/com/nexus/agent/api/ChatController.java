@@ -3,6 +3,8 @@ package com.nexus.agent.api;
 import com.nexus.agent.api.dto.ChatRequest;
 import com.nexus.agent.api.dto.ChatResponse;
 import com.nexus.agent.api.dto.ChatHistoryItem;
+import com.nexus.agent.api.dto.ModelDiscoverBatchRequest;
+import com.nexus.agent.api.dto.ModelDiscoverBatchResponse;
 import com.nexus.agent.api.dto.ModelDiscoverRequest;
 import com.nexus.agent.api.dto.SkillView;
 import com.nexus.agent.config.AdkProperties;
@@ -61,6 +63,7 @@ public class ChatController {
                         item.responseMessage(),
                         item.activatedSkills(),
                         item.eventCount(),
+                        item.usage(),
                         item.timestamp()
                 ))
                 .toList();
@@ -93,6 +96,7 @@ public class ChatController {
 
         return Map.of(
                 "count", skills.size(),
+                "version", skillRegistry.version(),
                 "skills", skills
         );
     }
@@ -111,4 +115,9 @@ public class ChatController {
     public List<String> discoverModels(@Valid @RequestBody ModelDiscoverRequest request) {
         return modelDiscoveryService.discover(request);
     }
+
+    @PostMapping("/models/discover/batch")
+    public ModelDiscoverBatchResponse discoverModelsBatch(@Valid @RequestBody ModelDiscoverBatchRequest request) {
+        return modelDiscoveryService.discoverAll(request.endpoints());
+    }
 }
@@ -1,5 +1,7 @@
 package com.nexus.agent.api.dto;
 
+import com.nexus.agent.domain.RunUsage;
+
 import java.time.Instant;
 import java.util.List;
 
@@ -12,6 +14,7 @@ public record ChatHistoryItem(
         String responseMessage,
         List<String> activatedSkills,
         int eventCount,
+        RunUsage usage,
         Instant timestamp
 ) {
 }
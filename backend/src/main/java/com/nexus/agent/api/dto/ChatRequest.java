@@ -10,6 +10,11 @@ public record ChatRequest(
         String mode,
         String userId,
         String sessionId,
-        List<String> skillNames
+        List<String> skillNames,
+        String skillSelection,
+        Long timeoutMs,
+        Long maxTokens,
+        Integer maxLlmCalls,
+        Boolean cache
 ) {
 }
@@ -1,14 +1,25 @@
 package com.nexus.agent.api.dto;
 
+import com.nexus.agent.domain.RunUsage;
+import com.nexus.agent.llm.PayloadLedger;
+import com.nexus.agent.llm.RunBudget;
+
 import java.time.Instant;
 import java.util.List;
 
 public record ChatResponse(
         String mode,
+        String servedMode,
         String sessionId,
         String response,
         List<String> activatedSkills,
         int eventCount,
-        Instant timestamp
+        Instant timestamp,
+        boolean deadlineExceeded,
+        List<String> expiredNodes,
+        List<PayloadLedger.EdgeUsage> payloadEdges,
+        boolean cached,
+        RunUsage usage,
+        RunBudget.Report budget
 ) {
 }
@@ -0,0 +1,12 @@
+package com.nexus.agent.api.dto;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+
+import java.util.List;
+
+public record ModelDiscoverBatchRequest(
+        @NotEmpty(message = "endpoints is required")
+        List<@Valid ModelDiscoverRequest> endpoints
+) {
+}
@@ -0,0 +1,19 @@
+package com.nexus.agent.api.dto;
+
+import java.time.Instant;
+import java.util.List;
+
+public record ModelDiscoverBatchResponse(
+        List<String> models,
+        List<EndpointModels> endpoints
+) {
+
+    public record EndpointModels(
+            String baseUrl,
+            List<String> models,
+            Instant fetchedAt,
+            boolean stale,
+            String error
+    ) {
+    }
+}
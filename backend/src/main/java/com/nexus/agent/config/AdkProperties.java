@@ -2,7 +2,9 @@ package com.nexus.agent.config;
 
 import org.springframework.boot.context.properties.ConfigurationProperties;
 
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 
 @ConfigurationProperties(prefix = "nexus.adk")
 public class AdkProperties {
@@ -12,6 +14,12 @@ public class AdkProperties {
     private List<String> availableModels = List.of("gemini-2.0-flash");
     private String defaultUserId = "local-user";
     private String defaultSessionPrefix = "sess";
+    private long runTimeoutMs = 120_000;
+    private boolean coalesceStatelessRuns = true;
+    // Per-run budget defaults when neither the request nor the mode sets one; null is unlimited.
+    private Long runMaxTokens;
+    private Integer runMaxLlmCalls;
+    private Map<String, String> modelTiers = new LinkedHashMap<>();
 
     public String getAppName() {
         return appName;
@@ -52,4 +60,44 @@ public class AdkProperties {
     public void setDefaultSessionPrefix(String defaultSessionPrefix) {
         this.defaultSessionPrefix = defaultSessionPrefix;
     }
+
+    public long getRunTimeoutMs() {
+        return runTimeoutMs;
+    }
+
+    public void setRunTimeoutMs(long runTimeoutMs) {
+        this.runTimeoutMs = runTimeoutMs;
+    }
+
+    public Long getRunMaxTokens() {
+        return runMaxTokens;
+    }
+
+    public void setRunMaxTokens(Long runMaxTokens) {
+        this.runMaxTokens = runMaxTokens;
+    }
+
+    public Integer getRunMaxLlmCalls() {
+        return runMaxLlmCalls;
+    }
+
+    public void setRunMaxLlmCalls(Integer runMaxLlmCalls) {
+        this.runMaxLlmCalls = runMaxLlmCalls;
+    }
+
+    public boolean isCoalesceStatelessRuns() {
+        return coalesceStatelessRuns;
+    }
+
+    public void setCoalesceStatelessRuns(boolean coalesceStatelessRuns) {
+        this.coalesceStatelessRuns = coalesceStatelessRuns;
+    }
+
+    public Map<String, String> getModelTiers() {
+        return modelTiers;
+    }
+
+    public void setModelTiers(Map<String, String> modelTiers) {
+        this.modelTiers = modelTiers == null ? new LinkedHashMap<>() : new LinkedHashMap<>(modelTiers);
+    }
 }
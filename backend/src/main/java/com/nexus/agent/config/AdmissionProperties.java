@@ -0,0 +1,117 @@
+package com.nexus.agent.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+@ConfigurationProperties(prefix = "nexus.admission")
+public class AdmissionProperties {
+
+    private boolean enabled = true;
+    private long maxQueueWaitMs = 10_000;
+    private Limits endpointDefaults = new Limits(32, 0, 0, 128);
+    private Limits modelDefaults = new Limits(16, 0, 0, 64);
+    // Keyed by llmBaseUrl; "default" is the provider endpoint used when a request sets no llmBaseUrl.
+    private Map<String, Limits> endpoints = new LinkedHashMap<>();
+    private Map<String, Limits> models = new LinkedHashMap<>();
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public long getMaxQueueWaitMs() {
+        return maxQueueWaitMs;
+    }
+
+    public void setMaxQueueWaitMs(long maxQueueWaitMs) {
+        this.maxQueueWaitMs = maxQueueWaitMs;
+    }
+
+    public Limits getEndpointDefaults() {
+        return endpointDefaults;
+    }
+
+    public void setEndpointDefaults(Limits endpointDefaults) {
+        this.endpointDefaults = endpointDefaults;
+    }
+
+    public Limits getModelDefaults() {
+        return modelDefaults;
+    }
+
+    public void setModelDefaults(Limits modelDefaults) {
+        this.modelDefaults = modelDefaults;
+    }
+
+    public Map<String, Limits> getEndpoints() {
+        return endpoints;
+    }
+
+    public void setEndpoints(Map<String, Limits> endpoints) {
+        this.endpoints = endpoints == null ? new LinkedHashMap<>() : new LinkedHashMap<>(endpoints);
+    }
+
+    public Map<String, Limits> getModels() {
+        return models;
+    }
+
+    public void setModels(Map<String, Limits> models) {
+        this.models = models == null ? new LinkedHashMap<>() : new LinkedHashMap<>(models);
+    }
+
+    // requestsPerSecond 0 disables the token bucket; burst defaults to one second worth of tokens.
+    public static class Limits {
+
+        private int maxConcurrent;
+        private double requestsPerSecond;
+        private int burst;
+        private int maxQueue;
+
+        public Limits() {
+        }
+
+        public Limits(int maxConcurrent, double requestsPerSecond, int burst, int maxQueue) {
+            this.maxConcurrent = maxConcurrent;
+            this.requestsPerSecond = requestsPerSecond;
+            this.burst = burst;
+            this.maxQueue = maxQueue;
+        }
+
+        public int getMaxConcurrent() {
+            return maxConcurrent;
+        }
+
+        public void setMaxConcurrent(int maxConcurrent) {
+            this.maxConcurrent = maxConcurrent;
+        }
+
+        public double getRequestsPerSecond() {
+            return requestsPerSecond;
+        }
+
+        public void setRequestsPerSecond(double requestsPerSecond) {
+            this.requestsPerSecond = requestsPerSecond;
+        }
+
+        public int getBurst() {
+            return burst;
+        }
+
+        public void setBurst(int burst) {
+            this.burst = burst;
+        }
+
+        public int getMaxQueue() {
+            return maxQueue;
+        }
+
+        public void setMaxQueue(int maxQueue) {
+            this.maxQueue = maxQueue;
+        }
+    }
+}
@@ -0,0 +1,91 @@
+package com.nexus.agent.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@ConfigurationProperties(prefix = "nexus.auto-mode")
+public class AutoModeProperties {
+
+    private long latencySloMs = 30_000;
+    private double minSuccessRate = 0.9;
+    private int minSamples = 5;
+    private double singleMaxComplexity = 0.3;
+    private double masterSubMaxComplexity = 0.6;
+    private int decisionHistory = 100;
+    // Rolling window of runs per mode that the SLO checks look at.
+    private int windowSize = 50;
+    private long windowMs = 600_000;
+    // Share of AUTO requests that still try a mode currently stepped down for an SLO miss.
+    private double exploreRatio = 0.05;
+
+    public long getLatencySloMs() {
+        return latencySloMs;
+    }
+
+    public void setLatencySloMs(long latencySloMs) {
+        this.latencySloMs = latencySloMs;
+    }
+
+    public double getMinSuccessRate() {
+        return minSuccessRate;
+    }
+
+    public void setMinSuccessRate(double minSuccessRate) {
+        this.minSuccessRate = minSuccessRate;
+    }
+
+    public int getMinSamples() {
+        return minSamples;
+    }
+
+    public void setMinSamples(int minSamples) {
+        this.minSamples = minSamples;
+    }
+
+    public double getSingleMaxComplexity() {
+        return singleMaxComplexity;
+    }
+
+    public void setSingleMaxComplexity(double singleMaxComplexity) {
+        this.singleMaxComplexity = singleMaxComplexity;
+    }
+
+    public double getMasterSubMaxComplexity() {
+        return masterSubMaxComplexity;
+    }
+
+    public void setMasterSubMaxComplexity(double masterSubMaxComplexity) {
+        this.masterSubMaxComplexity = masterSubMaxComplexity;
+    }
+
+    public int getDecisionHistory() {
+        return decisionHistory;
+    }
+
+    public void setDecisionHistory(int decisionHistory) {
+        this.decisionHistory = decisionHistory;
+    }
+
+    public int getWindowSize() {
+        return windowSize;
+    }
+
+    public void setWindowSize(int windowSize) {
+        this.windowSize = windowSize;
+    }
+
+    public long getWindowMs() {
+        return windowMs;
+    }
+
+    public void setWindowMs(long windowMs) {
+        this.windowMs = windowMs;
+    }
+
+    public double getExploreRatio() {
+        return exploreRatio;
+    }
+
+    public void setExploreRatio(double exploreRatio) {
+        this.exploreRatio = exploreRatio;
+    }
+}
@@ -0,0 +1,103 @@
+package com.nexus.agent.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+@ConfigurationProperties(prefix = "nexus.circuit-breaker")
+public class CircuitBreakerProperties {
+
+    private boolean enabled = true;
+    private int windowSize = 20;
+    private int minCalls = 10;
+    private double failureRateThreshold = 0.5;
+    private long slowCallMs = 30_000;
+    private double slowCallRateThreshold = 0.8;
+    private long openDurationMs = 30_000;
+    private int halfOpenProbes = 2;
+    // Model -> alternate model used while the model's circuit is open; alternates must be in nexus.adk.available-models.
+    private Map<String, String> failover = new LinkedHashMap<>();
+    // Endpoint -> (model -> alternate) for endpoints with their own model names, such as OpenAI-compatible servers.
+    private Map<String, Map<String, String>> endpointFailover = new LinkedHashMap<>();
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public int getWindowSize() {
+        return windowSize;
+    }
+
+    public void setWindowSize(int windowSize) {
+        this.windowSize = windowSize;
+    }
+
+    public int getMinCalls() {
+        return minCalls;
+    }
+
+    public void setMinCalls(int minCalls) {
+        this.minCalls = minCalls;
+    }
+
+    public double getFailureRateThreshold() {
+        return failureRateThreshold;
+    }
+
+    public void setFailureRateThreshold(double failureRateThreshold) {
+        this.failureRateThreshold = failureRateThreshold;
+    }
+
+    public long getSlowCallMs() {
+        return slowCallMs;
+    }
+
+    public void setSlowCallMs(long slowCallMs) {
+        this.slowCallMs = slowCallMs;
+    }
+
+    public double getSlowCallRateThreshold() {
+        return slowCallRateThreshold;
+    }
+
+    public void setSlowCallRateThreshold(double slowCallRateThreshold) {
+        this.slowCallRateThreshold = slowCallRateThreshold;
+    }
+
+    public long getOpenDurationMs() {
+        return openDurationMs;
+    }
+
+    public void setOpenDurationMs(long openDurationMs) {
+        this.openDurationMs = openDurationMs;
+    }
+
+    public int getHalfOpenProbes() {
+        return halfOpenProbes;
+    }
+
+    public void setHalfOpenProbes(int halfOpenProbes) {
+        this.halfOpenProbes = halfOpenProbes;
+    }
+
+    public Map<String, String> getFailover() {
+        return failover;
+    }
+
+    public void setFailover(Map<String, String> failover) {
+        this.failover = failover == null ? new LinkedHashMap<>() : new LinkedHashMap<>(failover);
+    }
+
+    public Map<String, Map<String, String>> getEndpointFailover() {
+        return endpointFailover;
+    }
+
+    public void setEndpointFailover(Map<String, Map<String, String>> endpointFailover) {
+        this.endpointFailover = endpointFailover == null ? new LinkedHashMap<>() : new LinkedHashMap<>(endpointFailover);
+    }
+}
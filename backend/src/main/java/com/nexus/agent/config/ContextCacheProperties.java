@@ -0,0 +1,74 @@
+package com.nexus.agent.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@ConfigurationProperties(prefix = "nexus.context-cache")
+public class ContextCacheProperties {
+
+    // Off by default: handles are billable upstream objects, so operators opt in.
+    private boolean enabled = false;
+    // Providers reject cached content below a model-specific minimum; smaller prefixes are sent as is.
+    private int minPrefixTokens = 2048;
+    private long ttlMs = 3_600_000;
+    private long refreshBeforeMs = 300_000;
+    // Handles unused for this long are not refreshed and are deleted upstream.
+    private long idleMs = 1_800_000;
+    private long failureBackoffMs = 600_000;
+    private int maxHandles = 64;
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public int getMinPrefixTokens() {
+        return minPrefixTokens;
+    }
+
+    public void setMinPrefixTokens(int minPrefixTokens) {
+        this.minPrefixTokens = minPrefixTokens;
+    }
+
+    public long getTtlMs() {
+        return ttlMs;
+    }
+
+    public void setTtlMs(long ttlMs) {
+        this.ttlMs = ttlMs;
+    }
+
+    public long getRefreshBeforeMs() {
+        return refreshBeforeMs;
+    }
+
+    public void setRefreshBeforeMs(long refreshBeforeMs) {
+        this.refreshBeforeMs = refreshBeforeMs;
+    }
+
+    public long getIdleMs() {
+        return idleMs;
+    }
+
+    public void setIdleMs(long idleMs) {
+        this.idleMs = idleMs;
+    }
+
+    public long getFailureBackoffMs() {
+        return failureBackoffMs;
+    }
+
+    public void setFailureBackoffMs(long failureBackoffMs) {
+        this.failureBackoffMs = failureBackoffMs;
+    }
+
+    public int getMaxHandles() {
+        return maxHandles;
+    }
+
+    public void setMaxHandles(int maxHandles) {
+        this.maxHandles = maxHandles;
+    }
+}
@@ -6,6 +6,7 @@ import org.springframework.boot.context.properties.ConfigurationProperties;
 public class ModeProperties {
 
     private String path = "modes";
+    private boolean watch;
 
     public String getPath() {
         return path;
@@ -14,4 +15,12 @@ public class ModeProperties {
     public void setPath(String path) {
         this.path = path;
     }
+
+    public boolean isWatch() {
+        return watch;
+    }
+
+    public void setWatch(boolean watch) {
+        this.watch = watch;
+    }
 }
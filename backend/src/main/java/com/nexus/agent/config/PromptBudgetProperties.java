@@ -0,0 +1,26 @@
+package com.nexus.agent.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@ConfigurationProperties(prefix = "nexus.prompt-budget")
+public class PromptBudgetProperties {
+
+    private int maxNodeTokens = 2000;
+    private int maxModeTokens = 6000;
+
+    public int getMaxNodeTokens() {
+        return maxNodeTokens;
+    }
+
+    public void setMaxNodeTokens(int maxNodeTokens) {
+        this.maxNodeTokens = maxNodeTokens;
+    }
+
+    public int getMaxModeTokens() {
+        return maxModeTokens;
+    }
+
+    public void setMaxModeTokens(int maxModeTokens) {
+        this.maxModeTokens = maxModeTokens;
+    }
+}
@@ -0,0 +1,53 @@
+package com.nexus.agent.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@ConfigurationProperties(prefix = "nexus.response-cache")
+public class ResponseCacheProperties {
+
+    private boolean enabled;
+    private int maxEntries = 1000;
+    private long ttlMs = 600_000;
+    private String diskPath;
+    private int diskMaxEntries = 10_000;
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public int getMaxEntries() {
+        return maxEntries;
+    }
+
+    public void setMaxEntries(int maxEntries) {
+        this.maxEntries = maxEntries;
+    }
+
+    public long getTtlMs() {
+        return ttlMs;
+    }
+
+    public void setTtlMs(long ttlMs) {
+        this.ttlMs = ttlMs;
+    }
+
+    public String getDiskPath() {
+        return diskPath;
+    }
+
+    public void setDiskPath(String diskPath) {
+        this.diskPath = diskPath;
+    }
+
+    public int getDiskMaxEntries() {
+        return diskMaxEntries;
+    }
+
+    public void setDiskMaxEntries(int diskMaxEntries) {
+        this.diskMaxEntries = diskMaxEntries;
+    }
+}
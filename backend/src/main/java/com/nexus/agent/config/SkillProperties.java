@@ -6,6 +6,10 @@ import org.springframework.boot.context.properties.ConfigurationProperties;
 public class SkillProperties {
 
     private String path = "skills";
+    private boolean watch;
+    private boolean autoSelect;
+    private int autoSelectTopK = 3;
+    private double autoSelectMinScore = 0.5;
 
     public String getPath() {
         return path;
@@ -14,4 +18,36 @@ public class SkillProperties {
     public void setPath(String path) {
         this.path = path;
     }
+
+    public boolean isWatch() {
+        return watch;
+    }
+
+    public void setWatch(boolean watch) {
+        this.watch = watch;
+    }
+
+    public boolean isAutoSelect() {
+        return autoSelect;
+    }
+
+    public void setAutoSelect(boolean autoSelect) {
+        this.autoSelect = autoSelect;
+    }
+
+    public int getAutoSelectTopK() {
+        return autoSelectTopK;
+    }
+
+    public void setAutoSelectTopK(int autoSelectTopK) {
+        this.autoSelectTopK = autoSelectTopK;
+    }
+
+    public double getAutoSelectMinScore() {
+        return autoSelectMinScore;
+    }
+
+    public void setAutoSelectMinScore(double autoSelectMinScore) {
+        this.autoSelectMinScore = autoSelectMinScore;
+    }
 }
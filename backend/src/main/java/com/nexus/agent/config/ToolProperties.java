@@ -0,0 +1,97 @@
+package com.nexus.agent.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+@ConfigurationProperties(prefix = "nexus.tools")
+public class ToolProperties {
+
+    private String pluginDir = "plugins";
+    private int executorThreads = 16;
+    private long defaultTimeoutMs = 30_000;
+    private int defaultMaxConcurrency = 8;
+    private int cacheMaxEntries = 10_000;
+    private long cacheMaxBytes = 16L * 1024 * 1024;
+    private Map<String, Limits> limits = new LinkedHashMap<>();
+
+    public String getPluginDir() {
+        return pluginDir;
+    }
+
+    public void setPluginDir(String pluginDir) {
+        this.pluginDir = pluginDir;
+    }
+
+    public int getExecutorThreads() {
+        return executorThreads;
+    }
+
+    public void setExecutorThreads(int executorThreads) {
+        this.executorThreads = executorThreads;
+    }
+
+    public long getDefaultTimeoutMs() {
+        return defaultTimeoutMs;
+    }
+
+    public void setDefaultTimeoutMs(long defaultTimeoutMs) {
+        this.defaultTimeoutMs = defaultTimeoutMs;
+    }
+
+    public int getDefaultMaxConcurrency() {
+        return defaultMaxConcurrency;
+    }
+
+    public void setDefaultMaxConcurrency(int defaultMaxConcurrency) {
+        this.defaultMaxConcurrency = defaultMaxConcurrency;
+    }
+
+    public int getCacheMaxEntries() {
+        return cacheMaxEntries;
+    }
+
+    public void setCacheMaxEntries(int cacheMaxEntries) {
+        this.cacheMaxEntries = cacheMaxEntries;
+    }
+
+    public long getCacheMaxBytes() {
+        return cacheMaxBytes;
+    }
+
+    public void setCacheMaxBytes(long cacheMaxBytes) {
+        this.cacheMaxBytes = cacheMaxBytes;
+    }
+
+    public Map<String, Limits> getLimits() {
+        return limits;
+    }
+
+    public void setLimits(Map<String, Limits> limits) {
+        this.limits = limits == null ? new LinkedHashMap<>() : new LinkedHashMap<>(limits);
+    }
+
+    // Per-tool overrides keyed by tool name; unset values fall back to the tool's own value, then the defaults.
+    public static class Limits {
+
+        private Long timeoutMs;
+        private Integer maxConcurrency;
+
+        public Long getTimeoutMs() {
+            return timeoutMs;
+        }
+
+        public void setTimeoutMs(Long timeoutMs) {
+            this.timeoutMs = timeoutMs;
+        }
+
+        public Integer getMaxConcurrency() {
+            return maxConcurrency;
+        }
+
+        public void setMaxConcurrency(Integer maxConcurrency) {
+            this.maxConcurrency = maxConcurrency;
+        }
+    }
+}
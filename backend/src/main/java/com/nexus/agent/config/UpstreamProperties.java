@@ -0,0 +1,129 @@
+package com.nexus.agent.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.util.List;
+
+@ConfigurationProperties(prefix = "nexus.upstream")
+public class UpstreamProperties {
+
+    private Retry retry = new Retry();
+    private Hedge hedge = new Hedge();
+
+    public Retry getRetry() {
+        return retry;
+    }
+
+    public void setRetry(Retry retry) {
+        this.retry = retry == null ? new Retry() : retry;
+    }
+
+    public Hedge getHedge() {
+        return hedge;
+    }
+
+    public void setHedge(Hedge hedge) {
+        this.hedge = hedge == null ? new Hedge() : hedge;
+    }
+
+    // maxAttempts counts the first call; 1 disables retries.
+    public static class Retry {
+
+        private int maxAttempts = 3;
+        private long initialBackoffMs = 200;
+        private long maxBackoffMs = 5_000;
+        private List<Integer> retryableStatusCodes = List.of(408, 429, 500, 502, 503, 504);
+
+        public int getMaxAttempts() {
+            return maxAttempts;
+        }
+
+        public void setMaxAttempts(int maxAttempts) {
+            this.maxAttempts = maxAttempts;
+        }
+
+        public long getInitialBackoffMs() {
+            return initialBackoffMs;
+        }
+
+        public void setInitialBackoffMs(long initialBackoffMs) {
+            this.initialBackoffMs = initialBackoffMs;
+        }
+
+        public long getMaxBackoffMs() {
+            return maxBackoffMs;
+        }
+
+        public void setMaxBackoffMs(long maxBackoffMs) {
+            this.maxBackoffMs = maxBackoffMs;
+        }
+
+        public List<Integer> getRetryableStatusCodes() {
+            return retryableStatusCodes;
+        }
+
+        public void setRetryableStatusCodes(List<Integer> retryableStatusCodes) {
+            this.retryableStatusCodes = retryableStatusCodes == null ? List.of() : List.copyOf(retryableStatusCodes);
+        }
+    }
+
+    // A hedge is sent once a call has produced nothing for the model's observed first-response percentile
+    // (50, 95 or 99). Each call earns budgetRatio hedge credits, capped at maxBudget; each hedge spends one.
+    public static class Hedge {
+
+        private boolean enabled = false;
+        private int percentile = 95;
+        private long minDelayMs = 100;
+        private int minSamples = 20;
+        private double budgetRatio = 0.05;
+        private double maxBudget = 10;
+
+        public boolean isEnabled() {
+            return enabled;
+        }
+
+        public void setEnabled(boolean enabled) {
+            this.enabled = enabled;
+        }
+
+        public int getPercentile() {
+            return percentile;
+        }
+
+        public void setPercentile(int percentile) {
+            this.percentile = percentile;
+        }
+
+        public long getMinDelayMs() {
+            return minDelayMs;
+        }
+
+        public void setMinDelayMs(long minDelayMs) {
+            this.minDelayMs = minDelayMs;
+        }
+
+        public int getMinSamples() {
+            return minSamples;
+        }
+
+        public void setMinSamples(int minSamples) {
+            this.minSamples = minSamples;
+        }
+
+        public double getBudgetRatio() {
+            return budgetRatio;
+        }
+
+        public void setBudgetRatio(double budgetRatio) {
+            this.budgetRatio = budgetRatio;
+        }
+
+        public double getMaxBudget() {
+            return maxBudget;
+        }
+
+        public void setMaxBudget(double maxBudget) {
+            this.maxBudget = maxBudget;
+        }
+    }
+}
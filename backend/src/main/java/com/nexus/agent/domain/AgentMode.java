@@ -1,11 +1,17 @@
 package com.nexus.agent.domain;
 
 import java.util.Arrays;
+import java.util.List;
 
 public enum AgentMode {
     SINGLE,
     MASTER_SUB,
-    MULTI_WORKFLOW;
+    MULTI_WORKFLOW,
+    AUTO;
+
+    private static final List<AgentMode> CONCRETE = Arrays.stream(values())
+            .filter(mode -> !mode.isAuto())
+            .toList();
 
     public static AgentMode from(String value) {
         if (value == null || value.isBlank()) {
@@ -16,4 +22,13 @@ public enum AgentMode {
                 .findFirst()
                 .orElseThrow(() -> new IllegalArgumentException("Unsupported mode: " + value));
     }
+
+    // AUTO has no topology of its own; it is resolved to one of these per request.
+    public static List<AgentMode> concreteModes() {
+        return CONCRETE;
+    }
+
+    public boolean isAuto() {
+        return this == AUTO;
+    }
 }
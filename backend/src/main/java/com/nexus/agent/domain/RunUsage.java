@@ -0,0 +1,26 @@
+package com.nexus.agent.domain;
+
+import java.util.List;
+
+// Token usage of one run, in total and per agent node and model, as reported by the upstream model calls.
+public record RunUsage(
+        int promptTokens,
+        int completionTokens,
+        int cachedTokens,
+        int totalTokens,
+        List<NodeUsage> nodes
+) {
+
+    public static final RunUsage EMPTY = new RunUsage(0, 0, 0, 0, List.of());
+
+    public record NodeUsage(
+            String node,
+            String model,
+            int calls,
+            int promptTokens,
+            int completionTokens,
+            int cachedTokens,
+            int totalTokens
+    ) {
+    }
+}
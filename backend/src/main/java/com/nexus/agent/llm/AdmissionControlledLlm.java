@@ -0,0 +1,51 @@
+package com.nexus.agent.llm;
+
+import com.google.adk.models.BaseLlm;
+import com.google.adk.models.BaseLlmConnection;
+import com.google.adk.models.LlmRequest;
+import com.google.adk.models.LlmResponse;
+import io.reactivex.rxjava3.core.Flowable;
+import io.reactivex.rxjava3.core.Single;
+
+import java.util.concurrent.CompletableFuture;
+
+// Holds each model call until the admission controller grants its endpoint and model pools; the ticket is released
+// when the call terminates or is cancelled, and a cancelled wait leaves the queue.
+public class AdmissionControlledLlm extends BaseLlm {
+
+    private final BaseLlm delegate;
+    private final AdmissionController admissionController;
+    private final String userId;
+    private final String endpoint;
+
+    public AdmissionControlledLlm(BaseLlm delegate, AdmissionController admissionController, String userId, String endpoint) {
+        super(delegate.model());
+        this.delegate = delegate;
+        this.admissionController = admissionController;
+        this.userId = userId;
+        this.endpoint = endpoint;
+    }
+
+    @Override
+    public Flowable<LlmResponse> generateContent(LlmRequest llmRequest, boolean stream) {
+        return Single.<AdmissionController.Ticket>create(emitter -> {
+                    CompletableFuture<AdmissionController.Ticket> pending = admissionController.acquire(userId, endpoint, model());
+                    emitter.setCancellable(() -> pending.cancel(false));
+                    pending.whenComplete((ticket, error) -> {
+                        if (error != null) {
+                            emitter.tryOnError(error);
+                        } else if (emitter.isDisposed()) {
+                            ticket.release();
+                        } else {
+                            emitter.onSuccess(ticket);
+                        }
+                    });
+                })
+                .flatMapPublisher(ticket -> delegate.generateContent(llmRequest, stream).doFinally(ticket::release));
+    }
+
+    @Override
+    public BaseLlmConnection connect(LlmRequest llmRequest) {
+        return delegate.connect(llmRequest);
+    }
+}
@@ -0,0 +1,327 @@
+package com.nexus.agent.llm;
+
+import com.nexus.agent.config.AdmissionProperties;
+import com.nexus.agent.service.RunMetrics;
+import jakarta.annotation.PreDestroy;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+// Gates upstream model calls on two pools at once, the endpoint (llmBaseUrl) and the model, each with a concurrency
+// limit, an optional token bucket and a bounded queue. Waiting calls are queued per user and served round-robin,
+// so one user's burst cannot starve the others. A full queue or an expired wait fails fast.
+@Component
+public class AdmissionController {
+
+    private static final long RETRY_AFTER_MS = 1_000;
+    // Pools are keyed by client-supplied endpoint and model; idle ones are evicted past this size.
+    private static final int MAX_POOLS = 1_024;
+
+    private final AdmissionProperties properties;
+    private final RunMetrics metrics;
+    private final Map<String, Pool> pools = new HashMap<>();
+    private final LinkedHashMap<String, Deque<Waiter>> queuesByUser = new LinkedHashMap<>();
+    private final ScheduledExecutorService timer = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "nexus-admission");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private ScheduledFuture<?> refillDispatch;
+
+    public AdmissionController(AdmissionProperties properties, RunMetrics metrics) {
+        this.properties = properties;
+        this.metrics = metrics;
+    }
+
+    public CompletableFuture<Ticket> acquire(String userId, String endpoint, String model) {
+        if (!properties.isEnabled()) {
+            return CompletableFuture.completedFuture(Ticket.UNLIMITED);
+        }
+        Waiter waiter;
+        synchronized (this) {
+            Pool endpointPool = pool("endpoint", endpoint, properties.getEndpoints(), properties.getEndpointDefaults());
+            Pool modelPool = pool("model", model, properties.getModels(), properties.getModelDefaults());
+            waiter = new Waiter(userId == null ? "" : userId, endpointPool, modelPool, System.currentTimeMillis());
+            // Nobody is queued for these pools, so admitting directly cannot jump ahead of anyone.
+            if (endpointPool.queued == 0 && modelPool.queued == 0 && canGrant(waiter)) {
+                return CompletableFuture.completedFuture(grant(waiter));
+            }
+            Pool full = endpointPool.queued >= endpointPool.limits.getMaxQueue() ? endpointPool
+                    : modelPool.queued >= modelPool.limits.getMaxQueue() ? modelPool : null;
+            if (full != null) {
+                metrics.increment(full.metricKey + ".rejected.queue-full");
+                return CompletableFuture.failedFuture(new AdmissionRejectedException(
+                        "Admission queue for " + full.kind + " " + full.key + " is full ("
+                                + full.limits.getMaxQueue() + " waiting)", RETRY_AFTER_MS));
+            }
+            queuesByUser.computeIfAbsent(waiter.userId, ignored -> new ArrayDeque<>()).addLast(waiter);
+            endpointPool.queued++;
+            modelPool.queued++;
+            waiter.expiry = timer.schedule(() -> expire(waiter), Math.max(1, properties.getMaxQueueWaitMs()), TimeUnit.MILLISECONDS);
+            scheduleRefillDispatch();
+        }
+        waiter.future.whenComplete((ticket, error) -> {
+            if (waiter.future.isCancelled()) {
+                withdraw(waiter);
+            }
+        });
+        return waiter.future;
+    }
+
+    @PreDestroy
+    public void close() {
+        timer.shutdownNow();
+    }
+
+    private void release(Pool endpointPool, Pool modelPool) {
+        synchronized (this) {
+            endpointPool.inFlight--;
+            modelPool.inFlight--;
+        }
+        dispatch();
+    }
+
+    // Serves queued waiters round-robin across users; a user whose next call is blocked does not block the others.
+    private void dispatch() {
+        List<Map.Entry<Waiter, Ticket>> granted = new ArrayList<>();
+        synchronized (this) {
+            boolean progress = true;
+            while (progress) {
+                progress = false;
+                for (String userId : new ArrayList<>(queuesByUser.keySet())) {
+                    Deque<Waiter> queue = queuesByUser.get(userId);
+                    Waiter head = queue.peekFirst();
+                    if (head == null || !canGrant(head)) {
+                        continue;
+                    }
+                    queue.pollFirst();
+                    dequeue(head);
+                    queuesByUser.remove(userId);
+                    if (!queue.isEmpty()) {
+                        queuesByUser.put(userId, queue);
+                    }
+                    granted.add(Map.entry(head, grant(head)));
+                    progress = true;
+                }
+            }
+            scheduleRefillDispatch();
+        }
+        for (Map.Entry<Waiter, Ticket> entry : granted) {
+            if (!entry.getKey().future.complete(entry.getValue())) {
+                entry.getValue().release();
+            }
+        }
+    }
+
+    private void expire(Waiter waiter) {
+        synchronized (this) {
+            if (!removeQueued(waiter)) {
+                return;
+            }
+            metrics.increment(waiter.modelPool.metricKey + ".rejected.timeout");
+        }
+        waiter.future.completeExceptionally(new AdmissionRejectedException(
+                "Timed out after " + properties.getMaxQueueWaitMs() + " ms waiting for admission to model "
+                        + waiter.modelPool.key + " at " + waiter.endpointPool.key, RETRY_AFTER_MS));
+    }
+
+    private void withdraw(Waiter waiter) {
+        synchronized (this) {
+            removeQueued(waiter);
+        }
+    }
+
+    private boolean removeQueued(Waiter waiter) {
+        Deque<Waiter> queue = queuesByUser.get(waiter.userId);
+        if (queue == null || !queue.remove(waiter)) {
+            return false;
+        }
+        if (queue.isEmpty()) {
+            queuesByUser.remove(waiter.userId);
+        }
+        dequeue(waiter);
+        return true;
+    }
+
+    private void dequeue(Waiter waiter) {
+        waiter.endpointPool.queued--;
+        waiter.modelPool.queued--;
+        if (waiter.expiry != null) {
+            waiter.expiry.cancel(false);
+        }
+    }
+
+    private boolean canGrant(Waiter waiter) {
+        long now = System.nanoTime();
+        return waiter.endpointPool.available(now) && waiter.modelPool.available(now);
+    }
+
+    private Ticket grant(Waiter waiter) {
+        waiter.endpointPool.take();
+        waiter.modelPool.take();
+        long queuedMillis = System.currentTimeMillis() - waiter.enqueuedAtMillis;
+        metrics.recordLatency(waiter.endpointPool.metricKey + ".queue-time", queuedMillis);
+        metrics.recordLatency(waiter.modelPool.metricKey + ".queue-time", queuedMillis);
+        metrics.increment(waiter.modelPool.metricKey + ".admitted");
+        return new Ticket(this, waiter.endpointPool, waiter.modelPool);
+    }
+
+    // Waiters blocked only by an empty token bucket need a wake-up when the next token arrives.
+    private void scheduleRefillDispatch() {
+        if (queuesByUser.isEmpty() || (refillDispatch != null && !refillDispatch.isDone())) {
+            return;
+        }
+        long now = System.nanoTime();
+        long waitNanos = Long.MAX_VALUE;
+        for (Deque<Waiter> queue : queuesByUser.values()) {
+            Waiter head = queue.peekFirst();
+            if (head != null) {
+                waitNanos = Math.min(waitNanos, Math.max(head.endpointPool.nanosUntilToken(now), head.modelPool.nanosUntilToken(now)));
+            }
+        }
+        if (waitNanos > 0 && waitNanos != Long.MAX_VALUE) {
+            refillDispatch = timer.schedule(this::onRefill, waitNanos, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    // The running wake-up is not done yet, so it is cleared first; otherwise dispatch would never schedule the next.
+    private void onRefill() {
+        synchronized (this) {
+            refillDispatch = null;
+        }
+        dispatch();
+    }
+
+    private Pool pool(String kind, String key, Map<String, AdmissionProperties.Limits> overrides, AdmissionProperties.Limits defaults) {
+        String normalized = key == null || key.isBlank() ? "default" : key;
+        String poolKey = kind + ":" + normalized;
+        Pool existing = pools.get(poolKey);
+        if (existing != null) {
+            return existing;
+        }
+        if (pools.size() >= MAX_POOLS) {
+            evictIdlePools();
+        }
+        Pool created = new Pool(kind, normalized, overrides.getOrDefault(normalized, defaults));
+        pools.put(poolKey, created);
+        return created;
+    }
+
+    // An idle pool with a full bucket holds no state a fresh pool would not recreate.
+    private void evictIdlePools() {
+        long now = System.nanoTime();
+        pools.values().removeIf(pool -> pool.inFlight == 0 && pool.queued == 0 && pool.bucketFull(now));
+    }
+
+    public static final class Ticket {
+
+        static final Ticket UNLIMITED = new Ticket(null, null, null);
+
+        private final AdmissionController controller;
+        private final Pool endpointPool;
+        private final Pool modelPool;
+        private boolean released;
+
+        private Ticket(AdmissionController controller, Pool endpointPool, Pool modelPool) {
+            this.controller = controller;
+            this.endpointPool = endpointPool;
+            this.modelPool = modelPool;
+        }
+
+        public void release() {
+            synchronized (this) {
+                if (released || controller == null) {
+                    return;
+                }
+                released = true;
+            }
+            controller.release(endpointPool, modelPool);
+        }
+    }
+
+    private static final class Waiter {
+
+        private final String userId;
+        private final Pool endpointPool;
+        private final Pool modelPool;
+        private final long enqueuedAtMillis;
+        private final CompletableFuture<Ticket> future = new CompletableFuture<>();
+        private ScheduledFuture<?> expiry;
+
+        private Waiter(String userId, Pool endpointPool, Pool modelPool, long enqueuedAtMillis) {
+            this.userId = userId;
+            this.endpointPool = endpointPool;
+            this.modelPool = modelPool;
+            this.enqueuedAtMillis = enqueuedAtMillis;
+        }
+    }
+
+    private static final class Pool {
+
+        private final String kind;
+        private final String key;
+        private final String metricKey;
+        private final AdmissionProperties.Limits limits;
+        private final double burst;
+        private int inFlight;
+        private int queued;
+        private double tokens;
+        private long refilledAtNanos = System.nanoTime();
+
+        private Pool(String kind, String key, AdmissionProperties.Limits limits) {
+            this.kind = kind;
+            this.key = key;
+            this.metricKey = "admission." + kind + "." + key;
+            this.limits = limits;
+            this.burst = limits.getBurst() > 0 ? limits.getBurst() : Math.max(1, Math.ceil(limits.getRequestsPerSecond()));
+            this.tokens = burst;
+        }
+
+        private boolean available(long now) {
+            if (limits.getMaxConcurrent() > 0 && inFlight >= limits.getMaxConcurrent()) {
+                return false;
+            }
+            refill(now);
+            return limits.getRequestsPerSecond() <= 0 || tokens >= 1;
+        }
+
+        private void take() {
+            inFlight++;
+            if (limits.getRequestsPerSecond() > 0) {
+                tokens -= 1;
+            }
+        }
+
+        private boolean bucketFull(long now) {
+            refill(now);
+            return limits.getRequestsPerSecond() <= 0 || tokens >= burst;
+        }
+
+        private long nanosUntilToken(long now) {
+            if (limits.getRequestsPerSecond() <= 0) {
+                return 0;
+            }
+            refill(now);
+            return tokens >= 1 ? 0 : (long) ((1 - tokens) / limits.getRequestsPerSecond() * 1_000_000_000L);
+        }
+
+        private void refill(long now) {
+            if (limits.getRequestsPerSecond() <= 0) {
+                return;
+            }
+            tokens = Math.min(burst, tokens + (now - refilledAtNanos) / 1_000_000_000.0 * limits.getRequestsPerSecond());
+            refilledAtNanos = now;
+        }
+    }
+}
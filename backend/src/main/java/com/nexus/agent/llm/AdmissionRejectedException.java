@@ -0,0 +1,30 @@
+package com.nexus.agent.llm;
+
+import java.util.Optional;
+
+public class AdmissionRejectedException extends RuntimeException {
+
+    private final long retryAfterMs;
+
+    public AdmissionRejectedException(String message, long retryAfterMs) {
+        super(message);
+        this.retryAfterMs = retryAfterMs;
+    }
+
+    public long retryAfterMs() {
+        return retryAfterMs;
+    }
+
+    // Runs surface the rejection wrapped by the agent pipeline, so callers look for it along the cause chain.
+    public static Optional<AdmissionRejectedException> find(Throwable error) {
+        for (Throwable current = error; current != null; current = current.getCause()) {
+            if (current instanceof AdmissionRejectedException rejected) {
+                return Optional.of(rejected);
+            }
+            if (current.getCause() == current) {
+                break;
+            }
+        }
+        return Optional.empty();
+    }
+}
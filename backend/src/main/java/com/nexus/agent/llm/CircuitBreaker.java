@@ -0,0 +1,140 @@
+package com.nexus.agent.llm;
+
+import com.nexus.agent.config.CircuitBreakerProperties;
+
+// Count-based sliding window over the last windowSize calls to one (endpoint, model) pair. Opens when the failure
+// or slow-call rate crosses its threshold, rejects for openDurationMs, then lets halfOpenProbes trial calls through:
+// all succeeding closes the circuit, any failure reopens it.
+final class CircuitBreaker {
+
+    enum State { CLOSED, OPEN, HALF_OPEN }
+
+    private static final byte SUCCESS = 0;
+    private static final byte SLOW = 1;
+    private static final byte FAILURE = 2;
+
+    private final String endpoint;
+    private final String model;
+    private final CircuitBreakerProperties properties;
+    private final byte[] outcomes;
+    private int recorded;
+    private int next;
+    private State state = State.CLOSED;
+    private long openedAtMillis;
+    private int probesInFlight;
+    private int probesSucceeded;
+
+    CircuitBreaker(String endpoint, String model, CircuitBreakerProperties properties) {
+        this.endpoint = endpoint;
+        this.model = model;
+        this.properties = properties;
+        this.outcomes = new byte[Math.max(1, properties.getWindowSize())];
+    }
+
+    synchronized boolean tryAcquire(long now) {
+        if (state == State.OPEN) {
+            if (now - openedAtMillis < properties.getOpenDurationMs()) {
+                return false;
+            }
+            state = State.HALF_OPEN;
+            probesInFlight = 0;
+            probesSucceeded = 0;
+        }
+        if (state == State.HALF_OPEN) {
+            if (probesInFlight + probesSucceeded >= Math.max(1, properties.getHalfOpenProbes())) {
+                return false;
+            }
+            probesInFlight++;
+        }
+        return true;
+    }
+
+    // Returns true when this outcome opened the circuit.
+    synchronized boolean onSuccess(long latencyMillis, long now) {
+        if (state == State.HALF_OPEN) {
+            probesInFlight = Math.max(0, probesInFlight - 1);
+            if (++probesSucceeded >= Math.max(1, properties.getHalfOpenProbes())) {
+                state = State.CLOSED;
+                recorded = 0;
+                next = 0;
+            }
+            return false;
+        }
+        return record(latencyMillis >= properties.getSlowCallMs() ? SLOW : SUCCESS, now);
+    }
+
+    synchronized boolean onFailure(long now) {
+        if (state == State.HALF_OPEN) {
+            open(now);
+            return true;
+        }
+        return record(FAILURE, now);
+    }
+
+    // A cancelled call or a caller-side error says nothing about the endpoint; it only gives its probe slot back.
+    synchronized void release() {
+        if (state == State.HALF_OPEN) {
+            probesInFlight = Math.max(0, probesInFlight - 1);
+        }
+    }
+
+    // Closed with a clean window: nothing a fresh breaker would not recreate.
+    synchronized boolean idle() {
+        return state == State.CLOSED && rate(FAILURE) == 0 && rate(SLOW) == 0;
+    }
+
+    synchronized long retryAfterMillis(long now) {
+        return state == State.OPEN ? Math.max(0, openedAtMillis + properties.getOpenDurationMs() - now) : 0;
+    }
+
+    synchronized CircuitBreakerRegistry.CircuitState snapshot(long now) {
+        return new CircuitBreakerRegistry.CircuitState(
+                endpoint,
+                model,
+                state.name(),
+                recorded,
+                rate(FAILURE),
+                rate(SLOW),
+                state == State.CLOSED ? null : openedAtMillis,
+                retryAfterMillis(now)
+        );
+    }
+
+    private boolean record(byte outcome, long now) {
+        if (state != State.CLOSED) {
+            return false;
+        }
+        outcomes[next] = outcome;
+        next = (next + 1) % outcomes.length;
+        recorded = Math.min(recorded + 1, outcomes.length);
+        if (recorded < Math.max(1, properties.getMinCalls())) {
+            return false;
+        }
+        if (rate(FAILURE) >= properties.getFailureRateThreshold()
+                || rate(SLOW) >= properties.getSlowCallRateThreshold()) {
+            open(now);
+            return true;
+        }
+        return false;
+    }
+
+    private void open(long now) {
+        state = State.OPEN;
+        openedAtMillis = now;
+        recorded = 0;
+        next = 0;
+    }
+
+    private double rate(byte outcome) {
+        if (recorded == 0) {
+            return 0;
+        }
+        int matching = 0;
+        for (int i = 0; i < recorded; i++) {
+            if (outcomes[i] == outcome) {
+                matching++;
+            }
+        }
+        return (double) matching / recorded;
+    }
+}
@@ -0,0 +1,195 @@
+package com.nexus.agent.llm;
+
+import com.google.genai.errors.ApiException;
+import com.nexus.agent.config.AdkProperties;
+import com.nexus.agent.config.CircuitBreakerProperties;
+import com.nexus.agent.service.RunMetrics;
+import org.springframework.stereotype.Component;
+
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+// One breaker per (endpoint, model). Routing walks the endpoint's failover chain from the requested model and takes
+// the first model whose circuit admits the call; when every candidate is open the call fails fast instead of waiting
+// on errors.
+@Component
+public class CircuitBreakerRegistry {
+
+    // Breakers are keyed by client-supplied endpoint and model; idle ones, then the least recently used, are evicted
+    // past this size.
+    private static final int MAX_BREAKERS = 1_024;
+
+    private final CircuitBreakerProperties properties;
+    private final AdkProperties adkProperties;
+    private final OpenAiCompatibleModels openAiCompatibleModels;
+    private final RunMetrics metrics;
+    private final LinkedHashMap<String, CircuitBreaker> breakers = new LinkedHashMap<>(16, 0.75f, true);
+
+    public CircuitBreakerRegistry(CircuitBreakerProperties properties,
+                                  AdkProperties adkProperties,
+                                  OpenAiCompatibleModels openAiCompatibleModels,
+                                  RunMetrics metrics) {
+        this.properties = properties;
+        this.adkProperties = adkProperties;
+        this.openAiCompatibleModels = openAiCompatibleModels;
+        this.metrics = metrics;
+    }
+
+    public Route route(String endpoint, String model) {
+        if (!properties.isEnabled()) {
+            return new Route(model, null, null);
+        }
+        long now = System.currentTimeMillis();
+        Set<String> visited = new LinkedHashSet<>();
+        for (String candidate = model; candidate != null && visited.add(candidate); candidate = alternate(endpoint, candidate)) {
+            CircuitBreaker breaker = breaker(endpoint, candidate);
+            if (breaker.tryAcquire(now)) {
+                if (!candidate.equals(model)) {
+                    metrics.increment(metricKey(endpoint, model) + ".failover." + candidate);
+                }
+                return new Route(candidate, breaker, metricKey(endpoint, candidate));
+            }
+            metrics.increment(metricKey(endpoint, candidate) + ".rejected");
+        }
+        long retryAfterMs = visited.stream()
+                .mapToLong(candidate -> breaker(endpoint, candidate).retryAfterMillis(now))
+                .min()
+                .orElse(properties.getOpenDurationMs());
+        throw new CircuitOpenException("Circuit open for model " + model + " at " + endpoint
+                + (visited.size() > 1 ? " and its failover models " + List.copyOf(visited).subList(1, visited.size()) : ""),
+                retryAfterMs);
+    }
+
+    public List<CircuitState> states() {
+        long now = System.currentTimeMillis();
+        List<CircuitBreaker> current;
+        synchronized (breakers) {
+            current = List.copyOf(breakers.values());
+        }
+        return current.stream()
+                .map(breaker -> breaker.snapshot(now))
+                .sorted(Comparator.comparing(CircuitState::endpoint).thenComparing(CircuitState::model))
+                .toList();
+    }
+
+    // An endpoint's own chain wins; the global chain names Gemini models, so it never applies to an endpoint served
+    // by the OpenAI-compatible adapter, whose alternates would not exist there.
+    private String alternate(String endpoint, String model) {
+        Map<String, String> endpointChain = properties.getEndpointFailover().get(endpoint);
+        if (endpointChain != null) {
+            return endpointChain.get(model);
+        }
+        if (openAiCompatibleModels.serves(endpoint)) {
+            return null;
+        }
+        String alternate = properties.getFailover().get(model);
+        if (alternate == null || !adkProperties.getAvailableModels().contains(alternate)) {
+            return null;
+        }
+        return alternate;
+    }
+
+    private CircuitBreaker breaker(String endpoint, String model) {
+        String key = endpoint + "|" + model;
+        synchronized (breakers) {
+            CircuitBreaker existing = breakers.get(key);
+            if (existing != null) {
+                return existing;
+            }
+            if (breakers.size() >= MAX_BREAKERS) {
+                evictBreakers();
+            }
+            CircuitBreaker created = new CircuitBreaker(endpoint, model, properties);
+            breakers.put(key, created);
+            return created;
+        }
+    }
+
+    private void evictBreakers() {
+        breakers.values().removeIf(CircuitBreaker::idle);
+        Iterator<CircuitBreaker> eldest = breakers.values().iterator();
+        while (breakers.size() >= MAX_BREAKERS && eldest.hasNext()) {
+            eldest.next();
+            eldest.remove();
+        }
+    }
+
+    private static String metricKey(String endpoint, String model) {
+        return "circuit." + endpoint + "." + model;
+    }
+
+    // Client errors other than timeouts and throttling are the caller's fault and say nothing about endpoint health.
+    private static boolean isEndpointFailure(Throwable error) {
+        for (Throwable current = error; current != null; current = current.getCause()) {
+            if (current instanceof ApiException apiException) {
+                return isEndpointStatus(apiException.code());
+            }
+            if (current instanceof UpstreamHttpException httpException) {
+                return isEndpointStatus(httpException.statusCode());
+            }
+            if (current.getCause() == current) {
+                break;
+            }
+        }
+        return true;
+    }
+
+    private static boolean isEndpointStatus(int code) {
+        return code >= 500 || code == 408 || code == 429;
+    }
+
+    public final class Route {
+
+        private final String model;
+        private final CircuitBreaker breaker;
+        private final String metricKey;
+
+        private Route(String model, CircuitBreaker breaker, String metricKey) {
+            this.model = model;
+            this.breaker = breaker;
+            this.metricKey = metricKey;
+        }
+
+        public String model() {
+            return model;
+        }
+
+        public void onSuccess(long latencyMillis) {
+            if (breaker != null && breaker.onSuccess(latencyMillis, System.currentTimeMillis())) {
+                metrics.increment(metricKey + ".opened");
+            }
+        }
+
+        public void onError(Throwable error) {
+            if (breaker == null) {
+                return;
+            }
+            if (!isEndpointFailure(error)) {
+                breaker.release();
+            } else if (breaker.onFailure(System.currentTimeMillis())) {
+                metrics.increment(metricKey + ".opened");
+            }
+        }
+
+        public void onCancel() {
+            if (breaker != null) {
+                breaker.release();
+            }
+        }
+    }
+
+    public record CircuitState(String endpoint,
+                               String model,
+                               String state,
+                               int windowCalls,
+                               double failureRate,
+                               double slowCallRate,
+                               Long openedAt,
+                               long retryAfterMs) {
+    }
+}
@@ -0,0 +1,64 @@
+package com.nexus.agent.llm;
+
+import com.google.adk.models.BaseLlm;
+import com.google.adk.models.BaseLlmConnection;
+import com.google.adk.models.LlmRequest;
+import com.google.adk.models.LlmResponse;
+import io.reactivex.rxjava3.core.Flowable;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+// Routes each call through the endpoint's circuit breakers: the configured model while its circuit admits calls,
+// otherwise its failover alternate, built on demand against the same endpoint. Every call's outcome feeds the
+// breaker of the model that actually served it, timed to its first response so long healthy generations are not
+// slow calls, and its responses carry that model as their version so usage is attributed to it.
+public class CircuitBreakingLlm extends BaseLlm {
+
+    private final BaseLlm delegate;
+    private final Function<String, BaseLlm> alternateFactory;
+    private final CircuitBreakerRegistry registry;
+    private final String endpoint;
+    private final Map<String, BaseLlm> alternates = new ConcurrentHashMap<>();
+
+    public CircuitBreakingLlm(BaseLlm delegate,
+                              Function<String, BaseLlm> alternateFactory,
+                              CircuitBreakerRegistry registry,
+                              String endpoint) {
+        super(delegate.model());
+        this.delegate = delegate;
+        this.alternateFactory = alternateFactory;
+        this.registry = registry;
+        this.endpoint = endpoint;
+    }
+
+    @Override
+    public Flowable<LlmResponse> generateContent(LlmRequest llmRequest, boolean stream) {
+        return Flowable.defer(() -> {
+            CircuitBreakerRegistry.Route route = registry.route(endpoint, model());
+            boolean failover = !route.model().equals(model());
+            BaseLlm target = failover ? alternates.computeIfAbsent(route.model(), alternateFactory) : delegate;
+            LlmRequest request = failover ? llmRequest.toBuilder().model(route.model()).build() : llmRequest;
+            long started = System.currentTimeMillis();
+            AtomicLong firstResponseMillis = new AtomicLong(-1);
+            return target.generateContent(request, stream)
+                    .map(response -> {
+                        firstResponseMillis.compareAndSet(-1, System.currentTimeMillis() - started);
+                        return response.toBuilder().modelVersion(route.model()).build();
+                    })
+                    .doOnComplete(() -> {
+                        long latencyMillis = firstResponseMillis.get();
+                        route.onSuccess(latencyMillis < 0 ? System.currentTimeMillis() - started : latencyMillis);
+                    })
+                    .doOnError(route::onError)
+                    .doOnCancel(route::onCancel);
+        });
+    }
+
+    @Override
+    public BaseLlmConnection connect(LlmRequest llmRequest) {
+        return delegate.connect(llmRequest);
+    }
+}
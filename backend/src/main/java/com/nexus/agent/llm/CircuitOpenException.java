@@ -0,0 +1,29 @@
+package com.nexus.agent.llm;
+
+import java.util.Optional;
+
+public class CircuitOpenException extends RuntimeException {
+
+    private final long retryAfterMs;
+
+    public CircuitOpenException(String message, long retryAfterMs) {
+        super(message);
+        this.retryAfterMs = retryAfterMs;
+    }
+
+    public long retryAfterMs() {
+        return retryAfterMs;
+    }
+
+    public static Optional<CircuitOpenException> find(Throwable error) {
+        for (Throwable current = error; current != null; current = current.getCause()) {
+            if (current instanceof CircuitOpenException open) {
+                return Optional.of(open);
+            }
+            if (current.getCause() == current) {
+                break;
+            }
+        }
+        return Optional.empty();
+    }
+}
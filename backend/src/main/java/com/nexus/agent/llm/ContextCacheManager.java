@@ -0,0 +1,321 @@
+package com.nexus.agent.llm;
+
+import com.google.genai.Client;
+import com.google.genai.types.CachedContent;
+import com.google.genai.types.Content;
+import com.google.genai.types.CreateCachedContentConfig;
+import com.google.genai.types.DeleteCachedContentConfig;
+import com.google.genai.types.GenerateContentConfig;
+import com.google.genai.types.HttpOptions;
+import com.google.genai.types.Part;
+import com.google.genai.types.Tool;
+import com.google.genai.types.ToolConfig;
+import com.google.genai.types.UpdateCachedContentConfig;
+import com.nexus.agent.config.ContextCacheProperties;
+import com.nexus.agent.service.RunMetrics;
+import com.nexus.agent.service.TokenEstimator;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Comparator;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+// Upstream cached-content handles for the static prefix of Gemini requests (system instruction, tools, tool config),
+// keyed by endpoint, credentials, model and prefix content. Handles are created in the background, so the call that
+// discovers a new prefix goes out uncached; recently used handles get their TTL extended before it lapses.
+@Component
+public class ContextCacheManager {
+
+    private static final Logger log = LoggerFactory.getLogger(ContextCacheManager.class);
+    private static final long REFRESH_INTERVAL_MS = 30_000;
+    private static final long EXPIRY_SAFETY_MS = 10_000;
+
+    private final ContextCacheProperties properties;
+    private final RunMetrics metrics;
+    private final Map<String, Handle> handles = new ConcurrentHashMap<>();
+    // Only used on the executor thread; pruned to the endpoints and credentials that live handles still need.
+    private final Map<String, Client> clients = new ConcurrentHashMap<>();
+    private final ScheduledExecutorService executor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "nexus-context-cache");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    public ContextCacheManager(ContextCacheProperties properties, RunMetrics metrics) {
+        this.properties = properties;
+        this.metrics = metrics;
+    }
+
+    @PostConstruct
+    public void start() {
+        executor.scheduleWithFixedDelay(this::refresh, REFRESH_INTERVAL_MS, REFRESH_INTERVAL_MS, TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    public void close() {
+        executor.shutdownNow();
+        clients.values().forEach(Client::close);
+        clients.clear();
+    }
+
+    // Returns the handle name to send instead of the static prefix, once one is ready for this exact prefix.
+    Optional<String> lookup(String baseUrl, String apiKey, String model, String systemInstruction, GenerateContentConfig config) {
+        if (!properties.isEnabled() || systemInstruction == null || systemInstruction.isBlank()) {
+            return Optional.empty();
+        }
+        String prefix = systemInstruction
+                + config.tools().map(tools -> tools.stream().map(Tool::toJson).toList().toString()).orElse("")
+                + config.toolConfig().map(ToolConfig::toJson).orElse("");
+        int prefixTokens = TokenEstimator.estimate(prefix);
+        if (prefixTokens < properties.getMinPrefixTokens()) {
+            return Optional.empty();
+        }
+        String key = sha256(String.join("\n", nullToEmpty(baseUrl), sha256(nullToEmpty(apiKey)), model, prefix));
+        long now = System.currentTimeMillis();
+        Handle handle = handles.get(key);
+        if (handle == null) {
+            if (handles.size() >= properties.getMaxHandles()) {
+                metrics.increment("context-cache.full");
+                return Optional.empty();
+            }
+            Handle created = new Handle(key, baseUrl, apiKey, model, prefixTokens, systemInstruction, config);
+            handle = handles.putIfAbsent(key, created);
+            if (handle == null) {
+                handle = created;
+                submitCreate(created);
+            }
+        }
+        synchronized (handle) {
+            handle.lastUsedAtMillis = now;
+            if (handle.state == State.FAILED && now >= handle.retryAtMillis) {
+                handle.state = State.PENDING;
+                submitCreate(handle);
+            }
+            if (handle.state == State.READY && handle.expiresAtMillis - now > EXPIRY_SAFETY_MS) {
+                handle.hits++;
+                metrics.increment("context-cache." + model + ".hits");
+                return Optional.of(handle.name);
+            }
+        }
+        metrics.increment("context-cache." + model + ".misses");
+        return Optional.empty();
+    }
+
+    // Providers report how much of the prompt was served from cache; that is the prefix billed at the cached rate.
+    void recordCachedTokens(String model, String handleName, int cachedTokens) {
+        if (cachedTokens <= 0) {
+            return;
+        }
+        metrics.add("context-cache." + model + ".prefix-tokens-saved", cachedTokens);
+        if (handleName != null) {
+            handles.values().stream()
+                    .filter(handle -> handleName.equals(handle.name))
+                    .findFirst()
+                    .ifPresent(handle -> {
+                        synchronized (handle) {
+                            handle.tokensSaved += cachedTokens;
+                        }
+                    });
+        }
+    }
+
+    public List<ContextCacheEntry> entries() {
+        return handles.values().stream()
+                .map(handle -> {
+                    synchronized (handle) {
+                        return new ContextCacheEntry(
+                                handle.key.substring(0, 12),
+                                handle.model,
+                                handle.baseUrl == null ? "default" : handle.baseUrl,
+                                handle.state.name(),
+                                handle.name,
+                                handle.prefixTokens,
+                                handle.expiresAtMillis == 0 ? null : Instant.ofEpochMilli(handle.expiresAtMillis),
+                                handle.hits,
+                                handle.tokensSaved
+                        );
+                    }
+                })
+                .sorted(Comparator.comparing(ContextCacheEntry::model).thenComparing(ContextCacheEntry::key))
+                .toList();
+    }
+
+    private void submitCreate(Handle handle) {
+        executor.execute(() -> create(handle));
+    }
+
+    private void create(Handle handle) {
+        try {
+            CreateCachedContentConfig.Builder config = CreateCachedContentConfig.builder()
+                    .displayName("nexus-" + handle.key.substring(0, 12))
+                    .ttl(Duration.ofMillis(properties.getTtlMs()));
+            config.systemInstruction(handle.systemInstruction);
+            handle.tools.ifPresent(config::tools);
+            handle.toolConfig.ifPresent(config::toolConfig);
+            CachedContent cached = client(handle).caches.create(handle.model, config.build());
+            synchronized (handle) {
+                handle.name = cached.name().orElseThrow(() -> new IllegalStateException("cached content has no name"));
+                handle.expiresAtMillis = expiry(cached);
+                handle.state = State.READY;
+            }
+            metrics.increment("context-cache." + handle.model + ".created");
+        } catch (RuntimeException ex) {
+            synchronized (handle) {
+                handle.state = State.FAILED;
+                handle.retryAtMillis = System.currentTimeMillis() + properties.getFailureBackoffMs();
+            }
+            metrics.increment("context-cache." + handle.model + ".create-failed");
+            log.warn("Creating cached content for model {} failed; retrying after {} ms", handle.model,
+                    properties.getFailureBackoffMs(), ex);
+        }
+    }
+
+    private void refresh() {
+        long now = System.currentTimeMillis();
+        for (Handle handle : handles.values()) {
+            String name;
+            boolean idle;
+            synchronized (handle) {
+                if (handle.state != State.READY) {
+                    if (handle.state == State.FAILED && now - handle.lastUsedAtMillis > properties.getIdleMs()) {
+                        handles.remove(handle.key);
+                    }
+                    continue;
+                }
+                name = handle.name;
+                idle = now - handle.lastUsedAtMillis > properties.getIdleMs();
+                if (!idle && handle.expiresAtMillis - now > properties.getRefreshBeforeMs()) {
+                    continue;
+                }
+                if (idle) {
+                    handles.remove(handle.key);
+                }
+            }
+            try {
+                if (idle) {
+                    client(handle).caches.delete(name, DeleteCachedContentConfig.builder().build());
+                    continue;
+                }
+                CachedContent updated = client(handle).caches.update(name, UpdateCachedContentConfig.builder()
+                        .ttl(Duration.ofMillis(properties.getTtlMs()))
+                        .build());
+                synchronized (handle) {
+                    handle.expiresAtMillis = expiry(updated);
+                }
+                metrics.increment("context-cache." + handle.model + ".refreshed");
+            } catch (RuntimeException ex) {
+                // The handle lapses at its current expiry and lookups stop using it before then.
+                log.warn("Refreshing cached content {} for model {} failed", name, handle.model, ex);
+            }
+        }
+
+        Set<String> inUse = handles.values().stream().map(handle -> handle.clientKey).collect(Collectors.toSet());
+        clients.entrySet().removeIf(entry -> {
+            if (inUse.contains(entry.getKey())) {
+                return false;
+            }
+            entry.getValue().close();
+            return true;
+        });
+    }
+
+    private long expiry(CachedContent cached) {
+        return cached.expireTime()
+                .map(Instant::toEpochMilli)
+                .orElse(System.currentTimeMillis() + properties.getTtlMs());
+    }
+
+    private Client client(Handle handle) {
+        return clients.computeIfAbsent(handle.clientKey, ignored -> {
+            Client.Builder builder = Client.builder();
+            if (handle.baseUrl != null) {
+                builder.httpOptions(HttpOptions.builder().baseUrl(handle.baseUrl).build());
+            }
+            if (handle.apiKey != null) {
+                builder.apiKey(handle.apiKey);
+            }
+            return builder.build();
+        });
+    }
+
+    private static String nullToEmpty(String value) {
+        return value == null ? "" : value;
+    }
+
+    private static String sha256(String text) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(text.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException ex) {
+            throw new IllegalStateException("SHA-256 is not available", ex);
+        }
+    }
+
+    private enum State { PENDING, READY, FAILED }
+
+    private static final class Handle {
+
+        private final String key;
+        private final String baseUrl;
+        private final String apiKey;
+        private final String clientKey;
+        private final String model;
+        private final int prefixTokens;
+        private final Content systemInstruction;
+        private final Optional<List<Tool>> tools;
+        private final Optional<ToolConfig> toolConfig;
+        private State state = State.PENDING;
+        private String name;
+        private long expiresAtMillis;
+        private long retryAtMillis;
+        private long lastUsedAtMillis;
+        private long hits;
+        private long tokensSaved;
+
+        private Handle(String key,
+                       String baseUrl,
+                       String apiKey,
+                       String model,
+                       int prefixTokens,
+                       String systemInstruction,
+                       GenerateContentConfig config) {
+            this.key = key;
+            this.baseUrl = baseUrl;
+            this.apiKey = apiKey;
+            this.clientKey = sha256(nullToEmpty(baseUrl) + "\n" + nullToEmpty(apiKey));
+            this.model = model;
+            this.prefixTokens = prefixTokens;
+            this.systemInstruction = Content.fromParts(Part.fromText(systemInstruction));
+            this.tools = config.tools();
+            this.toolConfig = config.toolConfig();
+        }
+    }
+
+    public record ContextCacheEntry(String key,
+                                    String model,
+                                    String endpoint,
+                                    String state,
+                                    String name,
+                                    int prefixTokens,
+                                    Instant expiresAt,
+                                    long hits,
+                                    long tokensSaved) {
+    }
+}
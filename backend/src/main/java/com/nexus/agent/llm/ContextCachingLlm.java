@@ -0,0 +1,90 @@
+package com.nexus.agent.llm;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.google.adk.models.BaseLlm;
+import com.google.adk.models.BaseLlmConnection;
+import com.google.adk.models.LlmRequest;
+import com.google.adk.models.LlmResponse;
+import com.google.genai.types.Content;
+import com.google.genai.types.GenerateContentConfig;
+import com.google.genai.types.GenerateContentResponseUsageMetadata;
+import io.reactivex.rxjava3.core.Flowable;
+
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
+
+// Replaces the static prefix of a Gemini request (the system instruction, tools and tool config) with an
+// upstream cached-content handle when one is ready, and reports cached prompt tokens from usage for every provider
+// (including automatic prefix caching elsewhere). The handle holds the whole system instruction, including what the
+// framework adds around the compiled text (agent identity, transfer targets), which is fixed per node.
+public class ContextCachingLlm extends BaseLlm {
+
+    private static final ObjectMapper JSON = new ObjectMapper();
+
+    private final BaseLlm delegate;
+    private final ContextCacheManager manager;
+    private final String baseUrl;
+    private final String apiKey;
+    private final boolean explicitCaching;
+    private final String staticInstruction;
+
+    public ContextCachingLlm(BaseLlm delegate,
+                             ContextCacheManager manager,
+                             String baseUrl,
+                             String apiKey,
+                             boolean explicitCaching,
+                             String staticInstruction) {
+        super(delegate.model());
+        this.delegate = delegate;
+        this.manager = manager;
+        this.baseUrl = baseUrl;
+        this.apiKey = apiKey;
+        this.explicitCaching = explicitCaching && staticInstruction != null && !staticInstruction.isBlank();
+        this.staticInstruction = staticInstruction;
+    }
+
+    @Override
+    public Flowable<LlmResponse> generateContent(LlmRequest llmRequest, boolean stream) {
+        return Flowable.defer(() -> {
+            Optional<GenerateContentConfig> config = llmRequest.config();
+            String systemText = config.flatMap(GenerateContentConfig::systemInstruction).map(Content::text).orElse(null);
+            // An instruction with per-run substitutions no longer contains the compiled text and is sent uncached.
+            Optional<String> handle = explicitCaching && systemText != null && systemText.contains(staticInstruction)
+                    ? manager.lookup(baseUrl, apiKey, model(), systemText, config.get())
+                    : Optional.empty();
+            LlmRequest request = handle
+                    .map(name -> withCachedContent(llmRequest, name))
+                    .orElse(llmRequest);
+            // Streamed usage is cumulative, so the last report of the call is the one that counts.
+            AtomicInteger cachedTokens = new AtomicInteger();
+            return delegate.generateContent(request, stream)
+                    .doOnNext(response -> response.usageMetadata()
+                            .flatMap(GenerateContentResponseUsageMetadata::cachedContentTokenCount)
+                            .ifPresent(cachedTokens::set))
+                    .doOnComplete(() -> manager.recordCachedTokens(model(), handle.orElse(null), cachedTokens.get()));
+        });
+    }
+
+    @Override
+    public BaseLlmConnection connect(LlmRequest llmRequest) {
+        return delegate.connect(llmRequest);
+    }
+
+    // Requests that reference cached content must not repeat what the cache holds.
+    private LlmRequest withCachedContent(LlmRequest llmRequest, String handleName) {
+        try {
+            ObjectNode config = (ObjectNode) JSON.readTree(llmRequest.config().orElseThrow().toJson());
+            config.remove("systemInstruction");
+            config.remove("tools");
+            config.remove("toolConfig");
+            config.put("cachedContent", handleName);
+            return llmRequest.toBuilder()
+                    .config(GenerateContentConfig.fromJson(JSON.writeValueAsString(config)))
+                    .build();
+        } catch (JsonProcessingException ex) {
+            throw new IllegalStateException("Cannot attach cached content to request", ex);
+        }
+    }
+}
@@ -0,0 +1,30 @@
+package com.nexus.agent.llm;
+
+import com.nexus.agent.config.UpstreamProperties;
+import org.springframework.stereotype.Component;
+
+// Process-wide credit pool that caps hedged calls to a fraction of upstream traffic.
+@Component
+public class HedgeBudget {
+
+    private final UpstreamProperties properties;
+    private double credits;
+
+    public HedgeBudget(UpstreamProperties properties) {
+        this.properties = properties;
+        this.credits = properties.getHedge().getMaxBudget();
+    }
+
+    synchronized void deposit() {
+        UpstreamProperties.Hedge hedge = properties.getHedge();
+        credits = Math.min(hedge.getMaxBudget(), credits + hedge.getBudgetRatio());
+    }
+
+    synchronized boolean tryWithdraw() {
+        if (credits < 1) {
+            return false;
+        }
+        credits -= 1;
+        return true;
+    }
+}
@@ -0,0 +1,52 @@
+package com.nexus.agent.llm;
+
+import com.google.adk.models.BaseLlm;
+import com.google.adk.models.BaseLlmConnection;
+import com.google.adk.models.LlmRequest;
+import com.google.adk.models.LlmResponse;
+import com.nexus.agent.service.RunMetrics;
+import io.reactivex.rxjava3.core.Flowable;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+
+// Records per-node model call latency (first response and full call) around the model actually serving the node.
+public class InstrumentedLlm extends BaseLlm {
+
+    private final BaseLlm delegate;
+    private final String metricScope;
+    private final RunMetrics metrics;
+
+    public InstrumentedLlm(BaseLlm delegate, String metricScope, RunMetrics metrics) {
+        super(delegate.model());
+        this.delegate = delegate;
+        this.metricScope = metricScope;
+        this.metrics = metrics;
+    }
+
+    @Override
+    public Flowable<LlmResponse> generateContent(LlmRequest llmRequest, boolean stream) {
+        return Flowable.defer(() -> {
+            String key = "llm." + metricScope;
+            long started = System.currentTimeMillis();
+            AtomicBoolean firstResponse = new AtomicBoolean(true);
+            metrics.increment(key + ".model." + model());
+            return delegate.generateContent(llmRequest, stream)
+                    .doOnNext(response -> {
+                        if (firstResponse.compareAndSet(true, false)) {
+                            metrics.recordLatency(key + ".first-response", System.currentTimeMillis() - started);
+                        }
+                    })
+                    .doOnComplete(() -> {
+                        long elapsed = System.currentTimeMillis() - started;
+                        metrics.recordLatency(key, elapsed);
+                        metrics.recordLatency(key + ".model." + model(), elapsed);
+                    })
+                    .doOnError(error -> metrics.increment(key + ".errors"));
+        });
+    }
+
+    @Override
+    public BaseLlmConnection connect(LlmRequest llmRequest) {
+        return delegate.connect(llmRequest);
+    }
+}
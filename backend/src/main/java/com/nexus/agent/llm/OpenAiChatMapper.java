@@ -0,0 +1,311 @@
+package com.nexus.agent.llm;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.fasterxml.jackson.databind.node.TextNode;
+import com.google.adk.models.LlmRequest;
+import com.google.adk.models.LlmResponse;
+import com.google.genai.types.Blob;
+import com.google.genai.types.Content;
+import com.google.genai.types.FunctionCall;
+import com.google.genai.types.FunctionDeclaration;
+import com.google.genai.types.FunctionResponse;
+import com.google.genai.types.GenerateContentConfig;
+import com.google.genai.types.GenerateContentResponseUsageMetadata;
+import com.google.genai.types.Part;
+import com.google.genai.types.Tool;
+
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.TreeMap;
+
+// Translates between ADK/genai request and response types and the OpenAI chat-completions wire format.
+final class OpenAiChatMapper {
+
+    private static final TypeReference<Map<String, Object>> MAP_TYPE = new TypeReference<>() {
+    };
+
+    private final ObjectMapper objectMapper;
+
+    OpenAiChatMapper(ObjectMapper objectMapper) {
+        this.objectMapper = objectMapper;
+    }
+
+    ObjectNode requestBody(String model, LlmRequest llmRequest, boolean stream) {
+        ObjectNode body = objectMapper.createObjectNode();
+        body.put("model", model);
+        ArrayNode messages = body.putArray("messages");
+        Optional<GenerateContentConfig> config = llmRequest.config();
+        config.flatMap(GenerateContentConfig::systemInstruction)
+                .map(this::text)
+                .filter(text -> !text.isBlank())
+                .ifPresent(text -> messages.addObject().put("role", "system").put("content", text));
+        for (Content content : llmRequest.contents()) {
+            if ("model".equals(content.role().orElse("user"))) {
+                addAssistantMessage(messages, content);
+            } else {
+                addUserMessages(messages, content);
+            }
+        }
+        config.ifPresent(value -> {
+            value.temperature().ifPresent(temperature -> body.put("temperature", temperature));
+            value.topP().ifPresent(topP -> body.put("top_p", topP));
+            value.maxOutputTokens().ifPresent(maxTokens -> body.put("max_tokens", maxTokens));
+            value.stopSequences().filter(stops -> !stops.isEmpty())
+                    .ifPresent(stops -> stops.forEach(body.putArray("stop")::add));
+        });
+        ArrayNode tools = objectMapper.createArrayNode();
+        config.flatMap(GenerateContentConfig::tools).orElse(List.of()).stream()
+                .map(Tool::functionDeclarations)
+                .flatMap(Optional::stream)
+                .flatMap(List::stream)
+                .forEach(declaration -> tools.add(tool(declaration)));
+        if (!tools.isEmpty()) {
+            body.set("tools", tools);
+        }
+        if (stream) {
+            body.put("stream", true);
+            body.putObject("stream_options").put("include_usage", true);
+        }
+        return body;
+    }
+
+    Accumulator accumulator() {
+        return new Accumulator();
+    }
+
+    LlmResponse completion(JsonNode root) {
+        Accumulator accumulator = new Accumulator();
+        JsonNode choice = root.path("choices").path(0);
+        accumulator.merge(choice.path("message"));
+        accumulator.usage(root.path("usage"));
+        return accumulator.complete();
+    }
+
+    private void addAssistantMessage(ArrayNode messages, Content content) {
+        ObjectNode message = objectMapper.createObjectNode().put("role", "assistant");
+        StringBuilder text = new StringBuilder();
+        ArrayNode toolCalls = objectMapper.createArrayNode();
+        for (Part part : content.parts().orElse(List.of())) {
+            part.text().ifPresent(text::append);
+            part.functionCall().ifPresent(call -> {
+                ObjectNode toolCall = toolCalls.addObject()
+                        .put("id", call.id().orElse(call.name().orElse("call") + "-" + toolCalls.size()))
+                        .put("type", "function");
+                toolCall.putObject("function")
+                        .put("name", call.name().orElse(""))
+                        .put("arguments", json(call.args().orElse(Map.of())));
+            });
+        }
+        if (text.length() > 0) {
+            message.put("content", text.toString());
+        } else {
+            message.putNull("content");
+        }
+        if (!toolCalls.isEmpty()) {
+            message.set("tool_calls", toolCalls);
+        }
+        if (text.length() > 0 || !toolCalls.isEmpty()) {
+            messages.add(message);
+        }
+    }
+
+    // Function responses become "tool" messages; the remaining text and images form one user message.
+    private void addUserMessages(ArrayNode messages, Content content) {
+        ArrayNode parts = objectMapper.createArrayNode();
+        boolean hasImage = false;
+        for (Part part : content.parts().orElse(List.of())) {
+            if (part.functionResponse().isPresent()) {
+                FunctionResponse response = part.functionResponse().get();
+                messages.addObject()
+                        .put("role", "tool")
+                        .put("tool_call_id", response.id().orElse(response.name().orElse("")))
+                        .put("content", json(response.response().orElse(Map.of())));
+                continue;
+            }
+            part.text().ifPresent(text -> parts.addObject().put("type", "text").put("text", text));
+            Optional<Blob> inline = part.inlineData();
+            if (inline.isPresent() && inline.get().data().isPresent()) {
+                Blob blob = inline.get();
+                String url = "data:" + blob.mimeType().orElse("application/octet-stream") + ";base64,"
+                        + Base64.getEncoder().encodeToString(blob.data().get());
+                parts.addObject().put("type", "image_url").putObject("image_url").put("url", url);
+                hasImage = true;
+            }
+        }
+        if (parts.isEmpty()) {
+            return;
+        }
+        ObjectNode message = messages.addObject().put("role", "user");
+        if (hasImage) {
+            message.set("content", parts);
+        } else {
+            StringBuilder text = new StringBuilder();
+            parts.forEach(part -> text.append(part.path("text").asText()));
+            message.put("content", text.toString());
+        }
+    }
+
+    private ObjectNode tool(FunctionDeclaration declaration) {
+        ObjectNode tool = objectMapper.createObjectNode().put("type", "function");
+        ObjectNode function = tool.putObject("function").put("name", declaration.name().orElse(""));
+        declaration.description().ifPresent(description -> function.put("description", description));
+        JsonNode parameters = declaration.parameters()
+                .map(schema -> readTree(schema.toJson()))
+                .orElseGet(() -> objectMapper.createObjectNode().put("type", "object"));
+        function.set("parameters", lowerCaseTypes(parameters));
+        return tool;
+    }
+
+    // genai schemas spell types in upper case (OBJECT, STRING); JSON Schema expects lower case.
+    private JsonNode lowerCaseTypes(JsonNode node) {
+        if (node.isObject()) {
+            ObjectNode object = (ObjectNode) node;
+            Iterator<Map.Entry<String, JsonNode>> fields = object.fields();
+            List<Map.Entry<String, JsonNode>> entries = new ArrayList<>();
+            fields.forEachRemaining(entries::add);
+            for (Map.Entry<String, JsonNode> entry : entries) {
+                if ("type".equals(entry.getKey()) && entry.getValue().isTextual()) {
+                    object.set("type", TextNode.valueOf(entry.getValue().asText().toLowerCase(Locale.ROOT)));
+                } else {
+                    lowerCaseTypes(entry.getValue());
+                }
+            }
+        } else if (node.isArray()) {
+            node.forEach(this::lowerCaseTypes);
+        }
+        return node;
+    }
+
+    private String text(Content content) {
+        StringBuilder text = new StringBuilder();
+        content.parts().orElse(List.of()).forEach(part -> part.text().ifPresent(value -> {
+            if (text.length() > 0) {
+                text.append('\n');
+            }
+            text.append(value);
+        }));
+        return text.toString();
+    }
+
+    private String json(Object value) {
+        try {
+            return objectMapper.writeValueAsString(value);
+        } catch (JsonProcessingException ex) {
+            throw new IllegalArgumentException("Cannot serialize tool payload", ex);
+        }
+    }
+
+    private JsonNode readTree(String json) {
+        try {
+            return objectMapper.readTree(json);
+        } catch (JsonProcessingException ex) {
+            throw new IllegalArgumentException("Cannot read tool schema", ex);
+        }
+    }
+
+    // Folds streamed deltas (or a complete message) into the final response; tool call fragments are keyed by index.
+    final class Accumulator {
+
+        private final StringBuilder text = new StringBuilder();
+        private final Map<Integer, PendingCall> calls = new TreeMap<>();
+        private GenerateContentResponseUsageMetadata usage;
+
+        Optional<LlmResponse> chunk(JsonNode chunk) {
+            usage(chunk.path("usage"));
+            JsonNode delta = chunk.path("choices").path(0).path("delta");
+            String textDelta = merge(delta);
+            if (textDelta.isEmpty()) {
+                return Optional.empty();
+            }
+            return Optional.of(LlmResponse.builder()
+                    .content(Content.builder().role("model").parts(List.of(Part.fromText(textDelta))).build())
+                    .partial(true)
+                    .build());
+        }
+
+        LlmResponse complete() {
+            List<Part> parts = new ArrayList<>();
+            if (text.length() > 0) {
+                parts.add(Part.fromText(text.toString()));
+            }
+            calls.values().forEach(call -> {
+                FunctionCall.Builder functionCall = FunctionCall.builder()
+                        .name(call.name.toString())
+                        .args(arguments(call.arguments.toString()));
+                if (call.id != null) {
+                    functionCall.id(call.id);
+                }
+                parts.add(Part.builder().functionCall(functionCall.build()).build());
+            });
+            LlmResponse.Builder builder = LlmResponse.builder()
+                    .content(Content.builder().role("model").parts(parts).build())
+                    .turnComplete(true);
+            if (usage != null) {
+                builder.usageMetadata(usage);
+            }
+            return builder.build();
+        }
+
+        private String merge(JsonNode message) {
+            String textDelta = message.path("content").isTextual() ? message.path("content").asText() : "";
+            text.append(textDelta);
+            JsonNode toolCalls = message.path("tool_calls");
+            for (int i = 0; i < toolCalls.size(); i++) {
+                JsonNode toolCall = toolCalls.get(i);
+                int index = toolCall.path("index").asInt(i);
+                PendingCall call = calls.computeIfAbsent(index, ignored -> new PendingCall());
+                if (toolCall.path("id").isTextual()) {
+                    call.id = toolCall.path("id").asText();
+                }
+                JsonNode function = toolCall.path("function");
+                if (function.path("name").isTextual()) {
+                    call.name.append(function.path("name").asText());
+                }
+                if (function.path("arguments").isTextual()) {
+                    call.arguments.append(function.path("arguments").asText());
+                }
+            }
+            return textDelta;
+        }
+
+        private void usage(JsonNode node) {
+            if (!node.isObject()) {
+                return;
+            }
+            usage = GenerateContentResponseUsageMetadata.builder()
+                    .promptTokenCount(node.path("prompt_tokens").asInt())
+                    .candidatesTokenCount(node.path("completion_tokens").asInt())
+                    .totalTokenCount(node.path("total_tokens").asInt())
+                    .cachedContentTokenCount(node.path("prompt_tokens_details").path("cached_tokens").asInt())
+                    .build();
+        }
+
+        private Map<String, Object> arguments(String json) {
+            if (json.isBlank()) {
+                return Map.of();
+            }
+            try {
+                return objectMapper.readValue(json, MAP_TYPE);
+            } catch (JsonProcessingException ex) {
+                // Small local models sometimes emit malformed arguments; hand them to the tool verbatim.
+                return Map.of("arguments", json);
+            }
+        }
+    }
+
+    private static final class PendingCall {
+        private String id;
+        private final StringBuilder name = new StringBuilder();
+        private final StringBuilder arguments = new StringBuilder();
+    }
+}
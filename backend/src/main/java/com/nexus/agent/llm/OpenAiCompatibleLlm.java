@@ -0,0 +1,188 @@
+package com.nexus.agent.llm;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.google.adk.models.BaseLlm;
+import com.google.adk.models.BaseLlmConnection;
+import com.google.adk.models.LlmRequest;
+import com.google.adk.models.LlmResponse;
+import com.google.genai.types.Blob;
+import com.google.genai.types.Content;
+import io.reactivex.rxjava3.core.Completable;
+import io.reactivex.rxjava3.core.Flowable;
+import io.reactivex.rxjava3.core.Maybe;
+import io.reactivex.rxjava3.core.Single;
+import org.reactivestreams.FlowAdapters;
+
+import java.io.ByteArrayOutputStream;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.Flow;
+import java.util.concurrent.TimeUnit;
+
+// BaseLlm over an OpenAI-compatible /chat/completions endpoint (vLLM, llama.cpp, Ollama, LM Studio and similar).
+// Streaming reads the SSE body as it arrives through the HTTP client's publisher, so no thread blocks on the socket;
+// text deltas are emitted as partial responses followed by one complete response carrying text and tool calls.
+// responseTimeout bounds the wait for response headers and, while streaming, the gap between body chunks, so a
+// stalled server fails the call instead of holding the run until its deadline. Live connections are not supported.
+public class OpenAiCompatibleLlm extends BaseLlm {
+
+    private final URI completionsUri;
+    private final String apiKey;
+    private final HttpClient httpClient;
+    private final ObjectMapper objectMapper;
+    private final Duration responseTimeout;
+    private final OpenAiChatMapper mapper;
+
+    public OpenAiCompatibleLlm(String modelName,
+                               URI completionsUri,
+                               String apiKey,
+                               HttpClient httpClient,
+                               ObjectMapper objectMapper,
+                               Duration responseTimeout) {
+        super(modelName);
+        this.completionsUri = completionsUri;
+        this.apiKey = apiKey;
+        this.httpClient = httpClient;
+        this.objectMapper = objectMapper;
+        this.responseTimeout = responseTimeout;
+        this.mapper = new OpenAiChatMapper(objectMapper);
+    }
+
+    @Override
+    public Flowable<LlmResponse> generateContent(LlmRequest llmRequest, boolean stream) {
+        return Flowable.defer(() -> {
+            HttpRequest request = httpRequest(mapper.requestBody(model(), llmRequest, stream), stream);
+            if (!stream) {
+                return Single.fromCompletionStage(httpClient.sendAsync(request, HttpResponse.BodyHandlers.ofString()))
+                        .map(response -> {
+                            if (response.statusCode() < 200 || response.statusCode() >= 300) {
+                                throw failure(response.statusCode(), response.body());
+                            }
+                            return mapper.completion(readTree(response.body()));
+                        })
+                        .toFlowable();
+            }
+            return Single.fromCompletionStage(httpClient.sendAsync(request, HttpResponse.BodyHandlers.ofPublisher()))
+                    .flatMapPublisher(this::streamedResponses);
+        });
+    }
+
+    @Override
+    public BaseLlmConnection connect(LlmRequest llmRequest) {
+        return new UnsupportedConnection(model());
+    }
+
+    private Flowable<LlmResponse> streamedResponses(HttpResponse<Flow.Publisher<List<ByteBuffer>>> response) {
+        Flowable<List<ByteBuffer>> body = Flowable.fromPublisher(FlowAdapters.toPublisher(response.body()))
+                .timeout(responseTimeout.toMillis(), TimeUnit.MILLISECONDS);
+        if (response.statusCode() < 200 || response.statusCode() >= 300) {
+            return body.collect(ByteArrayOutputStream::new, (out, buffers) -> buffers.forEach(buffer -> {
+                        byte[] bytes = new byte[buffer.remaining()];
+                        buffer.get(bytes);
+                        out.writeBytes(bytes);
+                    }))
+                    .flatMapPublisher(out -> Flowable.error(failure(response.statusCode(), out.toString(StandardCharsets.UTF_8))));
+        }
+        SseEventParser parser = new SseEventParser();
+        OpenAiChatMapper.Accumulator accumulator = mapper.accumulator();
+        return body.concatMapIterable(parser::feed)
+                .concatWith(Flowable.defer(() -> Flowable.fromIterable(parser.finish())))
+                .takeWhile(data -> !"[DONE]".equals(data.trim()))
+                .concatMapMaybe(data -> {
+                    JsonNode chunk = readTree(data);
+                    if (chunk.has("error")) {
+                        return Maybe.error(failure(chunk.path("error").path("code").asInt(502), data));
+                    }
+                    return Maybe.fromOptional(accumulator.chunk(chunk));
+                })
+                .concatWith(Flowable.fromCallable(accumulator::complete));
+    }
+
+    private HttpRequest httpRequest(ObjectNode body, boolean stream) throws JsonProcessingException {
+        HttpRequest.Builder builder = HttpRequest.newBuilder()
+                .uri(completionsUri)
+                .timeout(responseTimeout)
+                .header("Content-Type", "application/json")
+                .header("Accept", stream ? "text/event-stream" : "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(objectMapper.writeValueAsString(body)));
+        if (apiKey != null && !apiKey.isBlank()) {
+            builder.header("Authorization", "Bearer " + apiKey.trim());
+        }
+        return builder.build();
+    }
+
+    private UpstreamHttpException failure(int statusCode, String body) {
+        String detail = body == null ? "" : body.trim().replaceAll("\\s+", " ");
+        try {
+            JsonNode message = objectMapper.readTree(body).path("error").path("message");
+            if (message.isTextual()) {
+                detail = message.asText();
+            }
+        } catch (JsonProcessingException | RuntimeException ignored) {
+            // Fall back to raw text.
+        }
+        if (detail.length() > 180) {
+            detail = detail.substring(0, 177) + "...";
+        }
+        return new UpstreamHttpException(statusCode, "Model " + model() + " failed (" + statusCode + "): " + detail);
+    }
+
+    private JsonNode readTree(String json) {
+        try {
+            return objectMapper.readTree(json);
+        } catch (JsonProcessingException ex) {
+            throw new IllegalStateException("Upstream returned invalid JSON for model " + model(), ex);
+        }
+    }
+
+    // /chat/completions has no bidirectional session, so every operation of a live connection fails.
+    private static final class UnsupportedConnection implements BaseLlmConnection {
+
+        private final String model;
+
+        private UnsupportedConnection(String model) {
+            this.model = model;
+        }
+
+        @Override
+        public Completable sendHistory(List<Content> history) {
+            return Completable.error(unsupported());
+        }
+
+        @Override
+        public Completable sendContent(Content content) {
+            return Completable.error(unsupported());
+        }
+
+        @Override
+        public Completable sendRealtime(Blob blob) {
+            return Completable.error(unsupported());
+        }
+
+        @Override
+        public Flowable<LlmResponse> receive() {
+            return Flowable.error(unsupported());
+        }
+
+        @Override
+        public void close() {
+        }
+
+        @Override
+        public void close(Throwable throwable) {
+        }
+
+        private UnsupportedOperationException unsupported() {
+            return new UnsupportedOperationException("Live mode is not supported by OpenAI-compatible model " + model);
+        }
+    }
+}
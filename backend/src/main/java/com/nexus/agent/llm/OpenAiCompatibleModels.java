@@ -0,0 +1,50 @@
+package com.nexus.agent.llm;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.google.adk.models.BaseLlm;
+import org.springframework.stereotype.Component;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.time.Duration;
+import java.util.Locale;
+
+// Builds OpenAI-compatible models for runtime base URLs that are not Gemini endpoints; one HTTP client is shared.
+@Component
+public class OpenAiCompatibleModels {
+
+    private static final Duration CONNECT_TIMEOUT = Duration.ofSeconds(8);
+    // Wait for response headers, and the longest silence tolerated between streamed chunks.
+    private static final Duration RESPONSE_TIMEOUT = Duration.ofSeconds(120);
+
+    private final ObjectMapper objectMapper;
+    private final HttpClient httpClient;
+
+    public OpenAiCompatibleModels(ObjectMapper objectMapper) {
+        this.objectMapper = objectMapper;
+        this.httpClient = HttpClient.newBuilder()
+                .connectTimeout(CONNECT_TIMEOUT)
+                .build();
+    }
+
+    public boolean serves(String baseUrl) {
+        String host = URI.create(baseUrl.trim()).getHost();
+        return host != null && !host.toLowerCase(Locale.ROOT).endsWith("googleapis.com");
+    }
+
+    public BaseLlm create(String modelName, String baseUrl, String apiKey) {
+        return new OpenAiCompatibleLlm(modelName, completionsUri(baseUrl), apiKey, httpClient, objectMapper, RESPONSE_TIMEOUT);
+    }
+
+    // Same base URL conventions as model discovery: ".../v1" is implied when absent.
+    private URI completionsUri(String baseUrl) {
+        String normalized = baseUrl.trim().replaceAll("/+$", "");
+        if (normalized.endsWith("/chat/completions")) {
+            return URI.create(normalized);
+        }
+        if (!normalized.endsWith("/v1")) {
+            normalized = normalized + "/v1";
+        }
+        return URI.create(normalized + "/chat/completions");
+    }
+}
@@ -0,0 +1,113 @@
+package com.nexus.agent.llm;
+
+import com.google.adk.models.BaseLlm;
+import com.google.adk.models.BaseLlmConnection;
+import com.google.adk.models.LlmRequest;
+import com.google.adk.models.LlmResponse;
+import com.google.genai.types.Content;
+import com.google.genai.types.Part;
+import com.nexus.agent.modes.ModeEdgeBudget;
+import com.nexus.agent.service.RunMetrics;
+import com.nexus.agent.service.TokenEstimator;
+import io.reactivex.rxjava3.core.Flowable;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+// Applies a node's inputBudgets to the request it sends. ADK hands other agents' output to the next agent as
+// "[author] said: ..." text parts, so each such part is condensed per its author's budget ("*" as the catch-all).
+public class PayloadBudgetLlm extends BaseLlm {
+
+    private static final Pattern UPSTREAM_TEXT = Pattern.compile("^\\[([^\\]]+)\\] said: (.*)$", Pattern.DOTALL);
+
+    private final BaseLlm delegate;
+    private final String nodeName;
+    private final Map<String, ModeEdgeBudget> budgetsByAuthor;
+    private final String metricScope;
+    private final PayloadLedger ledger;
+    private final RunMetrics metrics;
+
+    public PayloadBudgetLlm(BaseLlm delegate,
+                            String nodeName,
+                            Map<String, ModeEdgeBudget> budgetsByAuthor,
+                            String metricScope,
+                            PayloadLedger ledger,
+                            RunMetrics metrics) {
+        super(delegate.model());
+        this.delegate = delegate;
+        this.nodeName = nodeName;
+        this.budgetsByAuthor = Map.copyOf(budgetsByAuthor);
+        this.metricScope = metricScope;
+        this.ledger = ledger;
+        this.metrics = metrics;
+    }
+
+    @Override
+    public Flowable<LlmResponse> generateContent(LlmRequest llmRequest, boolean stream) {
+        return Flowable.defer(() -> delegate.generateContent(applyBudgets(llmRequest), stream));
+    }
+
+    @Override
+    public BaseLlmConnection connect(LlmRequest llmRequest) {
+        return delegate.connect(applyBudgets(llmRequest));
+    }
+
+    private LlmRequest applyBudgets(LlmRequest llmRequest) {
+        boolean changed = false;
+        List<Content> contents = new ArrayList<>();
+        for (Content content : llmRequest.contents()) {
+            Content budgeted = applyBudgets(content);
+            changed |= budgeted != content;
+            contents.add(budgeted);
+        }
+        return changed ? llmRequest.toBuilder().contents(contents).build() : llmRequest;
+    }
+
+    private Content applyBudgets(Content content) {
+        List<Part> parts = content.parts().orElse(List.of());
+        boolean changed = false;
+        List<Part> budgetedParts = new ArrayList<>(parts.size());
+        for (Part part : parts) {
+            Part budgeted = applyBudget(part);
+            changed |= budgeted != part;
+            budgetedParts.add(budgeted);
+        }
+        return changed ? content.toBuilder().parts(budgetedParts).build() : content;
+    }
+
+    private Part applyBudget(Part part) {
+        String text = part.text().orElse(null);
+        if (text == null) {
+            return part;
+        }
+        Matcher matcher = UPSTREAM_TEXT.matcher(text);
+        if (!matcher.matches()) {
+            return part;
+        }
+        String author = matcher.group(1);
+        ModeEdgeBudget budget = budgetsByAuthor.getOrDefault(author, budgetsByAuthor.get("*"));
+        if (budget == null || author.equals(nodeName)) {
+            return part;
+        }
+
+        String original = matcher.group(2);
+        String condensed = PayloadCondenser.condense(original, budget.getMaxTokens(), budget.getStrategy());
+        int originalTokens = TokenEstimator.estimate(original);
+        int deliveredTokens = TokenEstimator.estimate(condensed);
+        boolean firstSeen = ledger == null
+                || ledger.record(author, nodeName, budget.getStrategy().name(), original, originalTokens, deliveredTokens);
+        if (firstSeen) {
+            String key = "payload." + metricScope + ".from." + author;
+            metrics.increment(key + ".messages");
+            metrics.add(key + ".original-tokens", originalTokens);
+            metrics.add(key + ".delivered-tokens", deliveredTokens);
+        }
+        if (condensed.equals(original)) {
+            return part;
+        }
+        return part.toBuilder().text("[" + author + "] said: " + condensed).build();
+    }
+}
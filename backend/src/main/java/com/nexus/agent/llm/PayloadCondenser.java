@@ -0,0 +1,175 @@
+package com.nexus.agent.llm;
+
+import com.nexus.agent.modes.PayloadStrategy;
+import com.nexus.agent.service.TokenEstimator;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+// Shrinks one upstream message to a token budget without a model call. The result carries a short marker so the
+// downstream node knows it is reading a condensed view.
+final class PayloadCondenser {
+
+    private static final int MARKER_TOKENS = 16;
+    private static final Pattern PARAGRAPH_BREAK = Pattern.compile("\\n\\s*\\n");
+    private static final Pattern SENTENCE_END = Pattern.compile("(?<=[.!?\\u3002\\uff01\\uff1f])\\s+|\\n");
+    private static final Pattern WORD = Pattern.compile("[\\p{L}\\p{N}_]{4,}");
+    private static final Pattern STRUCTURED_LINE = Pattern.compile(
+            "^\\s*(?:#{1,6}\\s|[-*+]\\s|\\d+[.)]\\s|\\|.*\\||[^:\\n]{1,40}:\\s+\\S)");
+
+    private PayloadCondenser() {
+    }
+
+    static String condense(String text, int maxTokens, PayloadStrategy strategy) {
+        int originalTokens = TokenEstimator.estimate(text);
+        if (originalTokens <= maxTokens) {
+            return text;
+        }
+        int budget = Math.max(1, maxTokens - MARKER_TOKENS);
+        return switch (strategy) {
+            case TRUNCATE -> truncate(text, budget) + "\n[truncated from " + originalTokens + " tokens]";
+            case EXTRACTIVE -> extractive(text, budget) + "\n[key sentences from " + originalTokens + " tokens]";
+            case STRUCTURED -> structured(text, budget, originalTokens);
+        };
+    }
+
+    private static String truncate(String text, int budget) {
+        int low = 0;
+        int high = text.length();
+        while (low < high) {
+            int mid = (low + high + 1) >>> 1;
+            if (TokenEstimator.estimate(text.substring(0, mid)) <= budget) {
+                low = mid;
+            } else {
+                high = mid - 1;
+            }
+        }
+        int cut = low;
+        int whitespace = lastWhitespace(text, cut);
+        if (whitespace > cut * 4 / 5) {
+            cut = whitespace;
+        }
+        return text.substring(0, cut).stripTrailing();
+    }
+
+    // Scores sentences by how many frequent terms they carry, favouring paragraph openers, then keeps the best
+    // ones that fit and emits them in their original order.
+    private static String extractive(String text, int budget) {
+        List<Sentence> sentences = new ArrayList<>();
+        Map<String, Integer> termFrequency = new HashMap<>();
+        int paragraphIndex = 0;
+        for (String paragraph : PARAGRAPH_BREAK.split(text)) {
+            boolean first = true;
+            for (String raw : SENTENCE_END.split(paragraph.strip())) {
+                String sentence = raw.strip();
+                if (sentence.isEmpty()) {
+                    continue;
+                }
+                List<String> terms = terms(sentence);
+                terms.forEach(term -> termFrequency.merge(term, 1, Integer::sum));
+                sentences.add(new Sentence(sentences.size(), paragraphIndex, sentence, terms, first));
+                first = false;
+            }
+            paragraphIndex++;
+        }
+        if (sentences.isEmpty()) {
+            return truncate(text, budget);
+        }
+
+        int maxFrequency = termFrequency.values().stream().mapToInt(Integer::intValue).max().orElse(1);
+        List<Sentence> ranked = new ArrayList<>(sentences);
+        ranked.sort((left, right) -> Double.compare(
+                score(right, termFrequency, maxFrequency),
+                score(left, termFrequency, maxFrequency)));
+
+        boolean[] keep = new boolean[sentences.size()];
+        int used = 0;
+        for (Sentence sentence : ranked) {
+            int tokens = TokenEstimator.estimate(sentence.text()) + 1;
+            if (used + tokens <= budget) {
+                keep[sentence.index()] = true;
+                used += tokens;
+            }
+        }
+
+        StringBuilder result = new StringBuilder();
+        int currentParagraph = -1;
+        for (Sentence sentence : sentences) {
+            if (!keep[sentence.index()]) {
+                continue;
+            }
+            if (!result.isEmpty()) {
+                result.append(sentence.paragraph() == currentParagraph ? " " : "\n");
+            }
+            result.append(sentence.text());
+            currentParagraph = sentence.paragraph();
+        }
+        return result.isEmpty() ? truncate(text, budget) : result.toString();
+    }
+
+    // Keeps headings, list items, table rows and "key: value" lines; prose without such structure falls back to
+    // the extractive view.
+    private static String structured(String text, int budget, int originalTokens) {
+        StringBuilder result = new StringBuilder();
+        int used = 0;
+        for (String line : text.split("\\n")) {
+            if (!STRUCTURED_LINE.matcher(line).find()) {
+                continue;
+            }
+            String kept = line.stripTrailing();
+            int tokens = TokenEstimator.estimate(kept) + 1;
+            if (used + tokens > budget) {
+                if (used == 0) {
+                    result.append(truncate(kept, budget));
+                }
+                break;
+            }
+            if (!result.isEmpty()) {
+                result.append('\n');
+            }
+            result.append(kept);
+            used += tokens;
+        }
+        if (result.isEmpty()) {
+            return extractive(text, budget) + "\n[key sentences from " + originalTokens + " tokens]";
+        }
+        return result + "\n[structured fields from " + originalTokens + " tokens]";
+    }
+
+    private static double score(Sentence sentence, Map<String, Integer> termFrequency, int maxFrequency) {
+        if (sentence.terms().isEmpty()) {
+            return sentence.leading() ? 0.5 : 0;
+        }
+        double weight = 0;
+        for (String term : sentence.terms()) {
+            weight += (double) termFrequency.getOrDefault(term, 0) / maxFrequency;
+        }
+        return weight / Math.sqrt(sentence.terms().size()) + (sentence.leading() ? 0.5 : 0);
+    }
+
+    private static List<String> terms(String sentence) {
+        List<String> terms = new ArrayList<>();
+        Matcher matcher = WORD.matcher(sentence.toLowerCase(Locale.ROOT));
+        while (matcher.find()) {
+            terms.add(matcher.group());
+        }
+        return terms;
+    }
+
+    private static int lastWhitespace(String text, int end) {
+        for (int i = end - 1; i >= 0; i--) {
+            if (Character.isWhitespace(text.charAt(i))) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private record Sentence(int index, int paragraph, String text, List<String> terms, boolean leading) {
+    }
+}
@@ -0,0 +1,65 @@
+package com.nexus.agent.llm;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+// Per-run record of what each budgeted edge received versus what it was sent. A message seen again on a later
+// model call of the same node (tool loops, retries) is only counted once.
+public class PayloadLedger {
+
+    private final Map<String, Edge> edges = new ConcurrentHashMap<>();
+    private final Set<String> seenMessages = ConcurrentHashMap.newKeySet();
+
+    boolean record(String from, String to, String strategy, String original, int originalTokens, int deliveredTokens) {
+        String edgeKey = from + "->" + to;
+        if (!seenMessages.add(edgeKey + "#" + original.length() + "#" + original.hashCode())) {
+            return false;
+        }
+        edges.computeIfAbsent(edgeKey, ignored -> new Edge(from, to, strategy))
+                .add(originalTokens, deliveredTokens);
+        return true;
+    }
+
+    public List<EdgeUsage> edges() {
+        return edges.values().stream()
+                .map(Edge::usage)
+                .sorted((left, right) -> (left.from() + left.to()).compareTo(right.from() + right.to()))
+                .toList();
+    }
+
+    public record EdgeUsage(String from,
+                            String to,
+                            String strategy,
+                            int messages,
+                            int originalTokens,
+                            int deliveredTokens) {
+    }
+
+    private static final class Edge {
+
+        private final String from;
+        private final String to;
+        private final String strategy;
+        private int messages;
+        private int originalTokens;
+        private int deliveredTokens;
+
+        private Edge(String from, String to, String strategy) {
+            this.from = from;
+            this.to = to;
+            this.strategy = strategy;
+        }
+
+        private synchronized void add(int original, int delivered) {
+            messages++;
+            originalTokens += original;
+            deliveredTokens += delivered;
+        }
+
+        private synchronized EdgeUsage usage() {
+            return new EdgeUsage(from, to, strategy, messages, originalTokens, deliveredTokens);
+        }
+    }
+}
@@ -0,0 +1,150 @@
+package com.nexus.agent.llm;
+
+import com.google.adk.models.BaseLlm;
+import com.google.adk.models.BaseLlmConnection;
+import com.google.adk.models.LlmRequest;
+import com.google.adk.models.LlmResponse;
+import com.google.genai.errors.ApiException;
+import com.nexus.agent.config.UpstreamProperties;
+import com.nexus.agent.service.RunMetrics;
+import io.reactivex.rxjava3.core.Flowable;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+// Retries retryable upstream failures with full-jitter exponential backoff, and optionally hedges a slow call with a
+// duplicate once the model's first-response percentile has passed; the first call to respond wins, the other is
+// cancelled. Neither applies once a response has been emitted downstream.
+public class ResilientLlm extends BaseLlm {
+
+    private static final Logger log = LoggerFactory.getLogger(ResilientLlm.class);
+
+    private final BaseLlm delegate;
+    private final UpstreamProperties properties;
+    private final HedgeBudget hedgeBudget;
+    private final RunMetrics metrics;
+    private final String metricKey;
+
+    public ResilientLlm(BaseLlm delegate, UpstreamProperties properties, HedgeBudget hedgeBudget, RunMetrics metrics) {
+        super(delegate.model());
+        this.delegate = delegate;
+        this.properties = properties;
+        this.hedgeBudget = hedgeBudget;
+        this.metrics = metrics;
+        this.metricKey = "upstream." + delegate.model();
+    }
+
+    @Override
+    public Flowable<LlmResponse> generateContent(LlmRequest llmRequest, boolean stream) {
+        return Flowable.defer(() -> attempt(llmRequest, stream, 1));
+    }
+
+    @Override
+    public BaseLlmConnection connect(LlmRequest llmRequest) {
+        return delegate.connect(llmRequest);
+    }
+
+    private Flowable<LlmResponse> attempt(LlmRequest llmRequest, boolean stream, int attempt) {
+        AtomicBoolean emitted = new AtomicBoolean();
+        return hedged(llmRequest, stream)
+                .doOnNext(response -> emitted.set(true))
+                .onErrorResumeNext(error -> {
+                    if (emitted.get() || attempt >= properties.getRetry().getMaxAttempts() || !isRetryable(error)) {
+                        return Flowable.error(error);
+                    }
+                    long backoffMs = backoffMillis(attempt);
+                    metrics.increment(metricKey + ".retries");
+                    log.debug("Retrying {} in {} ms after attempt {} failed", model(), backoffMs, attempt, error);
+                    return Flowable.timer(backoffMs, TimeUnit.MILLISECONDS)
+                            .flatMap(ignored -> attempt(llmRequest, stream, attempt + 1));
+                });
+    }
+
+    private Flowable<LlmResponse> hedged(LlmRequest llmRequest, boolean stream) {
+        Flowable<LlmResponse> primary = timed(llmRequest, stream);
+        long delayMs = hedgeDelayMillis();
+        if (delayMs < 0) {
+            return primary;
+        }
+        hedgeBudget.deposit();
+        // A failed hedge stays silent so the primary still decides the outcome.
+        Flowable<LlmResponse> hedge = Flowable.timer(delayMs, TimeUnit.MILLISECONDS)
+                .flatMap(ignored -> {
+                    if (!hedgeBudget.tryWithdraw()) {
+                        metrics.increment(metricKey + ".hedge.budget-exhausted");
+                        return Flowable.<LlmResponse>never();
+                    }
+                    metrics.increment(metricKey + ".hedges");
+                    AtomicBoolean first = new AtomicBoolean(true);
+                    return timed(llmRequest, stream)
+                            .doOnNext(response -> {
+                                if (first.compareAndSet(true, false)) {
+                                    metrics.increment(metricKey + ".hedge.wins");
+                                }
+                            })
+                            .onErrorResumeNext(error -> Flowable.<LlmResponse>never());
+                });
+        return Flowable.ambArray(primary, hedge);
+    }
+
+    private Flowable<LlmResponse> timed(LlmRequest llmRequest, boolean stream) {
+        return Flowable.defer(() -> {
+            long started = System.currentTimeMillis();
+            AtomicBoolean first = new AtomicBoolean(true);
+            return delegate.generateContent(llmRequest, stream)
+                    .doOnNext(response -> {
+                        if (first.compareAndSet(true, false)) {
+                            metrics.recordLatency(metricKey + ".first-response", System.currentTimeMillis() - started);
+                        }
+                    })
+                    .doOnError(error -> metrics.increment(metricKey + ".errors"));
+        });
+    }
+
+    // -1 means no hedge: disabled, or too few samples to trust the percentile yet.
+    private long hedgeDelayMillis() {
+        UpstreamProperties.Hedge hedge = properties.getHedge();
+        if (!hedge.isEnabled()) {
+            return -1;
+        }
+        RunMetrics.LatencySnapshot latency = metrics.latency(metricKey + ".first-response");
+        if (latency.count() < hedge.getMinSamples()) {
+            return -1;
+        }
+        long threshold = switch (hedge.getPercentile()) {
+            case 50 -> latency.p50Millis();
+            case 99 -> latency.p99Millis();
+            default -> latency.p95Millis();
+        };
+        return Math.max(hedge.getMinDelayMs(), threshold);
+    }
+
+    private long backoffMillis(int attempt) {
+        UpstreamProperties.Retry retry = properties.getRetry();
+        long ceiling = Math.min(retry.getMaxBackoffMs(), retry.getInitialBackoffMs() << Math.min(20, attempt - 1));
+        return ThreadLocalRandom.current().nextLong(Math.max(1, ceiling) + 1);
+    }
+
+    private boolean isRetryable(Throwable error) {
+        for (Throwable current = error; current != null; current = current.getCause()) {
+            if (current instanceof ApiException apiException) {
+                return properties.getRetry().getRetryableStatusCodes().contains(apiException.code());
+            }
+            if (current instanceof UpstreamHttpException httpException) {
+                return properties.getRetry().getRetryableStatusCodes().contains(httpException.statusCode());
+            }
+            if (current instanceof IOException || current instanceof TimeoutException) {
+                return true;
+            }
+            if (current.getCause() == current) {
+                break;
+            }
+        }
+        return false;
+    }
+}
@@ -0,0 +1,82 @@
+package com.nexus.agent.llm;
+
+import io.reactivex.rxjava3.core.Completable;
+import io.reactivex.rxjava3.subjects.CompletableSubject;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+// Token and LLM-call limits of one run, shared by every model instantiated for it. Calls reserve a slot before they
+// are sent and report tokens while they stream; the first limit crossed trips the budget, which ends the run.
+public class RunBudget {
+
+    public static final String LIMIT_TOKENS = "tokens";
+    public static final String LIMIT_LLM_CALLS = "llm-calls";
+
+    private final Long maxTokens;
+    private final Integer maxLlmCalls;
+    private final AtomicInteger llmCalls = new AtomicInteger();
+    private final AtomicLong tokens = new AtomicLong();
+    private final AtomicReference<String> exceededLimit = new AtomicReference<>();
+    private final CompletableSubject exceeded = CompletableSubject.create();
+
+    private RunBudget(Long maxTokens, Integer maxLlmCalls) {
+        this.maxTokens = maxTokens;
+        this.maxLlmCalls = maxLlmCalls;
+    }
+
+    // Null limits are unlimited.
+    public static RunBudget of(Long maxTokens, Integer maxLlmCalls) {
+        return new RunBudget(maxTokens, maxLlmCalls);
+    }
+
+    public boolean limited() {
+        return maxTokens != null || maxLlmCalls != null;
+    }
+
+    // False when the call must not be sent; the budget is tripped if this call would cross the call limit.
+    public boolean tryStartCall() {
+        if (exceededLimit.get() != null) {
+            return false;
+        }
+        int calls = llmCalls.incrementAndGet();
+        if (maxLlmCalls != null && calls > maxLlmCalls) {
+            llmCalls.decrementAndGet();
+            trip(LIMIT_LLM_CALLS);
+            return false;
+        }
+        return true;
+    }
+
+    // Delta may be negative when reported usage replaces a streaming estimate.
+    public void addTokens(long delta) {
+        long total = tokens.addAndGet(delta);
+        if (maxTokens != null && total > maxTokens) {
+            trip(LIMIT_TOKENS);
+        }
+    }
+
+    // Completes once when the first limit is crossed.
+    public Completable exceeded() {
+        return exceeded;
+    }
+
+    public Report report() {
+        return new Report(exceededLimit.get(), maxTokens, maxLlmCalls, Math.max(0, tokens.get()), llmCalls.get());
+    }
+
+    private void trip(String limit) {
+        if (exceededLimit.compareAndSet(null, limit)) {
+            exceeded.onComplete();
+        }
+    }
+
+    // exceededLimit is null while the run stayed within its budget.
+    public record Report(String exceededLimit, Long maxTokens, Integer maxLlmCalls, long tokens, int llmCalls) {
+
+        public boolean exceeded() {
+            return exceededLimit != null;
+        }
+    }
+}
@@ -0,0 +1,65 @@
+package com.nexus.agent.llm;
+
+import com.google.adk.models.BaseLlm;
+import com.google.adk.models.BaseLlmConnection;
+import com.google.adk.models.LlmRequest;
+import com.google.adk.models.LlmResponse;
+import com.google.genai.types.Content;
+import com.google.genai.types.GenerateContentResponseUsageMetadata;
+import com.nexus.agent.service.TokenEstimator;
+import io.reactivex.rxjava3.core.Flowable;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+// Charges each model call against the run budget. Streamed deltas are charged by estimate as they arrive, so a
+// runaway output trips the budget mid-stream; reported usage then replaces the estimate for the call.
+public class RunBudgetLlm extends BaseLlm {
+
+    private final BaseLlm delegate;
+    private final RunBudget budget;
+
+    public RunBudgetLlm(BaseLlm delegate, RunBudget budget) {
+        super(delegate.model());
+        this.delegate = delegate;
+        this.budget = budget;
+    }
+
+    @Override
+    public Flowable<LlmResponse> generateContent(LlmRequest llmRequest, boolean stream) {
+        return Flowable.defer(() -> {
+            if (!budget.tryStartCall()) {
+                // The tripped budget is already ending the run; sending nothing keeps the call off the wire.
+                return Flowable.<LlmResponse>empty();
+            }
+            AtomicLong charged = new AtomicLong();
+            return delegate.generateContent(llmRequest, stream)
+                    .doOnNext(response -> charge(response, charged));
+        });
+    }
+
+    @Override
+    public BaseLlmConnection connect(LlmRequest llmRequest) {
+        return delegate.connect(llmRequest);
+    }
+
+    private void charge(LlmResponse response, AtomicLong charged) {
+        long current = charged.get();
+        boolean partial = response.partial().orElse(false);
+        long observed = response.usageMetadata()
+                .flatMap(GenerateContentResponseUsageMetadata::totalTokenCount)
+                .map(Integer::longValue)
+                // A final response after streamed deltas repeats their text, which is already charged.
+                .orElseGet(() -> partial || current == 0 ? current + estimate(response) : current);
+        charged.set(observed);
+        if (observed != current) {
+            budget.addTokens(observed - current);
+        }
+    }
+
+    private long estimate(LlmResponse response) {
+        return response.content()
+                .map(Content::text)
+                .map(TokenEstimator::estimate)
+                .orElse(0);
+    }
+}
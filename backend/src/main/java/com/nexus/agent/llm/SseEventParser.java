@@ -0,0 +1,74 @@
+package com.nexus.agent.llm;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+// Incremental server-sent-events parser fed with raw body buffers as they arrive; returns the data payload of every
+// event completed by the buffer. Lines are split on the LF byte, which never occurs inside a multi-byte UTF-8
+// sequence, so a character split across buffers is decoded intact.
+final class SseEventParser {
+
+    private final ByteArrayOutputStream line = new ByteArrayOutputStream();
+    private final StringBuilder data = new StringBuilder();
+    private boolean hasData;
+
+    List<String> feed(List<ByteBuffer> buffers) {
+        List<String> events = new ArrayList<>();
+        for (ByteBuffer buffer : buffers) {
+            while (buffer.hasRemaining()) {
+                byte next = buffer.get();
+                if (next == '\n') {
+                    endLine(events);
+                } else {
+                    line.write(next);
+                }
+            }
+        }
+        return events;
+    }
+
+    List<String> finish() {
+        List<String> events = new ArrayList<>();
+        if (line.size() > 0) {
+            endLine(events);
+        }
+        endEvent(events);
+        return events;
+    }
+
+    private void endLine(List<String> events) {
+        String text = line.toString(StandardCharsets.UTF_8);
+        line.reset();
+        if (text.endsWith("\r")) {
+            text = text.substring(0, text.length() - 1);
+        }
+        if (text.isEmpty()) {
+            endEvent(events);
+            return;
+        }
+        if (!text.startsWith("data:")) {
+            // Comments, event names, ids and retry hints carry nothing the chat stream needs.
+            return;
+        }
+        String value = text.substring(5);
+        if (value.startsWith(" ")) {
+            value = value.substring(1);
+        }
+        if (hasData) {
+            data.append('\n');
+        }
+        data.append(value);
+        hasData = true;
+    }
+
+    private void endEvent(List<String> events) {
+        if (hasData) {
+            events.add(data.toString());
+        }
+        data.setLength(0);
+        hasData = false;
+    }
+}
@@ -0,0 +1,16 @@
+package com.nexus.agent.llm;
+
+// Non-2xx answer from an upstream HTTP model API that is not reached through the genai client.
+public class UpstreamHttpException extends RuntimeException {
+
+    private final int statusCode;
+
+    public UpstreamHttpException(int statusCode, String message) {
+        super(message);
+        this.statusCode = statusCode;
+    }
+
+    public int statusCode() {
+        return statusCode;
+    }
+}
@@ -10,6 +10,10 @@ public class ModeDefinition {
     private AgentMode mode;
     private AgentMode fallbackMode;
     private String root;
+    private Long timeoutMs;
+    private Long hedgeAfterMs;
+    private Long maxTokens;
+    private Integer maxLlmCalls;
     private Map<String, ModeNodeDefinition> nodes = new HashMap<>();
 
     public AgentMode getMode() {
@@ -43,4 +47,36 @@ public class ModeDefinition {
     public void setNodes(Map<String, ModeNodeDefinition> nodes) {
         this.nodes = nodes == null ? new HashMap<>() : new HashMap<>(nodes);
     }
+
+    public Long getTimeoutMs() {
+        return timeoutMs;
+    }
+
+    public void setTimeoutMs(Long timeoutMs) {
+        this.timeoutMs = timeoutMs;
+    }
+
+    public Long getHedgeAfterMs() {
+        return hedgeAfterMs;
+    }
+
+    public void setHedgeAfterMs(Long hedgeAfterMs) {
+        this.hedgeAfterMs = hedgeAfterMs;
+    }
+
+    public Long getMaxTokens() {
+        return maxTokens;
+    }
+
+    public void setMaxTokens(Long maxTokens) {
+        this.maxTokens = maxTokens;
+    }
+
+    public Integer getMaxLlmCalls() {
+        return maxLlmCalls;
+    }
+
+    public void setMaxLlmCalls(Integer maxLlmCalls) {
+        this.maxLlmCalls = maxLlmCalls;
+    }
 }
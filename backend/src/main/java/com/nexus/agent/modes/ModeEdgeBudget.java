@@ -0,0 +1,33 @@
+package com.nexus.agent.modes;
+
+// Limits how much of one upstream node's output reaches the LLM node that declares it; from "*" covers all others.
+public class ModeEdgeBudget {
+
+    private String from;
+    private int maxTokens;
+    private PayloadStrategy strategy = PayloadStrategy.TRUNCATE;
+
+    public String getFrom() {
+        return from;
+    }
+
+    public void setFrom(String from) {
+        this.from = from;
+    }
+
+    public int getMaxTokens() {
+        return maxTokens;
+    }
+
+    public void setMaxTokens(int maxTokens) {
+        this.maxTokens = maxTokens;
+    }
+
+    public PayloadStrategy getStrategy() {
+        return strategy;
+    }
+
+    public void setStrategy(PayloadStrategy strategy) {
+        this.strategy = strategy;
+    }
+}
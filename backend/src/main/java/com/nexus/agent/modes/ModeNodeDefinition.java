@@ -9,7 +9,18 @@ public class ModeNodeDefinition {
     private String name;
     private String description;
     private String instruction;
+    private String model;
+    private String modelTier;
     private List<String> subAgents = new ArrayList<>();
+    private List<ModeRouteDefinition> routes = new ArrayList<>();
+    private String defaultRoute;
+    private int chunkSize = 6000;
+    private int chunkOverlap = 200;
+    private int maxParallelism = 4;
+    private String waitFor = "all";
+    private Long branchTimeoutMs;
+    private Long timeoutMs;
+    private List<ModeEdgeBudget> inputBudgets = new ArrayList<>();
 
     public ModeNodeKind getKind() {
         return kind;
@@ -50,4 +61,92 @@ public class ModeNodeDefinition {
     public void setSubAgents(List<String> subAgents) {
         this.subAgents = subAgents == null ? new ArrayList<>() : new ArrayList<>(subAgents);
     }
+
+    public List<ModeRouteDefinition> getRoutes() {
+        return routes;
+    }
+
+    public void setRoutes(List<ModeRouteDefinition> routes) {
+        this.routes = routes == null ? new ArrayList<>() : new ArrayList<>(routes);
+    }
+
+    public String getDefaultRoute() {
+        return defaultRoute;
+    }
+
+    public void setDefaultRoute(String defaultRoute) {
+        this.defaultRoute = defaultRoute;
+    }
+
+    public int getChunkSize() {
+        return chunkSize;
+    }
+
+    public void setChunkSize(int chunkSize) {
+        this.chunkSize = chunkSize;
+    }
+
+    public int getChunkOverlap() {
+        return chunkOverlap;
+    }
+
+    public void setChunkOverlap(int chunkOverlap) {
+        this.chunkOverlap = chunkOverlap;
+    }
+
+    public int getMaxParallelism() {
+        return maxParallelism;
+    }
+
+    public void setMaxParallelism(int maxParallelism) {
+        this.maxParallelism = maxParallelism;
+    }
+
+    public String getWaitFor() {
+        return waitFor;
+    }
+
+    public void setWaitFor(String waitFor) {
+        this.waitFor = waitFor;
+    }
+
+    public Long getBranchTimeoutMs() {
+        return branchTimeoutMs;
+    }
+
+    public void setBranchTimeoutMs(Long branchTimeoutMs) {
+        this.branchTimeoutMs = branchTimeoutMs;
+    }
+
+    public Long getTimeoutMs() {
+        return timeoutMs;
+    }
+
+    public void setTimeoutMs(Long timeoutMs) {
+        this.timeoutMs = timeoutMs;
+    }
+
+    public String getModel() {
+        return model;
+    }
+
+    public void setModel(String model) {
+        this.model = model;
+    }
+
+    public String getModelTier() {
+        return modelTier;
+    }
+
+    public void setModelTier(String modelTier) {
+        this.modelTier = modelTier;
+    }
+
+    public List<ModeEdgeBudget> getInputBudgets() {
+        return inputBudgets;
+    }
+
+    public void setInputBudgets(List<ModeEdgeBudget> inputBudgets) {
+        this.inputBudgets = inputBudgets == null ? new ArrayList<>() : new ArrayList<>(inputBudgets);
+    }
 }
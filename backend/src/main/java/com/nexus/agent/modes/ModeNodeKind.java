@@ -3,5 +3,7 @@ package com.nexus.agent.modes;
 public enum ModeNodeKind {
     LLM,
     PARALLEL,
-    SEQUENTIAL
+    SEQUENTIAL,
+    ROUTER,
+    MAP
 }
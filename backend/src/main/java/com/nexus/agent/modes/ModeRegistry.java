@@ -7,14 +7,18 @@ import com.nexus.agent.domain.AgentMode;
 import jakarta.annotation.PostConstruct;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Component;
 
 import java.io.IOException;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
-import java.util.Arrays;
+import java.util.Collection;
 import java.util.EnumMap;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
@@ -22,6 +26,7 @@ import java.util.Objects;
 import java.util.Optional;
 import java.util.Set;
 import java.util.concurrent.atomic.AtomicReference;
+import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
 @Component
@@ -32,11 +37,13 @@ public class ModeRegistry {
     private final ObjectMapper jsonMapper = new ObjectMapper();
     private final ObjectMapper yamlMapper = new ObjectMapper(new YAMLFactory());
     private final Path modeDirectory;
+    private final ApplicationEventPublisher eventPublisher;
 
-    private final AtomicReference<Map<AgentMode, ModeDefinition>> cache = new AtomicReference<>(Map.of());
+    private final AtomicReference<Snapshot> cache = new AtomicReference<>(Snapshot.EMPTY);
 
-    public ModeRegistry(ModeProperties modeProperties) {
+    public ModeRegistry(ModeProperties modeProperties, ApplicationEventPublisher eventPublisher) {
         this.modeDirectory = resolveDirectory(modeProperties.getPath());
+        this.eventPublisher = eventPublisher;
     }
 
     @PostConstruct
@@ -47,47 +54,93 @@ public class ModeRegistry {
     public synchronized Map<AgentMode, ModeDefinition> reload() {
         if (!Files.exists(modeDirectory)) {
             log.warn("Mode directory {} not found, skipping load.", modeDirectory.toAbsolutePath());
-            cache.set(Map.of());
-            return cache.get();
+            cache.set(new Snapshot(cache.get().version() + 1, Map.of(), Map.of()));
+            return cache.get().modes();
         }
 
         try (Stream<Path> files = Files.list(modeDirectory)) {
-            Map<AgentMode, ModeDefinition> loaded = files
+            Map<Path, ModeDefinition> loaded = files
                     .filter(Files::isRegularFile)
                     .filter(this::isSupported)
-                    .map(this::readDefinition)
-                    .filter(Objects::nonNull)
-                    .collect(
-                            () -> new EnumMap<>(AgentMode.class),
-                            (map, definition) -> map.put(definition.getMode(), definition),
-                            Map::putAll
-                    );
-            List<AgentMode> missingModes = Arrays.stream(AgentMode.values())
-                    .filter(mode -> !loaded.containsKey(mode))
-                    .toList();
-            if (!missingModes.isEmpty()) {
-                throw new IllegalStateException("Missing mode definitions for " + missingModes + " in " + modeDirectory.toAbsolutePath());
-            }
-            cache.set(Map.copyOf(loaded));
-            log.info("Loaded {} mode definitions from {}", loaded.size(), modeDirectory.toAbsolutePath());
-            return cache.get();
+                    .collect(Collectors.toMap(path -> path.toAbsolutePath().normalize(), this::readDefinition));
+            Snapshot snapshot = swap(loaded, Set.of(), true);
+            log.info("Loaded {} mode definitions from {} (version {})",
+                    snapshot.modes().size(), modeDirectory.toAbsolutePath(), snapshot.version());
+            return snapshot.modes();
         } catch (IOException e) {
             throw new IllegalStateException("Failed loading mode definitions from " + modeDirectory.toAbsolutePath(), e);
         }
     }
 
+    public synchronized Map<AgentMode, ModeDefinition> reloadFiles(Collection<Path> changedFiles) {
+        Snapshot current = cache.get();
+        Map<Path, ModeDefinition> files = new HashMap<>(current.files());
+        Set<AgentMode> changedModes = EnumSet.noneOf(AgentMode.class);
+
+        for (Path changed : changedFiles) {
+            Path path = changed.toAbsolutePath().normalize();
+            if (!modeDirectory.equals(path.getParent()) || !isSupported(path)) {
+                continue;
+            }
+            ModeDefinition previous = files.remove(path);
+            if (previous != null) {
+                changedModes.add(previous.getMode());
+            }
+            if (Files.isRegularFile(path)) {
+                ModeDefinition definition = readDefinition(path);
+                files.put(path, definition);
+                changedModes.add(definition.getMode());
+            }
+        }
+
+        if (changedModes.isEmpty()) {
+            return current.modes();
+        }
+        Snapshot snapshot = swap(files, changedModes, false);
+        log.info("Reloaded modes {} from {} (version {})", changedModes, modeDirectory.toAbsolutePath(), snapshot.version());
+        return snapshot.modes();
+    }
+
     public Optional<ModeDefinition> find(AgentMode mode) {
-        return Optional.ofNullable(cache.get().get(mode));
+        return Optional.ofNullable(cache.get().modes().get(mode));
     }
 
     public ModeDefinition getRequired(AgentMode mode) {
-        ModeDefinition definition = cache.get().get(mode);
+        ModeDefinition definition = cache.get().modes().get(mode);
         if (definition == null) {
             throw new IllegalStateException("Missing mode definition for " + mode + " in " + modeDirectory.toAbsolutePath());
         }
         return definition;
     }
 
+    public long version() {
+        return cache.get().version();
+    }
+
+    public Path directory() {
+        return modeDirectory;
+    }
+
+    private Snapshot swap(Map<Path, ModeDefinition> files, Set<AgentMode> changedModes, boolean fullReload) {
+        Map<AgentMode, ModeDefinition> modes = new EnumMap<>(AgentMode.class);
+        for (ModeDefinition definition : files.values()) {
+            if (modes.put(definition.getMode(), definition) != null) {
+                throw new IllegalStateException("Duplicate mode definition for " + definition.getMode() + " in " + modeDirectory.toAbsolutePath());
+            }
+        }
+        List<AgentMode> missingModes = AgentMode.concreteModes().stream()
+                .filter(mode -> !modes.containsKey(mode))
+                .toList();
+        if (!missingModes.isEmpty()) {
+            throw new IllegalStateException("Missing mode definitions for " + missingModes + " in " + modeDirectory.toAbsolutePath());
+        }
+
+        Snapshot snapshot = new Snapshot(cache.get().version() + 1, Map.copyOf(files), Map.copyOf(modes));
+        cache.set(snapshot);
+        eventPublisher.publishEvent(new ModesReloadedEvent(snapshot.version(), Set.copyOf(changedModes), fullReload));
+        return snapshot;
+    }
+
     private Path resolveDirectory(String configuredPath) {
         Path configured = Paths.get(configuredPath).normalize().toAbsolutePath();
         Set<Path> candidates = new LinkedHashSet<>();
@@ -140,9 +193,27 @@ public class ModeRegistry {
         if (definition.getMode() == null) {
             throw new IllegalArgumentException("Mode is required: " + path.getFileName());
         }
+        if (definition.getMode().isAuto() || (definition.getFallbackMode() != null && definition.getFallbackMode().isAuto())) {
+            throw new IllegalArgumentException("AUTO is selected per request and cannot be defined in " + path.getFileName());
+        }
         if (definition.getFallbackMode() == definition.getMode()) {
             throw new IllegalArgumentException("fallbackMode cannot equal mode in " + path.getFileName());
         }
+        if (definition.getTimeoutMs() != null && definition.getTimeoutMs() <= 0) {
+            throw new IllegalArgumentException("timeoutMs must be positive in " + path.getFileName());
+        }
+        if (definition.getHedgeAfterMs() != null && definition.getHedgeAfterMs() <= 0) {
+            throw new IllegalArgumentException("hedgeAfterMs must be positive in " + path.getFileName());
+        }
+        if (definition.getMaxTokens() != null && definition.getMaxTokens() <= 0) {
+            throw new IllegalArgumentException("maxTokens must be positive in " + path.getFileName());
+        }
+        if (definition.getMaxLlmCalls() != null && definition.getMaxLlmCalls() <= 0) {
+            throw new IllegalArgumentException("maxLlmCalls must be positive in " + path.getFileName());
+        }
+        if (definition.getHedgeAfterMs() != null && definition.getFallbackMode() == null) {
+            throw new IllegalArgumentException("hedgeAfterMs requires fallbackMode in " + path.getFileName());
+        }
         if (definition.getRoot() == null || definition.getRoot().isBlank()) {
             throw new IllegalArgumentException("Root node is required: " + path.getFileName());
         }
@@ -176,5 +247,99 @@ public class ModeRegistry {
         if (!invalidNodes.isEmpty()) {
             throw new IllegalArgumentException("Invalid node definitions " + invalidNodes + " in " + path.getFileName());
         }
+
+        definition.getNodes().forEach((ref, node) -> {
+            if (node.getTimeoutMs() != null && node.getTimeoutMs() <= 0) {
+                throw new IllegalArgumentException("Node " + ref + " timeoutMs must be positive in " + path.getFileName());
+            }
+            if (node.getKind() == ModeNodeKind.ROUTER) {
+                validateRouter(path, ref, node);
+            }
+            if (node.getKind() == ModeNodeKind.MAP) {
+                validateMap(path, ref, node);
+            }
+            if (node.getKind() == ModeNodeKind.PARALLEL) {
+                validateParallel(path, ref, node);
+            }
+            if (!node.getInputBudgets().isEmpty()) {
+                validateInputBudgets(path, ref, node, definition);
+            }
+        });
+    }
+
+    private void validateRouter(Path path, String ref, ModeNodeDefinition node) {
+        if (node.getSubAgents().isEmpty()) {
+            throw new IllegalArgumentException("Router node " + ref + " requires subAgents in " + path.getFileName());
+        }
+        List<String> unknownTargets = node.getRoutes().stream()
+                .map(ModeRouteDefinition::getTarget)
+                .filter(target -> target == null || !node.getSubAgents().contains(target))
+                .toList();
+        if (!unknownTargets.isEmpty()) {
+            throw new IllegalArgumentException("Router node " + ref + " routes to " + unknownTargets
+                    + " which are not in its subAgents in " + path.getFileName());
+        }
+        if (node.getDefaultRoute() != null && !node.getSubAgents().contains(node.getDefaultRoute())) {
+            throw new IllegalArgumentException("Router node " + ref + " defaultRoute " + node.getDefaultRoute()
+                    + " is not in its subAgents in " + path.getFileName());
+        }
+    }
+
+    private void validateMap(Path path, String ref, ModeNodeDefinition node) {
+        if (node.getSubAgents().size() != 1) {
+            throw new IllegalArgumentException("Map node " + ref + " requires exactly one subAgent in " + path.getFileName());
+        }
+        if (node.getChunkSize() <= 0 || node.getMaxParallelism() <= 0) {
+            throw new IllegalArgumentException("Map node " + ref + " requires positive chunkSize and maxParallelism in "
+                    + path.getFileName());
+        }
+        if (node.getChunkOverlap() < 0 || node.getChunkOverlap() >= node.getChunkSize()) {
+            throw new IllegalArgumentException("Map node " + ref + " chunkOverlap must be in [0, chunkSize) in "
+                    + path.getFileName());
+        }
+    }
+
+    private void validateParallel(Path path, String ref, ModeNodeDefinition node) {
+        ParallelWaitPolicy policy;
+        try {
+            policy = ParallelWaitPolicy.parse(node.getWaitFor());
+        } catch (IllegalArgumentException ex) {
+            throw new IllegalArgumentException("Parallel node " + ref + " in " + path.getFileName() + ": " + ex.getMessage(), ex);
+        }
+        if (!policy.waitsForAll() && policy.required() > node.getSubAgents().size()) {
+            throw new IllegalArgumentException("Parallel node " + ref + " waits for " + policy.required()
+                    + " branches but has " + node.getSubAgents().size() + " subAgents in " + path.getFileName());
+        }
+        if (node.getBranchTimeoutMs() != null && node.getBranchTimeoutMs() <= 0) {
+            throw new IllegalArgumentException("Parallel node " + ref + " branchTimeoutMs must be positive in "
+                    + path.getFileName());
+        }
+    }
+
+    private void validateInputBudgets(Path path, String ref, ModeNodeDefinition node, ModeDefinition definition) {
+        if (node.getKind() != ModeNodeKind.LLM) {
+            throw new IllegalArgumentException("Node " + ref + " declares inputBudgets but only LLM nodes accept them in "
+                    + path.getFileName());
+        }
+        Set<String> seen = new HashSet<>();
+        for (ModeEdgeBudget budget : node.getInputBudgets()) {
+            String from = budget == null ? null : budget.getFrom();
+            if (from == null || (!"*".equals(from) && !definition.getNodes().containsKey(from)) || from.equals(ref)) {
+                throw new IllegalArgumentException("Node " + ref + " has an input budget from unknown node " + from
+                        + " in " + path.getFileName());
+            }
+            if (!seen.add(from)) {
+                throw new IllegalArgumentException("Node " + ref + " has duplicate input budgets from " + from
+                        + " in " + path.getFileName());
+            }
+            if (budget.getMaxTokens() <= 0 || budget.getStrategy() == null) {
+                throw new IllegalArgumentException("Node " + ref + " input budget from " + from
+                        + " requires positive maxTokens and a strategy in " + path.getFileName());
+            }
+        }
+    }
+
+    private record Snapshot(long version, Map<Path, ModeDefinition> files, Map<AgentMode, ModeDefinition> modes) {
+        private static final Snapshot EMPTY = new Snapshot(0, Map.of(), Map.of());
     }
 }
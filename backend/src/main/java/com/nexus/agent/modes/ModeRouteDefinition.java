@@ -0,0 +1,26 @@
+package com.nexus.agent.modes;
+
+import java.util.ArrayList;
+import java.util.List;
+
+public class ModeRouteDefinition {
+
+    private String target;
+    private List<String> keywords = new ArrayList<>();
+
+    public String getTarget() {
+        return target;
+    }
+
+    public void setTarget(String target) {
+        this.target = target;
+    }
+
+    public List<String> getKeywords() {
+        return keywords;
+    }
+
+    public void setKeywords(List<String> keywords) {
+        this.keywords = keywords == null ? new ArrayList<>() : new ArrayList<>(keywords);
+    }
+}
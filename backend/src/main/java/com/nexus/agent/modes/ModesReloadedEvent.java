@@ -0,0 +1,12 @@
+package com.nexus.agent.modes;
+
+import com.nexus.agent.domain.AgentMode;
+
+import java.util.Set;
+
+public record ModesReloadedEvent(long version, Set<AgentMode> changedModes, boolean fullReload) {
+
+    public boolean affects(AgentMode mode) {
+        return fullReload || changedModes.contains(mode);
+    }
+}
@@ -0,0 +1,42 @@
+package com.nexus.agent.modes;
+
+import java.util.Locale;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+public record ParallelWaitPolicy(int required) {
+
+    public static final ParallelWaitPolicy ALL = new ParallelWaitPolicy(0);
+
+    private static final Pattern QUORUM = Pattern.compile("quorum\\(\\s*(\\d+)\\s*\\)");
+
+    public static ParallelWaitPolicy parse(String waitFor) {
+        if (waitFor == null || waitFor.isBlank()) {
+            return ALL;
+        }
+        String normalized = waitFor.trim().toLowerCase(Locale.ROOT);
+        if (normalized.equals("all")) {
+            return ALL;
+        }
+        if (normalized.equals("first")) {
+            return new ParallelWaitPolicy(1);
+        }
+        Matcher matcher = QUORUM.matcher(normalized);
+        if (matcher.matches()) {
+            int required = Integer.parseInt(matcher.group(1));
+            if (required < 1) {
+                throw new IllegalArgumentException("quorum must be at least 1: " + waitFor);
+            }
+            return new ParallelWaitPolicy(required);
+        }
+        throw new IllegalArgumentException("Unsupported waitFor " + waitFor + ", expected all, first or quorum(n)");
+    }
+
+    public boolean waitsForAll() {
+        return required == 0;
+    }
+
+    public int requiredOf(int branches) {
+        return waitsForAll() ? branches : Math.min(required, branches);
+    }
+}
@@ -0,0 +1,7 @@
+package com.nexus.agent.modes;
+
+public enum PayloadStrategy {
+    TRUNCATE,
+    EXTRACTIVE,
+    STRUCTURED
+}
@@ -3,6 +3,7 @@ package com.nexus.agent.persistence;
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.core.type.TypeReference;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.nexus.agent.domain.RunUsage;
 import org.springframework.jdbc.core.JdbcTemplate;
 
 import java.io.IOException;
@@ -22,8 +23,13 @@ public class JdbcChatHistoryStore implements ChatHistoryStore {
               response_message,
               activated_skills_json,
               event_count,
+              prompt_tokens,
+              completion_tokens,
+              cached_tokens,
+              total_tokens,
+              node_usage_json,
               created_at
-            ) VALUES (?, ?, ?, ?, ?, ?, ?, ?)
+            ) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)
             """;
 
     private static final String QUERY_BY_SESSION_SQL = """
@@ -36,6 +42,11 @@ public class JdbcChatHistoryStore implements ChatHistoryStore {
               response_message,
               activated_skills_json,
               event_count,
+              prompt_tokens,
+              completion_tokens,
+              cached_tokens,
+              total_tokens,
+              node_usage_json,
               created_at
             FROM chat_history
             WHERE session_id = ?
@@ -45,6 +56,8 @@ public class JdbcChatHistoryStore implements ChatHistoryStore {
 
     private static final TypeReference<List<String>> STRING_LIST_TYPE = new TypeReference<>() {
     };
+    private static final TypeReference<List<RunUsage.NodeUsage>> NODE_USAGE_LIST_TYPE = new TypeReference<>() {
+    };
 
     private final JdbcTemplate jdbcTemplate;
     private final ObjectMapper objectMapper;
@@ -56,6 +69,7 @@ public class JdbcChatHistoryStore implements ChatHistoryStore {
 
     @Override
     public void save(ChatHistoryRecord record) {
+        RunUsage usage = record.usage() == null ? RunUsage.EMPTY : record.usage();
         jdbcTemplate.update(
                 INSERT_SQL,
                 record.sessionId(),
@@ -65,6 +79,11 @@ public class JdbcChatHistoryStore implements ChatHistoryStore {
                 record.responseMessage(),
                 writeSkills(record.activatedSkills()),
                 record.eventCount(),
+                usage.promptTokens(),
+                usage.completionTokens(),
+                usage.cachedTokens(),
+                usage.totalTokens(),
+                writeNodeUsage(usage.nodes()),
                 record.timestamp().toString()
         );
     }
@@ -84,6 +103,13 @@ public class JdbcChatHistoryStore implements ChatHistoryStore {
                 rs.getString("response_message"),
                 readSkills(rs.getString("activated_skills_json")),
                 rs.getInt("event_count"),
+                new RunUsage(
+                        rs.getInt("prompt_tokens"),
+                        rs.getInt("completion_tokens"),
+                        rs.getInt("cached_tokens"),
+                        rs.getInt("total_tokens"),
+                        readNodeUsage(rs.getString("node_usage_json"))
+                ),
                 Instant.parse(rs.getString("created_at"))
         );
     }
@@ -103,4 +129,23 @@ public class JdbcChatHistoryStore implements ChatHistoryStore {
             throw new IllegalStateException("Failed to deserialize activated skills", ex);
         }
     }
+
+    private String writeNodeUsage(List<RunUsage.NodeUsage> nodes) {
+        try {
+            return objectMapper.writeValueAsString(nodes == null ? List.of() : nodes);
+        } catch (JsonProcessingException ex) {
+            throw new IllegalStateException("Failed to serialize node usage", ex);
+        }
+    }
+
+    private List<RunUsage.NodeUsage> readNodeUsage(String value) {
+        if (value == null || value.isBlank()) {
+            return List.of();
+        }
+        try {
+            return objectMapper.readValue(value, NODE_USAGE_LIST_TYPE);
+        } catch (IOException ex) {
+            throw new IllegalStateException("Failed to deserialize node usage", ex);
+        }
+    }
 }
@@ -10,11 +10,28 @@ import org.springframework.stereotype.Component;
 
 import javax.sql.DataSource;
 import java.sql.Connection;
+import java.sql.ResultSet;
 import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
 
 @Component
 public class SqliteSchemaInitializer implements ApplicationRunner {
 
+    // Columns added after v1; CREATE TABLE IF NOT EXISTS leaves databases created by an older schema without them.
+    private static final Map<String, String> CHAT_HISTORY_V2_COLUMNS = new LinkedHashMap<>();
+
+    static {
+        CHAT_HISTORY_V2_COLUMNS.put("prompt_tokens", "INTEGER NOT NULL DEFAULT 0");
+        CHAT_HISTORY_V2_COLUMNS.put("completion_tokens", "INTEGER NOT NULL DEFAULT 0");
+        CHAT_HISTORY_V2_COLUMNS.put("cached_tokens", "INTEGER NOT NULL DEFAULT 0");
+        CHAT_HISTORY_V2_COLUMNS.put("total_tokens", "INTEGER NOT NULL DEFAULT 0");
+        CHAT_HISTORY_V2_COLUMNS.put("node_usage_json", "TEXT NOT NULL DEFAULT '[]'");
+    }
+
     private final DataSource dataSource;
     private final PersistenceProperties persistenceProperties;
 
@@ -31,8 +48,26 @@ public class SqliteSchemaInitializer implements ApplicationRunner {
 
         try (Connection connection = dataSource.getConnection()) {
             ScriptUtils.executeSqlScript(connection, new ClassPathResource("sql/schema-sqlite.sql"));
+            addMissingColumns(connection, "chat_history", CHAT_HISTORY_V2_COLUMNS);
         } catch (SQLException ex) {
             throw new IllegalStateException("Failed to initialize SQLite schema", ex);
         }
     }
+
+    private void addMissingColumns(Connection connection, String table, Map<String, String> columns) throws SQLException {
+        Set<String> existing = new HashSet<>();
+        try (Statement statement = connection.createStatement();
+             ResultSet rs = statement.executeQuery("PRAGMA table_info(" + table + ")")) {
+            while (rs.next()) {
+                existing.add(rs.getString("name"));
+            }
+        }
+        for (Map.Entry<String, String> column : columns.entrySet()) {
+            if (!existing.contains(column.getKey())) {
+                try (Statement statement = connection.createStatement()) {
+                    statement.execute("ALTER TABLE " + table + " ADD COLUMN " + column.getKey() + " " + column.getValue());
+                }
+            }
+        }
+    }
 }
@@ -1,18 +1,14 @@
 package com.nexus.agent.service;
 
 import com.fasterxml.jackson.databind.JsonNode;
-import com.google.adk.agents.BaseAgent;
-import com.google.adk.agents.RunConfig;
 import com.google.adk.events.Event;
-import com.google.adk.runner.Runner;
-import com.google.adk.sessions.BaseSessionService;
-import com.google.adk.sessions.Session;
 import com.google.genai.types.Content;
 import com.google.genai.types.Part;
 import com.nexus.agent.api.dto.agui.AgUiMessage;
 import com.nexus.agent.api.dto.agui.AgUiRunRequest;
 import com.nexus.agent.config.AdkProperties;
 import com.nexus.agent.domain.AgentMode;
+import com.nexus.agent.llm.RunBudget;
 import com.nexus.agent.persistence.ChatHistoryRecord;
 import com.nexus.agent.persistence.ChatHistoryStore;
 import com.nexus.agent.skills.SkillDefinition;
@@ -22,13 +18,12 @@ import org.springframework.stereotype.Service;
 import java.time.Instant;
 import java.util.ArrayList;
 import java.util.Base64;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Locale;
 import java.util.Map;
-import java.util.Optional;
 import java.util.Set;
 import java.util.UUID;
-import java.util.concurrent.ConcurrentHashMap;
 import java.util.function.Consumer;
 import java.util.stream.Collectors;
 
@@ -36,21 +31,21 @@ import java.util.stream.Collectors;
 public class AgUiProtocolService {
 
     private final AdkProperties adkProperties;
-    private final AgentTopologyFactory topologyFactory;
+    private final AgentRunExecutor runExecutor;
+    private final ModeSelector modeSelector;
     private final SkillRegistry skillRegistry;
     private final ChatHistoryStore chatHistoryStore;
-    private final BaseSessionService sessionService;
 
     public AgUiProtocolService(AdkProperties adkProperties,
-                               AgentTopologyFactory topologyFactory,
+                               AgentRunExecutor runExecutor,
+                               ModeSelector modeSelector,
                                SkillRegistry skillRegistry,
-                               ChatHistoryStore chatHistoryStore,
-                               BaseSessionService sessionService) {
+                               ChatHistoryStore chatHistoryStore) {
         this.adkProperties = adkProperties;
-        this.topologyFactory = topologyFactory;
+        this.runExecutor = runExecutor;
+        this.modeSelector = modeSelector;
         this.skillRegistry = skillRegistry;
         this.chatHistoryStore = chatHistoryStore;
-        this.sessionService = sessionService;
     }
 
     public AgUiRunResult run(AgUiRunRequest request,
@@ -58,7 +53,7 @@ public class AgUiProtocolService {
                              Consumer<String> deltaSink) {
         Map<String, Object> props = request.forwardedProps() == null ? Map.of() : request.forwardedProps();
 
-        AgentMode mode = AgentMode.from(readString(props, "mode"));
+        AgentMode requestedMode = AgentMode.from(readString(props, "mode"));
         String model = readString(props, "model");
         String userId = hasText(readString(props, "userId"))
                 ? readString(props, "userId").trim()
@@ -74,34 +69,43 @@ public class AgUiProtocolService {
 
         Set<String> requiredSkills = normalizeSkillNames(readStringList(props, "skillNames"));
         ParsedUserMessage userMessage = parseLatestUserMessage(request.messages());
+        AgentMode mode = modeSelector.select(requestedMode, userMessage.persistenceText());
 
-        List<SkillDefinition> activeSkills = skillRegistry.resolve(mode, requiredSkills);
-        BaseAgent root = topologyFactory.create(mode, activeSkills, model, llmBaseUrl, llmApiKey);
-        Runner runner = Runner.builder()
-                .agent(root)
-                .appName(adkProperties.getAppName())
-                .sessionService(sessionService)
-                .build();
-        ensureSessionExists(userId, sessionId);
-
-        List<Event> events = new ArrayList<>();
+        List<SkillDefinition> activeSkills = skillRegistry.resolve(
+                mode,
+                requiredSkills,
+                userMessage.persistenceText(),
+                readString(props, "skillSelection")
+        );
         StringBuilder streamedText = new StringBuilder();
+        RunOutcome outcome = runExecutor.execute(new RunSpec(
+                mode,
+                activeSkills,
+                model,
+                readStringMap(props, "nodeModels"),
+                llmBaseUrl,
+                llmApiKey,
+                userId,
+                sessionId,
+                userMessage.content(),
+                readLong(props, "timeoutMs"),
+                readLong(props, "maxTokens"),
+                readInteger(props, "maxLlmCalls"),
+                readBoolean(props, "cache")
+        ), event -> {
+            String text = readText(event);
+            if (!hasText(text)) {
+                return;
+            }
+            String delta = toDelta(streamedText.toString(), text);
+            if (hasText(delta)) {
+                streamedText.append(delta);
+                deltaSink.accept(delta);
+            }
+        });
+        List<Event> events = outcome.events();
 
-        runner.runAsync(userId, sessionId, userMessage.content(), RunConfig.builder().build())
-                .blockingForEach(event -> {
-                    events.add(event);
-                    String text = readText(event);
-                    if (!hasText(text)) {
-                        return;
-                    }
-                    String delta = toDelta(streamedText.toString(), text);
-                    if (hasText(delta)) {
-                        streamedText.append(delta);
-                        deltaSink.accept(delta);
-                    }
-                });
-
-        String response = extractResponse(events);
+        String response = extractResponse(events, outcome);
         if (!hasText(streamedText.toString()) && hasText(response)) {
             deltaSink.accept(response);
         }
@@ -118,16 +122,25 @@ public class AgUiProtocolService {
                 response,
                 activeSkillNames,
                 events.size(),
+                outcome.usage(),
                 timestamp
         ));
 
         return new AgUiRunResult(
                 sessionId,
                 mode.name(),
+                outcome.servedMode().name(),
                 response,
                 activeSkillNames,
                 events.size(),
-                timestamp
+                timestamp,
+                outcome.timeoutMs(),
+                outcome.deadlineExceeded(),
+                outcome.expiredNodes(),
+                outcome.payloadEdges(),
+                outcome.cached(),
+                outcome.usage(),
+                outcome.budget()
         );
     }
 
@@ -266,7 +279,7 @@ public class AgUiProtocolService {
         persistenceChunks.add(normalized);
     }
 
-    private String extractResponse(List<Event> events) {
+    private String extractResponse(List<Event> events, RunOutcome outcome) {
         String finalText = events.stream()
                 .filter(Event::finalResponse)
                 .map(this::readText)
@@ -286,6 +299,14 @@ public class AgUiProtocolService {
             return fallback;
         }
 
+        if (outcome.budget().exceeded()) {
+            return RunBudget.LIMIT_LLM_CALLS.equals(outcome.budget().exceededLimit())
+                    ? "The run reached its limit of " + outcome.budget().maxLlmCalls() + " LLM calls before producing a response."
+                    : "The run exceeded its budget of " + outcome.budget().maxTokens() + " tokens before producing a response.";
+        }
+        if (outcome.deadlineExceeded()) {
+            return "The run exceeded its deadline of " + outcome.timeoutMs() + " ms before producing a response.";
+        }
         return "No textual response was produced. Check ADK event stream for tool outputs or structured payloads.";
     }
 
@@ -332,6 +353,20 @@ public class AgUiProtocolService {
         return List.of();
     }
 
+    private Map<String, String> readStringMap(Map<String, Object> source, String key) {
+        Object value = source.get(key);
+        if (!(value instanceof Map<?, ?> values)) {
+            return Map.of();
+        }
+        Map<String, String> result = new LinkedHashMap<>();
+        values.forEach((name, item) -> {
+            if (name != null && item != null && hasText(String.valueOf(item))) {
+                result.put(String.valueOf(name), String.valueOf(item));
+            }
+        });
+        return result;
+    }
+
     private String readString(Map<String, Object> source, String key) {
         Object value = source.get(key);
         if (value == null) {
@@ -341,6 +376,48 @@ public class AgUiProtocolService {
         return hasText(text) ? text : null;
     }
 
+    private Boolean readBoolean(Map<String, Object> source, String key) {
+        Object value = source.get(key);
+        if (value == null) {
+            return null;
+        }
+        if (value instanceof Boolean bool) {
+            return bool;
+        }
+        String text = String.valueOf(value).trim();
+        return text.isEmpty() ? null : Boolean.parseBoolean(text);
+    }
+
+    private Long readLong(Map<String, Object> source, String key) {
+        Object value = source.get(key);
+        if (value == null) {
+            return null;
+        }
+        if (value instanceof Number number) {
+            return number.longValue();
+        }
+        String text = String.valueOf(value).trim();
+        if (text.isEmpty()) {
+            return null;
+        }
+        try {
+            return Long.parseLong(text);
+        } catch (NumberFormatException ex) {
+            throw new IllegalArgumentException(key + " must be a number", ex);
+        }
+    }
+
+    private Integer readInteger(Map<String, Object> source, String key) {
+        Long value = readLong(source, key);
+        if (value == null) {
+            return null;
+        }
+        if (value > Integer.MAX_VALUE || value < Integer.MIN_VALUE) {
+            throw new IllegalArgumentException(key + " is out of range");
+        }
+        return value.intValue();
+    }
+
     private String readNodeText(JsonNode source, String field) {
         JsonNode node = source.get(field);
         if (node == null || node.isNull() || node.isContainerNode()) {
@@ -366,21 +443,6 @@ public class AgUiProtocolService {
         return value != null && !value.isBlank();
     }
 
-    private void ensureSessionExists(String userId, String sessionId) {
-        Session existing = sessionService
-                .getSession(adkProperties.getAppName(), userId, sessionId, Optional.empty())
-                .blockingGet();
-        if (existing != null) {
-            return;
-        }
-        sessionService.createSession(
-                adkProperties.getAppName(),
-                userId,
-                new ConcurrentHashMap<>(),
-                sessionId
-        ).blockingGet();
-    }
-
     private record ParsedUserMessage(Content content, String persistenceText) {
     }
 }
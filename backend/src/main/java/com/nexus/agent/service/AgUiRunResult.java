@@ -1,14 +1,26 @@
 package com.nexus.agent.service;
 
+import com.nexus.agent.domain.RunUsage;
+import com.nexus.agent.llm.PayloadLedger;
+import com.nexus.agent.llm.RunBudget;
+
 import java.time.Instant;
 import java.util.List;
 
 public record AgUiRunResult(
         String sessionId,
         String mode,
+        String servedMode,
         String response,
         List<String> activatedSkills,
         int eventCount,
-        Instant timestamp
+        Instant timestamp,
+        long timeoutMs,
+        boolean deadlineExceeded,
+        List<String> expiredNodes,
+        List<PayloadLedger.EdgeUsage> payloadEdges,
+        boolean cached,
+        RunUsage usage,
+        RunBudget.Report budget
 ) {
 }
@@ -1,9 +1,6 @@
 package com.nexus.agent.service;
 
-import com.google.adk.agents.BaseAgent;
-import com.google.adk.agents.RunConfig;
 import com.google.adk.events.Event;
-import com.google.adk.runner.Runner;
 import com.google.genai.types.Content;
 import com.google.genai.types.Part;
 import com.nexus.agent.api.dto.ChatRequest;
@@ -11,72 +8,75 @@ import com.nexus.agent.api.dto.ChatResponse;
 import com.nexus.agent.config.AdkProperties;
 import com.nexus.agent.config.PersistenceProperties;
 import com.nexus.agent.domain.AgentMode;
+import com.nexus.agent.llm.RunBudget;
 import com.nexus.agent.persistence.ChatHistoryRecord;
 import com.nexus.agent.persistence.ChatHistoryStore;
 import com.nexus.agent.skills.SkillDefinition;
 import com.nexus.agent.skills.SkillRegistry;
-import com.google.adk.sessions.BaseSessionService;
-import com.google.adk.sessions.Session;
 import org.springframework.stereotype.Service;
 
 import java.time.Instant;
 import java.util.List;
 import java.util.Locale;
-import java.util.Optional;
+import java.util.Map;
 import java.util.Set;
 import java.util.UUID;
-import java.util.concurrent.ConcurrentHashMap;
 import java.util.stream.Collectors;
 
 @Service
 public class AgentOrchestratorService {
 
     private final AdkProperties adkProperties;
-    private final AgentTopologyFactory topologyFactory;
+    private final AgentRunExecutor runExecutor;
+    private final ModeSelector modeSelector;
     private final SkillRegistry skillRegistry;
     private final ChatHistoryStore chatHistoryStore;
     private final PersistenceProperties persistenceProperties;
-    private final BaseSessionService sessionService;
 
     public AgentOrchestratorService(AdkProperties adkProperties,
-                                    AgentTopologyFactory topologyFactory,
+                                    AgentRunExecutor runExecutor,
+                                    ModeSelector modeSelector,
                                     SkillRegistry skillRegistry,
                                     ChatHistoryStore chatHistoryStore,
-                                    PersistenceProperties persistenceProperties,
-                                    BaseSessionService sessionService) {
+                                    PersistenceProperties persistenceProperties) {
         this.adkProperties = adkProperties;
-        this.topologyFactory = topologyFactory;
+        this.runExecutor = runExecutor;
+        this.modeSelector = modeSelector;
         this.skillRegistry = skillRegistry;
         this.chatHistoryStore = chatHistoryStore;
         this.persistenceProperties = persistenceProperties;
-        this.sessionService = sessionService;
     }
 
     public ChatResponse chat(ChatRequest request) {
-        AgentMode mode = AgentMode.from(request.mode());
+        AgentMode mode = modeSelector.select(AgentMode.from(request.mode()), request.message());
         Set<String> requiredSkills = normalizeSkillNames(request.skillNames());
 
-        List<SkillDefinition> activeSkills = skillRegistry.resolve(mode, requiredSkills);
-        BaseAgent root = topologyFactory.create(mode, activeSkills);
-
-        Runner runner = Runner.builder()
-                .agent(root)
-                .appName(adkProperties.getAppName())
-                .sessionService(sessionService)
-                .build();
+        List<SkillDefinition> activeSkills = skillRegistry.resolve(mode, requiredSkills, request.message(), request.skillSelection());
 
         String userId = hasText(request.userId()) ? request.userId() : adkProperties.getDefaultUserId();
         String sessionId = hasText(request.sessionId())
                 ? request.sessionId()
                 : adkProperties.getDefaultSessionPrefix() + "-" + UUID.randomUUID();
-        ensureSessionExists(userId, sessionId);
 
         Content userMessage = Content.fromParts(Part.fromText(request.message()));
-        List<Event> events = runner.runAsync(userId, sessionId, userMessage, RunConfig.builder().build())
-                .toList()
-                .blockingGet();
+        RunOutcome outcome = runExecutor.execute(new RunSpec(
+                mode,
+                activeSkills,
+                null,
+                Map.of(),
+                null,
+                null,
+                userId,
+                sessionId,
+                userMessage,
+                request.timeoutMs(),
+                request.maxTokens(),
+                request.maxLlmCalls(),
+                request.cache()
+        ));
+        List<Event> events = outcome.events();
 
-        String response = extractResponse(events);
+        String response = extractResponse(events, outcome);
         List<String> skillNames = activeSkills.stream().map(SkillDefinition::getName).toList();
         Instant timestamp = Instant.now();
 
@@ -89,16 +89,24 @@ public class AgentOrchestratorService {
                 response,
                 skillNames,
                 events.size(),
+                outcome.usage(),
                 timestamp
         ));
 
         return new ChatResponse(
                 mode.name(),
+                outcome.servedMode().name(),
                 sessionId,
                 response,
                 skillNames,
                 events.size(),
-                timestamp
+                timestamp,
+                outcome.deadlineExceeded(),
+                outcome.expiredNodes(),
+                outcome.payloadEdges(),
+                outcome.cached(),
+                outcome.usage(),
+                outcome.budget()
         );
     }
 
@@ -120,7 +128,7 @@ public class AgentOrchestratorService {
                 .collect(Collectors.toSet());
     }
 
-    private String extractResponse(List<Event> events) {
+    private String extractResponse(List<Event> events, RunOutcome outcome) {
         String finalText = events.stream()
                 .filter(Event::finalResponse)
                 .map(this::readText)
@@ -140,6 +148,14 @@ public class AgentOrchestratorService {
             return fallback;
         }
 
+        if (outcome.budget().exceeded()) {
+            return RunBudget.LIMIT_LLM_CALLS.equals(outcome.budget().exceededLimit())
+                    ? "The run reached its limit of " + outcome.budget().maxLlmCalls() + " LLM calls before producing a response."
+                    : "The run exceeded its budget of " + outcome.budget().maxTokens() + " tokens before producing a response.";
+        }
+        if (outcome.deadlineExceeded()) {
+            return "The run exceeded its deadline of " + outcome.timeoutMs() + " ms before producing a response.";
+        }
         return "No textual response was produced. Check ADK event stream for tool outputs or structured payloads.";
     }
 
@@ -162,19 +178,4 @@ public class AgentOrchestratorService {
         }
         return Math.min(limit, maxLimit);
     }
-
-    private void ensureSessionExists(String userId, String sessionId) {
-        Session existing = sessionService
-                .getSession(adkProperties.getAppName(), userId, sessionId, Optional.empty())
-                .blockingGet();
-        if (existing != null) {
-            return;
-        }
-        sessionService.createSession(
-                adkProperties.getAppName(),
-                userId,
-                new ConcurrentHashMap<>(),
-                sessionId
-        ).blockingGet();
-    }
 }
@@ -0,0 +1,583 @@
+package com.nexus.agent.service;
+
+import com.google.adk.agents.BaseAgent;
+import com.google.adk.agents.RunConfig;
+import com.google.adk.events.Event;
+import com.google.adk.runner.Runner;
+import com.google.adk.sessions.BaseSessionService;
+import com.google.adk.sessions.Session;
+import com.google.genai.types.Content;
+import com.google.genai.types.Part;
+import com.nexus.agent.agents.RunDeadline;
+import com.nexus.agent.config.AdkProperties;
+import com.nexus.agent.domain.AgentMode;
+import com.nexus.agent.domain.RunUsage;
+import com.nexus.agent.llm.PayloadLedger;
+import com.nexus.agent.llm.RunBudget;
+import com.nexus.agent.modes.ModeDefinition;
+import com.nexus.agent.modes.ModeRegistry;
+import com.nexus.agent.skills.SkillRegistry;
+import io.reactivex.rxjava3.core.Flowable;
+import io.reactivex.rxjava3.disposables.Disposable;
+import io.reactivex.rxjava3.schedulers.Schedulers;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.TreeMap;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+
+@Component
+public class AgentRunExecutor {
+
+    private static final Logger log = LoggerFactory.getLogger(AgentRunExecutor.class);
+
+    private final AdkProperties adkProperties;
+    private final AgentTopologyFactory topologyFactory;
+    private final ModeRegistry modeRegistry;
+    private final BaseSessionService sessionService;
+    private final RunMetrics runMetrics;
+    private final ResponseCache responseCache;
+    private final ModeSelector modeSelector;
+    private final SingleFlight singleFlight = new SingleFlight();
+
+    public AgentRunExecutor(AdkProperties adkProperties,
+                            AgentTopologyFactory topologyFactory,
+                            ModeRegistry modeRegistry,
+                            BaseSessionService sessionService,
+                            RunMetrics runMetrics,
+                            ResponseCache responseCache,
+                            ModeSelector modeSelector) {
+        this.adkProperties = adkProperties;
+        this.topologyFactory = topologyFactory;
+        this.modeRegistry = modeRegistry;
+        this.sessionService = sessionService;
+        this.runMetrics = runMetrics;
+        this.responseCache = responseCache;
+        this.modeSelector = modeSelector;
+    }
+
+    @PreDestroy
+    public void close() {
+        singleFlight.close();
+    }
+
+    public RunOutcome execute(RunSpec spec) {
+        return execute(spec, event -> {
+        });
+    }
+
+    public RunOutcome execute(RunSpec spec, Consumer<Event> eventSink) {
+        // Only runs on a session created by this request are coalesced: such a run reads no prior session state and
+        // writes to a session nobody else uses, so an identical concurrent request of the same user can share its
+        // result. Other users never share a run.
+        boolean newSession = ensureSessionExists(spec.userId(), spec.sessionId());
+        String flightKey = newSession && adkProperties.isCoalesceStatelessRuns()
+                ? requestKey(spec, "single-flight|" + spec.userId())
+                : null;
+        if (flightKey == null) {
+            return executeOnce(spec, eventSink);
+        }
+
+        SingleFlight.Joined joined = singleFlight.join(flightKey, eventSink, sink -> executeOnce(spec, sink));
+        if (joined.leader()) {
+            return joined.outcome();
+        }
+        // The follower's own session gets the same turn, so it can be continued like any other.
+        runMetrics.increment("single-flight.coalesced");
+        appendTurn(spec, "coalesced-" + UUID.randomUUID(), joined.outcome().events().stream()
+                .filter(event -> !event.partial().orElse(false))
+                .map(event -> event.toBuilder().id(Event.generateEventId()).build())
+                .toList());
+        return joined.outcome();
+    }
+
+    private RunOutcome executeOnce(RunSpec spec, Consumer<Event> eventSink) {
+        Optional<ModeDefinition> definition = modeRegistry.find(spec.mode());
+        RunDeadline runDeadline = RunDeadline.after(resolveTimeout(definition, spec.timeoutMs()));
+        RunBudget runBudget = resolveBudget(definition, spec);
+
+        String cacheKey = responseCacheKey(spec);
+        if (cacheKey != null) {
+            Optional<ResponseCache.CachedResponse> cached = responseCache.get(cacheKey);
+            if (cached.isPresent()) {
+                return replay(spec, cached.get(), runDeadline, runBudget, eventSink);
+            }
+        }
+
+        PayloadLedger payloadLedger = new PayloadLedger();
+        UsageLedger usageLedger = new UsageLedger();
+        Runner runner = runner(spec, spec.mode(), runDeadline, payloadLedger, usageLedger, runBudget);
+
+        AtomicReference<AgentMode> servedMode = new AtomicReference<>(spec.mode());
+        Flowable<Event> run = definition
+                .filter(mode -> mode.getHedgeAfterMs() != null && mode.getFallbackMode() != null)
+                .map(mode -> hedged(spec, runner, mode.getFallbackMode(), mode.getHedgeAfterMs(), runDeadline, payloadLedger, usageLedger, runBudget, servedMode))
+                .orElseGet(() -> runner.runAsync(spec.userId(), spec.sessionId(), spec.message(), RunConfig.builder().build()));
+
+        List<Event> events = new ArrayList<>();
+        AtomicBoolean deadlineExceeded = new AtomicBoolean();
+        long started = System.currentTimeMillis();
+        String modeKey = "run." + metricName(spec.mode());
+        try {
+            // Ending the stream at the deadline or when the budget trips cancels whatever is still running and
+            // leaves the events that arrived.
+            run.takeUntil(runBudget.exceeded().toFlowable())
+                    .takeUntil(Flowable.timer(runDeadline.remainingMillis(), TimeUnit.MILLISECONDS)
+                            .doOnNext(ignored -> deadlineExceeded.set(true)))
+                    .blockingForEach(event -> {
+                        events.add(event);
+                        usageLedger.record(event);
+                        eventSink.accept(event);
+                    });
+        } catch (RuntimeException ex) {
+            long elapsed = System.currentTimeMillis() - started;
+            runMetrics.increment(modeKey + ".errors");
+            runMetrics.recordLatency(modeKey, elapsed);
+            modeSelector.record(spec.mode(), elapsed, true);
+            throw ex;
+        }
+
+        long elapsed = System.currentTimeMillis() - started;
+        runMetrics.increment(modeKey + ".ok");
+        runMetrics.recordLatency(modeKey, elapsed);
+        if (deadlineExceeded.get()) {
+            runMetrics.increment(modeKey + ".deadline-exceeded");
+            log.warn("Run for mode {} exceeded its deadline of {} ms after {} events",
+                    spec.mode(), runDeadline.timeoutMs(), events.size());
+        }
+        RunBudget.Report budget = runBudget.report();
+        if (budget.exceeded()) {
+            runMetrics.increment(modeKey + ".budget-exceeded");
+            runMetrics.increment(modeKey + ".budget-exceeded." + budget.exceededLimit());
+            log.warn("Run for mode {} exceeded its {} budget after {} tokens and {} LLM calls",
+                    spec.mode(), budget.exceededLimit(), budget.tokens(), budget.llmCalls());
+        }
+        RunUsage usage = usageLedger.snapshot();
+        recordUsage(spec.mode(), usage);
+        RunOutcome outcome = new RunOutcome(
+                List.copyOf(events),
+                servedMode.get(),
+                runDeadline.timeoutMs(),
+                deadlineExceeded.get(),
+                runDeadline.expiredNodes(),
+                payloadLedger.edges(),
+                false,
+                usage,
+                budget
+        );
+        modeSelector.record(spec.mode(), elapsed, outcome.degraded());
+        if (cacheKey != null && !outcome.degraded()) {
+            storeResponse(cacheKey, outcome);
+        }
+        return outcome;
+    }
+
+    // Null when the run must not use the response cache: disabled (globally or per request) or non-text input.
+    // The session fingerprint makes a cached answer valid only for the same user and conversation history.
+    private String responseCacheKey(RunSpec spec) {
+        boolean enabled = spec.responseCache() != null ? spec.responseCache() : responseCache.enabled();
+        if (!enabled) {
+            return null;
+        }
+        String sessionFingerprint = responseCache.key(sessionEvents(spec.userId(), spec.sessionId()).stream()
+                .map(this::contentFingerprint)
+                .toArray(String[]::new));
+        return requestKey(spec, spec.userId() + "|" + sessionFingerprint);
+    }
+
+    // Author, role and text of an event, so sessions with the same conversation share a fingerprint whatever their
+    // event ids; events without text (tool calls and results) fall back to their full content.
+    private String contentFingerprint(Event event) {
+        String role = event.content().flatMap(Content::role).orElse("");
+        String text = event.content().map(Content::text).filter(value -> !value.isEmpty()).orElseGet(event::stringifyContent);
+        return event.author() + ":" + role + ":" + text;
+    }
+
+    // Identity of a run's inputs; null for messages with non-text parts, which are never shared between requests.
+    private String requestKey(RunSpec spec, String scope) {
+        if (spec.message() == null) {
+            return null;
+        }
+        List<Part> parts = spec.message().parts().orElse(List.of());
+        boolean textOnly = !parts.isEmpty() && parts.stream()
+                .allMatch(part -> part.text().isPresent() && part.inlineData().isEmpty() && part.fileData().isEmpty());
+        if (!textOnly) {
+            return null;
+        }
+        String message = parts.stream()
+                .map(part -> part.text().orElse(""))
+                .collect(Collectors.joining("\n"))
+                .trim()
+                .replaceAll("\\s+", " ");
+        return responseCache.key(
+                scope,
+                spec.mode().name(),
+                SkillRegistry.fingerprint(spec.activeSkills()),
+                spec.model(),
+                new TreeMap<>(spec.nodeModels() == null ? Map.of() : spec.nodeModels()).toString(),
+                spec.llmBaseUrl(),
+                spec.llmApiKey() == null ? null : responseCache.key(spec.llmApiKey()),
+                spec.timeoutMs() == null ? null : spec.timeoutMs().toString(),
+                spec.maxTokens() == null ? null : spec.maxTokens().toString(),
+                spec.maxLlmCalls() == null ? null : spec.maxLlmCalls().toString(),
+                message
+        );
+    }
+
+    private void storeResponse(String cacheKey, RunOutcome outcome) {
+        List<ResponseCache.CachedEvent> cachedEvents = new ArrayList<>();
+        for (Event event : outcome.events()) {
+            if (event.partial().orElse(false)) {
+                continue;
+            }
+            String text = event.content().map(Content::text).orElse(null);
+            if (text != null && !text.isBlank()) {
+                cachedEvents.add(new ResponseCache.CachedEvent(event.author(), text));
+            }
+        }
+        if (!cachedEvents.isEmpty()) {
+            responseCache.put(cacheKey, new ResponseCache.CachedResponse(outcome.servedMode().name(), cachedEvents));
+        }
+    }
+
+    // A hit is recorded in the session like a real turn, so follow-up messages see the same history, and its
+    // events go through the same sink so AG-UI clients receive an ordinary event stream.
+    private RunOutcome replay(RunSpec spec,
+                              ResponseCache.CachedResponse cached,
+                              RunDeadline runDeadline,
+                              RunBudget runBudget,
+                              Consumer<Event> eventSink) {
+        String invocationId = "cached-" + UUID.randomUUID();
+        List<Event> events = cached.events().stream()
+                .map(cachedEvent -> Event.builder()
+                        .id(Event.generateEventId())
+                        .invocationId(invocationId)
+                        .author(cachedEvent.author())
+                        .content(Content.builder().role("model").parts(List.of(Part.fromText(cachedEvent.text()))).build())
+                        .build())
+                .toList();
+        appendTurn(spec, invocationId, events);
+        events.forEach(eventSink);
+        return new RunOutcome(
+                List.copyOf(events),
+                AgentMode.from(cached.servedMode()),
+                runDeadline.timeoutMs(),
+                false,
+                List.of(),
+                List.of(),
+                true,
+                RunUsage.EMPTY,
+                runBudget.report()
+        );
+    }
+
+    private void appendTurn(RunSpec spec, String invocationId, List<Event> events) {
+        Session session = sessionService
+                .getSession(adkProperties.getAppName(), spec.userId(), spec.sessionId(), Optional.empty())
+                .blockingGet();
+        sessionService.appendEvent(session, Event.builder()
+                .id(Event.generateEventId())
+                .invocationId(invocationId)
+                .author("user")
+                .content(spec.message())
+                .build()).blockingGet();
+        for (Event event : events) {
+            sessionService.appendEvent(session, event).blockingGet();
+        }
+    }
+
+    // Both modes run on scratch copies of the session, so only the answering mode ever reaches the user's session.
+    // The primary streams live while it is on time. If it has produced nothing after hedgeAfterMs, or fails before
+    // producing anything, the fallback mode starts too; the first leg to emit is streamed from then on and the other
+    // is cancelled. The user message and the streamed leg's final events are appended to the real session as they
+    // flow, so a run cut short still leaves its partial turn there.
+    private Flowable<Event> hedged(RunSpec spec,
+                                   Runner primaryRunner,
+                                   AgentMode fallbackMode,
+                                   long hedgeAfterMs,
+                                   RunDeadline runDeadline,
+                                   PayloadLedger payloadLedger,
+                                   UsageLedger usageLedger,
+                                   RunBudget runBudget,
+                                   AtomicReference<AgentMode> servedMode) {
+        return Flowable.defer(() -> {
+            HedgeRace race = new HedgeRace(
+                    spec,
+                    fallbackMode,
+                    sessionEvents(spec.userId(), spec.sessionId()),
+                    runDeadline,
+                    payloadLedger,
+                    usageLedger,
+                    runBudget,
+                    servedMode
+            );
+            AtomicBoolean outputSeen = new AtomicBoolean();
+            Flowable<Event> primary = race.primary(primaryRunner)
+                    .doOnNext(event -> outputSeen.set(true));
+
+            return primary
+                    .timeout(Flowable.timer(hedgeAfterMs, TimeUnit.MILLISECONDS),
+                            event -> Flowable.never(),
+                            Flowable.defer(() -> race.start("slow")))
+                    .onErrorResumeNext(error -> {
+                        if (outputSeen.get() || race.started()) {
+                            return Flowable.error(error);
+                        }
+                        log.warn("Mode {} failed before producing output, hedging with {}", spec.mode(), fallbackMode, error);
+                        return race.start("error");
+                    })
+                    .doOnNext(race::appendToSession)
+                    .doFinally(race::close);
+        });
+    }
+
+    private Runner runner(RunSpec spec,
+                          AgentMode mode,
+                          RunDeadline runDeadline,
+                          PayloadLedger payloadLedger,
+                          UsageLedger usageLedger,
+                          RunBudget runBudget) {
+        BaseAgent root = topologyFactory.create(
+                mode,
+                spec.activeSkills(),
+                spec.model(),
+                spec.nodeModels(),
+                spec.llmBaseUrl(),
+                spec.llmApiKey(),
+                runDeadline,
+                payloadLedger,
+                usageLedger,
+                runBudget,
+                spec.userId()
+        );
+        return Runner.builder()
+                .agent(root)
+                .appName(adkProperties.getAppName())
+                .sessionService(sessionService)
+                .build();
+    }
+
+    private long resolveTimeout(Optional<ModeDefinition> definition, Long requestedTimeoutMs) {
+        if (requestedTimeoutMs != null) {
+            if (requestedTimeoutMs <= 0) {
+                throw new IllegalArgumentException("timeoutMs must be greater than 0");
+            }
+            return requestedTimeoutMs;
+        }
+        return definition
+                .map(ModeDefinition::getTimeoutMs)
+                .orElse(adkProperties.getRunTimeoutMs());
+    }
+
+    // Each limit resolves independently: request > mode > nexus.adk defaults; an unset limit is unlimited.
+    private RunBudget resolveBudget(Optional<ModeDefinition> definition, RunSpec spec) {
+        if (spec.maxTokens() != null && spec.maxTokens() <= 0) {
+            throw new IllegalArgumentException("maxTokens must be greater than 0");
+        }
+        if (spec.maxLlmCalls() != null && spec.maxLlmCalls() <= 0) {
+            throw new IllegalArgumentException("maxLlmCalls must be greater than 0");
+        }
+        Long maxTokens = spec.maxTokens() != null
+                ? spec.maxTokens()
+                : definition.map(ModeDefinition::getMaxTokens).orElse(adkProperties.getRunMaxTokens());
+        Integer maxLlmCalls = spec.maxLlmCalls() != null
+                ? spec.maxLlmCalls()
+                : definition.map(ModeDefinition::getMaxLlmCalls).orElse(adkProperties.getRunMaxLlmCalls());
+        return RunBudget.of(maxTokens, maxLlmCalls);
+    }
+
+    private List<Event> sessionEvents(String userId, String sessionId) {
+        Session session = sessionService
+                .getSession(adkProperties.getAppName(), userId, sessionId, Optional.empty())
+                .blockingGet();
+        return session == null ? List.of() : List.copyOf(session.events());
+    }
+
+    // True when the session was created by this call.
+    private boolean ensureSessionExists(String userId, String sessionId) {
+        Session existing = sessionService
+                .getSession(adkProperties.getAppName(), userId, sessionId, Optional.empty())
+                .blockingGet();
+        if (existing != null) {
+            return false;
+        }
+        sessionService.createSession(
+                adkProperties.getAppName(),
+                userId,
+                new ConcurrentHashMap<>(),
+                sessionId
+        ).blockingGet();
+        return true;
+    }
+
+    private void recordUsage(AgentMode mode, RunUsage usage) {
+        addUsage("usage", usage.promptTokens(), usage.completionTokens(), usage.cachedTokens(), usage.totalTokens());
+        for (RunUsage.NodeUsage node : usage.nodes()) {
+            addUsage("usage.model." + node.model(),
+                    node.promptTokens(), node.completionTokens(), node.cachedTokens(), node.totalTokens());
+            addUsage("usage.node." + metricName(mode) + "." + node.node(),
+                    node.promptTokens(), node.completionTokens(), node.cachedTokens(), node.totalTokens());
+        }
+    }
+
+    private void addUsage(String prefix, int prompt, int completion, int cached, int total) {
+        runMetrics.add(prefix + ".prompt-tokens", prompt);
+        runMetrics.add(prefix + ".completion-tokens", completion);
+        runMetrics.add(prefix + ".cached-tokens", cached);
+        runMetrics.add(prefix + ".total-tokens", total);
+    }
+
+    private String metricName(AgentMode mode) {
+        return mode.name().toLowerCase(Locale.ROOT);
+    }
+
+    private final class HedgeRace {
+
+        private final RunSpec spec;
+        private final AgentMode fallbackMode;
+        private final List<Event> history;
+        private final RunDeadline runDeadline;
+        private final PayloadLedger payloadLedger;
+        private final UsageLedger usageLedger;
+        private final RunBudget runBudget;
+        private final AtomicReference<AgentMode> servedMode;
+        private final String primarySessionId;
+        private final String hedgeSessionId;
+        private final AtomicReference<Disposable> primaryConnection = new AtomicReference<>();
+        private final AtomicBoolean started = new AtomicBoolean();
+        private final AtomicBoolean decided = new AtomicBoolean();
+        private final AtomicBoolean userMessageAppended = new AtomicBoolean();
+        private final String metricPrefix;
+        private Flowable<Event> primary;
+        private Session session;
+
+        private HedgeRace(RunSpec spec,
+                          AgentMode fallbackMode,
+                          List<Event> history,
+                          RunDeadline runDeadline,
+                          PayloadLedger payloadLedger,
+                          UsageLedger usageLedger,
+                          RunBudget runBudget,
+                          AtomicReference<AgentMode> servedMode) {
+            this.spec = spec;
+            this.fallbackMode = fallbackMode;
+            this.history = history;
+            this.runDeadline = runDeadline;
+            this.payloadLedger = payloadLedger;
+            this.usageLedger = usageLedger;
+            this.runBudget = runBudget;
+            this.servedMode = servedMode;
+            this.primarySessionId = spec.sessionId() + "-primary-" + UUID.randomUUID();
+            this.hedgeSessionId = spec.sessionId() + "-hedge-" + UUID.randomUUID();
+            this.metricPrefix = "hedge." + metricName(spec.mode());
+        }
+
+        // Replayed and kept connected, so the primary keeps running when the first-output timeout hands over to
+        // the race, which subscribes to it again.
+        private Flowable<Event> primary(Runner primaryRunner) {
+            primary = Flowable.defer(() -> {
+                        createScratchSession(primarySessionId);
+                        return primaryRunner.runAsync(spec.userId(), primarySessionId, spec.message(), RunConfig.builder().build());
+                    })
+                    .replay()
+                    .autoConnect(1, primaryConnection::set);
+            return primary;
+        }
+
+        private boolean started() {
+            return started.get();
+        }
+
+        private Flowable<Event> start(String reason) {
+            started.set(true);
+            runMetrics.increment(metricPrefix + ".fired");
+            runMetrics.increment(metricPrefix + ".fired." + reason);
+
+            Flowable<Event> hedge = Flowable.defer(() -> {
+                        createScratchSession(hedgeSessionId);
+                        return runner(spec, fallbackMode, runDeadline, payloadLedger, usageLedger, runBudget)
+                                .runAsync(spec.userId(), hedgeSessionId, spec.message(), RunConfig.builder().build());
+                    })
+                    .subscribeOn(Schedulers.io());
+
+            return new HedgeLegs(spec.mode(), fallbackMode, this::decide).race(primary, hedge);
+        }
+
+        private void decide(AgentMode mode) {
+            if (!decided.compareAndSet(false, true)) {
+                return;
+            }
+            boolean hedgeWon = mode != spec.mode();
+            runMetrics.increment(metricPrefix + ".won." + (hedgeWon ? "hedge" : "primary"));
+            if (hedgeWon) {
+                servedMode.set(fallbackMode);
+                disconnectPrimary();
+            }
+        }
+
+        private void appendToSession(Event event) {
+            if (event.partial().orElse(false)) {
+                return;
+            }
+            if (session == null) {
+                session = sessionService
+                        .getSession(adkProperties.getAppName(), spec.userId(), spec.sessionId(), Optional.empty())
+                        .blockingGet();
+                if (session == null) {
+                    return;
+                }
+            }
+            if (userMessageAppended.compareAndSet(false, true)) {
+                sessionService.appendEvent(session, Event.builder()
+                        .id(Event.generateEventId())
+                        .invocationId(event.invocationId())
+                        .author("user")
+                        .content(spec.message())
+                        .build()).blockingGet();
+            }
+            sessionService.appendEvent(session, event).blockingGet();
+        }
+
+        private void close() {
+            disconnectPrimary();
+            for (String scratchSessionId : List.of(primarySessionId, hedgeSessionId)) {
+                sessionService
+                        .deleteSession(adkProperties.getAppName(), spec.userId(), scratchSessionId)
+                        .onErrorComplete()
+                        .subscribe();
+            }
+        }
+
+        private void disconnectPrimary() {
+            Disposable connection = primaryConnection.get();
+            if (connection != null) {
+                connection.dispose();
+            }
+        }
+
+        private void createScratchSession(String scratchSessionId) {
+            Session scratch = sessionService.createSession(
+                    adkProperties.getAppName(),
+                    spec.userId(),
+                    new ConcurrentHashMap<>(),
+                    scratchSessionId
+            ).blockingGet();
+            for (Event event : history) {
+                sessionService.appendEvent(scratch, event).blockingGet();
+            }
+        }
+    }
+}
@@ -6,43 +6,106 @@ import com.google.adk.agents.ParallelAgent;
 import com.google.adk.agents.SequentialAgent;
 import com.google.adk.models.BaseLlm;
 import com.google.adk.models.Gemini;
+import com.google.adk.models.LlmRegistry;
 import com.google.adk.tools.BaseTool;
 import com.google.genai.Client;
 import com.google.genai.types.HttpOptions;
+import com.nexus.agent.agents.ChunkResultCache;
+import com.nexus.agent.agents.DeadlineAgent;
+import com.nexus.agent.agents.MapAgent;
+import com.nexus.agent.agents.QuorumParallelAgent;
+import com.nexus.agent.agents.RouteClassifier;
+import com.nexus.agent.agents.RouterAgent;
+import com.nexus.agent.agents.RunDeadline;
 import com.nexus.agent.config.AdkProperties;
+import com.nexus.agent.config.UpstreamProperties;
 import com.nexus.agent.domain.AgentMode;
+import com.nexus.agent.llm.AdmissionControlledLlm;
+import com.nexus.agent.llm.AdmissionController;
+import com.nexus.agent.llm.CircuitBreakerRegistry;
+import com.nexus.agent.llm.CircuitBreakingLlm;
+import com.nexus.agent.llm.ContextCacheManager;
+import com.nexus.agent.llm.ContextCachingLlm;
+import com.nexus.agent.llm.HedgeBudget;
+import com.nexus.agent.llm.InstrumentedLlm;
+import com.nexus.agent.llm.OpenAiCompatibleModels;
+import com.nexus.agent.llm.PayloadBudgetLlm;
+import com.nexus.agent.llm.PayloadLedger;
+import com.nexus.agent.llm.ResilientLlm;
+import com.nexus.agent.llm.RunBudget;
+import com.nexus.agent.llm.RunBudgetLlm;
 import com.nexus.agent.modes.ModeDefinition;
+import com.nexus.agent.modes.ModeEdgeBudget;
 import com.nexus.agent.modes.ModeNodeDefinition;
+import com.nexus.agent.modes.ModeNodeKind;
 import com.nexus.agent.modes.ModeRegistry;
+import com.nexus.agent.modes.ModesReloadedEvent;
+import com.nexus.agent.modes.ParallelWaitPolicy;
 import com.nexus.agent.skills.SkillDefinition;
+import com.nexus.agent.skills.SkillRegistry;
+import com.nexus.agent.skills.SkillsReloadedEvent;
 import com.nexus.agent.skills.ToolCatalog;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.context.event.EventListener;
 import org.springframework.stereotype.Component;
 
 import java.util.ArrayList;
 import java.util.EnumSet;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Locale;
+import java.util.Map;
 import java.util.Set;
+import java.util.stream.Collectors;
 
 @Component
 public class AgentTopologyFactory {
 
     private static final Logger log = LoggerFactory.getLogger(AgentTopologyFactory.class);
+    private static final int MAX_CACHED_PLANS = 256;
+    private static final int MAX_CACHED_CHUNK_RESULTS = 1024;
 
     private final AdkProperties adkProperties;
     private final SkillPromptComposer skillPromptComposer;
     private final ToolCatalog toolCatalog;
     private final ModeRegistry modeRegistry;
+    private final SkillRegistry skillRegistry;
+    private final RunMetrics runMetrics;
+    private final AdmissionController admissionController;
+    private final UpstreamProperties upstreamProperties;
+    private final HedgeBudget hedgeBudget;
+    private final CircuitBreakerRegistry circuitBreakerRegistry;
+    private final OpenAiCompatibleModels openAiCompatibleModels;
+    private final ContextCacheManager contextCacheManager;
+    // Access-ordered LRU guarded by its own monitor, so a full cache evicts one cold plan instead of all of them.
+    private final Map<PlanKey, TopologyPlan> planCache = new LinkedHashMap<>(16, 0.75f, true);
+    private final ChunkResultCache chunkResultCache = new ChunkResultCache(MAX_CACHED_CHUNK_RESULTS);
 
     public AgentTopologyFactory(AdkProperties adkProperties,
                                 SkillPromptComposer skillPromptComposer,
                                 ToolCatalog toolCatalog,
-                                ModeRegistry modeRegistry) {
+                                ModeRegistry modeRegistry,
+                                SkillRegistry skillRegistry,
+                                RunMetrics runMetrics,
+                                AdmissionController admissionController,
+                                UpstreamProperties upstreamProperties,
+                                HedgeBudget hedgeBudget,
+                                CircuitBreakerRegistry circuitBreakerRegistry,
+                                OpenAiCompatibleModels openAiCompatibleModels,
+                                ContextCacheManager contextCacheManager) {
         this.adkProperties = adkProperties;
         this.skillPromptComposer = skillPromptComposer;
         this.toolCatalog = toolCatalog;
         this.modeRegistry = modeRegistry;
+        this.skillRegistry = skillRegistry;
+        this.runMetrics = runMetrics;
+        this.admissionController = admissionController;
+        this.upstreamProperties = upstreamProperties;
+        this.hedgeBudget = hedgeBudget;
+        this.circuitBreakerRegistry = circuitBreakerRegistry;
+        this.openAiCompatibleModels = openAiCompatibleModels;
+        this.contextCacheManager = contextCacheManager;
     }
 
     public BaseAgent create(AgentMode mode, List<SkillDefinition> activeSkills) {
@@ -58,21 +121,58 @@ public class AgentTopologyFactory {
                             String modelOverride,
                             String llmBaseUrl,
                             String llmApiKey) {
-        String skillPrompt = skillPromptComposer.compose(activeSkills);
-        List<BaseTool> tools = toolCatalog.resolve(activeSkills);
+        return create(mode, activeSkills, modelOverride, Map.of(), llmBaseUrl, llmApiKey, null, null, null, null, null);
+    }
+
+    public BaseAgent create(AgentMode mode,
+                            List<SkillDefinition> activeSkills,
+                            String modelOverride,
+                            Map<String, String> nodeModels,
+                            String llmBaseUrl,
+                            String llmApiKey,
+                            RunDeadline runDeadline,
+                            PayloadLedger payloadLedger,
+                            UsageLedger usageLedger,
+                            RunBudget runBudget,
+                            String userId) {
         String model = resolveModel(modelOverride);
         RuntimeLlmOptions runtimeLlmOptions = new RuntimeLlmOptions(
                 normalizeOptional(llmBaseUrl),
                 normalizeOptional(llmApiKey)
         );
-        return createWithFallback(mode, skillPrompt, tools, model, runtimeLlmOptions);
+        BuildOptions options = new BuildOptions(
+                model,
+                hasText(modelOverride),
+                normalizeNodeModels(nodeModels),
+                runtimeLlmOptions,
+                runDeadline,
+                payloadLedger,
+                usageLedger,
+                runBudget,
+                userId
+        );
+        return createWithFallback(mode, activeSkills, options);
+    }
+
+    @EventListener
+    public void onModesReloaded(ModesReloadedEvent event) {
+        synchronized (planCache) {
+            planCache.values().removeIf(plan -> event.affects(plan.mode()));
+        }
+        chunkResultCache.clear();
+    }
+
+    @EventListener
+    public void onSkillsReloaded(SkillsReloadedEvent event) {
+        synchronized (planCache) {
+            planCache.values().removeIf(plan -> plan.skillNames().stream().anyMatch(event::affects));
+        }
+        chunkResultCache.clear();
     }
 
     private BaseAgent createWithFallback(AgentMode requestedMode,
-                                         String skillPrompt,
-                                         List<BaseTool> tools,
-                                         String model,
-                                         RuntimeLlmOptions runtimeLlmOptions) {
+                                         List<SkillDefinition> activeSkills,
+                                         BuildOptions options) {
         AgentMode current = requestedMode;
         Set<AgentMode> visited = EnumSet.noneOf(AgentMode.class);
         RuntimeException lastError = null;
@@ -80,7 +180,8 @@ public class AgentTopologyFactory {
         while (current != null && visited.add(current)) {
             ModeDefinition definition = modeRegistry.getRequired(current);
             try {
-                return buildNode(definition, definition.getRoot(), skillPrompt, tools, model, runtimeLlmOptions, new ArrayList<>());
+                TopologyPlan plan = plan(current, activeSkills);
+                return instantiate(plan.root(), new BuildContext(plan, options));
             } catch (RuntimeException ex) {
                 lastError = ex;
                 AgentMode fallbackMode = definition.getFallbackMode();
@@ -95,13 +196,50 @@ public class AgentTopologyFactory {
         throw new IllegalStateException("Failed to build topology for mode " + requestedMode, lastError);
     }
 
-    private BaseAgent buildNode(ModeDefinition definition,
-                                String nodeRef,
-                                String skillPrompt,
-                                List<BaseTool> tools,
-                                String model,
-                                RuntimeLlmOptions runtimeLlmOptions,
-                                List<String> stack) {
+    private TopologyPlan plan(AgentMode mode, List<SkillDefinition> activeSkills) {
+        String fingerprint = SkillRegistry.fingerprint(activeSkills);
+        PlanKey key = new PlanKey(mode, fingerprint);
+        synchronized (planCache) {
+            TopologyPlan cached = planCache.get(key);
+            if (cached != null) {
+                return cached;
+            }
+        }
+
+        long modeVersion = modeRegistry.version();
+        long skillVersion = skillRegistry.version();
+        TopologyPlan compiled = compile(mode, activeSkills, fingerprint);
+        // A mode or skill reload that lands while compiling would already have run its eviction, and skills the
+        // caller resolved before a reload are no longer the registry's instances; do not cache such a stale plan.
+        boolean current = modeRegistry.version() == modeVersion
+                && skillRegistry.version() == skillVersion
+                && (activeSkills == null || activeSkills.stream().allMatch(skill -> skillRegistry.find(skill.getName()).orElse(null) == skill));
+        if (current) {
+            synchronized (planCache) {
+                planCache.put(key, compiled);
+                if (planCache.size() > MAX_CACHED_PLANS) {
+                    planCache.remove(planCache.keySet().iterator().next());
+                }
+            }
+        }
+        return compiled;
+    }
+
+    private TopologyPlan compile(AgentMode mode, List<SkillDefinition> activeSkills, String fingerprint) {
+        ModeDefinition definition = modeRegistry.getRequired(mode);
+        String skillPrompt = skillPromptComposer.compose(activeSkills);
+        List<BaseTool> tools = toolCatalog.resolve(activeSkills);
+        PlanNode root = compileNode(definition, definition.getRoot(), skillPrompt, new ArrayList<>());
+        Set<String> skillNames = activeSkills == null
+                ? Set.of()
+                : activeSkills.stream().map(SkillDefinition::getName).collect(Collectors.toUnmodifiableSet());
+        return new TopologyPlan(mode, fingerprint, skillNames, root, tools);
+    }
+
+    private PlanNode compileNode(ModeDefinition definition,
+                                 String nodeRef,
+                                 String skillPrompt,
+                                 List<String> stack) {
         if (stack.contains(nodeRef)) {
             throw new IllegalStateException("Cycle detected in mode " + definition.getMode() + ": " + stack + " -> " + nodeRef);
         }
@@ -112,42 +250,211 @@ public class AgentTopologyFactory {
             throw new IllegalStateException("Node " + nodeRef + " not found for mode " + definition.getMode());
         }
 
-        List<BaseAgent> children = node.getSubAgents().stream()
-                .map(ref -> buildNode(definition, ref, skillPrompt, tools, model, runtimeLlmOptions, stack))
+        List<PlanNode> children = node.getSubAgents().stream()
+                .map(ref -> compileNode(definition, ref, skillPrompt, stack))
                 .toList();
 
         stack.remove(stack.size() - 1);
 
-        return switch (node.getKind()) {
-            case LLM -> buildLlmNode(node, children, skillPrompt, tools, model, runtimeLlmOptions);
-            case PARALLEL -> ParallelAgent.builder()
+        String instruction = null;
+        String configuredModel = null;
+        Map<String, ModeEdgeBudget> inputBudgets = Map.of();
+        if (node.getKind() == ModeNodeKind.LLM) {
+            String instructionBase = node.getInstruction() == null ? "" : node.getInstruction();
+            instruction = instructionBase + skillPrompt;
+            configuredModel = configuredModel(definition, nodeRef, node);
+            inputBudgets = inputBudgets(definition, node);
+        }
+        RouteClassifier routeClassifier = node.getKind() == ModeNodeKind.ROUTER ? new RouteClassifier(node) : null;
+        String metricScope = definition.getMode().name().toLowerCase(Locale.ROOT) + "." + nodeRef;
+        ParallelWaitPolicy waitPolicy = node.getKind() == ModeNodeKind.PARALLEL
+                ? ParallelWaitPolicy.parse(node.getWaitFor())
+                : ParallelWaitPolicy.ALL;
+        return new PlanNode(
+                nodeRef,
+                metricScope,
+                node,
+                instruction,
+                configuredModel,
+                inputBudgets,
+                routeClassifier,
+                waitPolicy,
+                children
+        );
+    }
+
+    private String configuredModel(ModeDefinition definition, String nodeRef, ModeNodeDefinition node) {
+        if (hasText(node.getModel())) {
+            return node.getModel().trim();
+        }
+        if (!hasText(node.getModelTier())) {
+            return null;
+        }
+        String tierModel = adkProperties.getModelTiers().get(node.getModelTier().trim());
+        if (!hasText(tierModel)) {
+            throw new IllegalStateException("Unknown model tier " + node.getModelTier() + " on node " + nodeRef
+                    + " of mode " + definition.getMode() + ", configured tiers: " + adkProperties.getModelTiers().keySet());
+        }
+        return tierModel.trim();
+    }
+
+    // Upstream output reaches an LLM node attributed to the upstream agent's name, so budgets are keyed by it.
+    private Map<String, ModeEdgeBudget> inputBudgets(ModeDefinition definition, ModeNodeDefinition node) {
+        Map<String, ModeEdgeBudget> budgets = new LinkedHashMap<>();
+        for (ModeEdgeBudget budget : node.getInputBudgets()) {
+            String author = "*".equals(budget.getFrom())
+                    ? "*"
+                    : definition.getNodes().get(budget.getFrom()).getName();
+            budgets.put(author, budget);
+        }
+        return Map.copyOf(budgets);
+    }
+
+    private BaseAgent instantiate(PlanNode planNode, BuildContext context) {
+        ModeNodeDefinition node = planNode.node();
+        List<BaseAgent> children = planNode.children().stream()
+                .map(child -> instantiate(child, context))
+                .toList();
+
+        BaseAgent agent = switch (node.getKind()) {
+            case LLM -> buildLlmNode(planNode, children, context);
+            case PARALLEL -> buildParallelNode(planNode, children);
+            case SEQUENTIAL -> SequentialAgent.builder()
                     .name(node.getName())
                     .description(node.getDescription())
                     .subAgents(children.toArray(BaseAgent[]::new))
                     .build();
-            case SEQUENTIAL -> SequentialAgent.builder()
+            case ROUTER -> buildRouterNode(planNode, children);
+            case MAP -> buildMapNode(planNode, children.get(0), context);
+        };
+        if (node.getTimeoutMs() == null) {
+            return agent;
+        }
+        return new DeadlineAgent(agent, node.getTimeoutMs(), context.options().runDeadline(), planNode.metricScope(), runMetrics);
+    }
+
+    private BaseAgent buildMapNode(PlanNode planNode, BaseAgent mapper, BuildContext context) {
+        ModeNodeDefinition node = planNode.node();
+        // Chunk outputs depend on the mapper's instructions, the models its LLM nodes resolve to and the endpoint
+        // serving them, so all of them are part of the cache scope.
+        String cacheScope = planNode.metricScope()
+                + "|" + context.plan().skillFingerprint()
+                + "|" + String.join(",", llmModels(planNode.children().get(0), context.options(), new ArrayList<>()))
+                + "|" + endpointKey(context.options().runtimeLlmOptions());
+        return new MapAgent(
+                node.getName(),
+                node.getDescription(),
+                adkProperties.getAppName(),
+                planNode.metricScope(),
+                cacheScope,
+                node.getChunkSize(),
+                node.getChunkOverlap(),
+                node.getMaxParallelism(),
+                mapper,
+                chunkResultCache,
+                runMetrics
+        );
+    }
+
+    private List<String> llmModels(PlanNode planNode, BuildOptions options, List<String> models) {
+        if (planNode.node().getKind() == ModeNodeKind.LLM) {
+            models.add(planNode.ref() + "=" + nodeModel(planNode, options));
+        }
+        for (PlanNode child : planNode.children()) {
+            llmModels(child, options, models);
+        }
+        return models;
+    }
+
+    private BaseAgent buildParallelNode(PlanNode planNode, List<BaseAgent> children) {
+        ModeNodeDefinition node = planNode.node();
+        if (planNode.waitPolicy().waitsForAll() && node.getBranchTimeoutMs() == null) {
+            return ParallelAgent.builder()
                     .name(node.getName())
                     .description(node.getDescription())
                     .subAgents(children.toArray(BaseAgent[]::new))
                     .build();
-        };
+        }
+        return new QuorumParallelAgent(
+                node.getName(),
+                node.getDescription(),
+                planNode.metricScope(),
+                planNode.waitPolicy(),
+                node.getBranchTimeoutMs(),
+                children,
+                runMetrics
+        );
     }
 
-    private BaseAgent buildLlmNode(ModeNodeDefinition node,
-                                   List<BaseAgent> children,
-                                   String skillPrompt,
-                                   List<BaseTool> tools,
-                                   String model,
-                                   RuntimeLlmOptions runtimeLlmOptions) {
-        String instructionBase = node.getInstruction() == null ? "" : node.getInstruction();
-        String instruction = instructionBase + skillPrompt;
+    private BaseAgent buildRouterNode(PlanNode planNode, List<BaseAgent> children) {
+        Map<String, BaseAgent> targets = new LinkedHashMap<>();
+        for (int i = 0; i < children.size(); i++) {
+            targets.put(planNode.children().get(i).ref(), children.get(i));
+        }
+        return new RouterAgent(
+                planNode.node().getName(),
+                planNode.node().getDescription(),
+                planNode.metricScope(),
+                planNode.routeClassifier(),
+                targets,
+                runMetrics
+        );
+    }
 
+    private BaseAgent buildLlmNode(PlanNode planNode, List<BaseAgent> children, BuildContext context) {
+        ModeNodeDefinition node = planNode.node();
+        String modelName = nodeModel(planNode, context.options());
+        if (context.options().usageLedger() != null) {
+            context.options().usageLedger().bindModel(node.getName(), modelName);
+        }
+        RuntimeLlmOptions runtimeLlmOptions = context.options().runtimeLlmOptions();
+        String endpoint = endpointKey(runtimeLlmOptions);
+        // Every attempt, retries and hedge duplicates included, takes its own admission ticket, so the per-endpoint
+        // and per-model limits bound real upstream concurrency. Admission wraps the instrumented model so llm.*
+        // latencies exclude time spent queued for a slot; each attempt is routed through the circuit breakers and
+        // may fail over to an alternate model, which is instrumented under its own name.
+        BaseLlm attempt = new AdmissionControlledLlm(
+                new CircuitBreakingLlm(
+                        new InstrumentedLlm(
+                                baseModel(modelName, runtimeLlmOptions, planNode.instruction()),
+                                planNode.metricScope(),
+                                runMetrics
+                        ),
+                        alternate -> new InstrumentedLlm(
+                                baseModel(alternate, runtimeLlmOptions, planNode.instruction()),
+                                planNode.metricScope(),
+                                runMetrics
+                        ),
+                        circuitBreakerRegistry,
+                        endpoint
+                ),
+                admissionController,
+                context.options().userId(),
+                endpoint
+        );
+        // Retries and hedges sit beneath the payload budget so they repeat the already condensed request.
+        BaseLlm model = new ResilientLlm(attempt, upstreamProperties, hedgeBudget, runMetrics);
+        if (!planNode.inputBudgets().isEmpty()) {
+            model = new PayloadBudgetLlm(
+                    model,
+                    node.getName(),
+                    planNode.inputBudgets(),
+                    planNode.metricScope(),
+                    context.options().payloadLedger(),
+                    runMetrics
+            );
+        }
+        // The run budget is checked before admission, so a call past the call limit never waits for a slot.
+        RunBudget runBudget = context.options().runBudget();
+        if (runBudget != null && runBudget.limited()) {
+            model = new RunBudgetLlm(model, runBudget);
+        }
         LlmAgent.Builder builder = LlmAgent.builder()
                 .name(node.getName())
                 .description(node.getDescription())
-                .instruction(instruction)
-                .tools(tools);
-        applyModel(builder, model, runtimeLlmOptions);
+                .instruction(planNode.instruction())
+                .tools(context.plan().tools())
+                .model(model);
 
         if (!children.isEmpty()) {
             builder.subAgents(children.toArray(BaseAgent[]::new));
@@ -155,6 +462,11 @@ public class AgentTopologyFactory {
         return builder.build();
     }
 
+    private String endpointKey(RuntimeLlmOptions runtimeLlmOptions) {
+        String baseUrl = runtimeLlmOptions.baseUrl();
+        return baseUrl == null ? "default" : baseUrl;
+    }
+
     private String resolveModel(String modelOverride) {
         if (modelOverride == null || modelOverride.isBlank()) {
             return adkProperties.getModel();
@@ -162,15 +474,63 @@ public class AgentTopologyFactory {
         return modelOverride.trim();
     }
 
-    private void applyModel(LlmAgent.Builder builder, String modelName, RuntimeLlmOptions runtimeLlmOptions) {
-        if (!runtimeLlmOptions.hasOverrides()) {
-            builder.model(modelName);
-            return;
+    // Request nodeModels (by node ref, node name, then "*") > request model > node model/modelTier > default model.
+    // Node models name Gemini models, so they are skipped for endpoints served by the OpenAI-compatible adapter.
+    private String nodeModel(PlanNode planNode, BuildOptions options) {
+        Map<String, String> nodeModels = options.nodeModels();
+        String requested = nodeModels.get(planNode.ref());
+        if (requested == null) {
+            requested = nodeModels.get(planNode.node().getName());
+        }
+        if (requested == null) {
+            requested = nodeModels.get("*");
+        }
+        if (requested != null) {
+            return requested;
+        }
+        if (options.modelRequested() || planNode.configuredModel() == null || servedByOpenAiAdapter(options)) {
+            return options.model();
+        }
+        return planNode.configuredModel();
+    }
+
+    // Explicit context caching needs a Gemini endpoint; other providers only report their automatic prefix caching.
+    private BaseLlm baseModel(String modelName, RuntimeLlmOptions runtimeLlmOptions, String staticInstruction) {
+        BaseLlm model = runtimeLlmOptions.hasOverrides()
+                ? buildRuntimeModel(modelName, runtimeLlmOptions)
+                : LlmRegistry.getLlm(modelName);
+        return new ContextCachingLlm(
+                model,
+                contextCacheManager,
+                runtimeLlmOptions.baseUrl(),
+                runtimeLlmOptions.apiKey(),
+                model instanceof Gemini,
+                staticInstruction
+        );
+    }
+
+    private Map<String, String> normalizeNodeModels(Map<String, String> nodeModels) {
+        if (nodeModels == null || nodeModels.isEmpty()) {
+            return Map.of();
         }
-        builder.model(buildRuntimeModel(modelName, runtimeLlmOptions));
+        Map<String, String> normalized = new LinkedHashMap<>();
+        nodeModels.forEach((node, model) -> {
+            if (hasText(node) && hasText(model)) {
+                normalized.put(node.trim(), model.trim());
+            }
+        });
+        return Map.copyOf(normalized);
+    }
+
+    private boolean servedByOpenAiAdapter(BuildOptions options) {
+        String baseUrl = options.runtimeLlmOptions().baseUrl();
+        return hasText(baseUrl) && openAiCompatibleModels.serves(baseUrl);
     }
 
     private BaseLlm buildRuntimeModel(String modelName, RuntimeLlmOptions runtimeLlmOptions) {
+        if (hasText(runtimeLlmOptions.baseUrl()) && openAiCompatibleModels.serves(runtimeLlmOptions.baseUrl())) {
+            return openAiCompatibleModels.create(modelName, runtimeLlmOptions.baseUrl(), runtimeLlmOptions.apiKey());
+        }
         if (hasText(runtimeLlmOptions.baseUrl())) {
             Client.Builder clientBuilder = Client.builder()
                     .httpOptions(HttpOptions.builder().baseUrl(runtimeLlmOptions.baseUrl()).build());
@@ -206,6 +566,43 @@ public class AgentTopologyFactory {
         return value != null && !value.isBlank();
     }
 
+    private record PlanKey(AgentMode mode, String skillFingerprint) {
+    }
+
+    // Mode graph resolved and validated with instructions and tools pre-bound; agents are instantiated per run from it.
+    private record TopologyPlan(AgentMode mode,
+                                String skillFingerprint,
+                                Set<String> skillNames,
+                                PlanNode root,
+                                List<BaseTool> tools) {
+    }
+
+    private record PlanNode(String ref,
+                            String metricScope,
+                            ModeNodeDefinition node,
+                            String instruction,
+                            String configuredModel,
+                            Map<String, ModeEdgeBudget> inputBudgets,
+                            RouteClassifier routeClassifier,
+                            ParallelWaitPolicy waitPolicy,
+                            List<PlanNode> children) {
+    }
+
+    // Per-run inputs threaded through instantiation of a cached plan.
+    private record BuildOptions(String model,
+                                boolean modelRequested,
+                                Map<String, String> nodeModels,
+                                RuntimeLlmOptions runtimeLlmOptions,
+                                RunDeadline runDeadline,
+                                PayloadLedger payloadLedger,
+                                UsageLedger usageLedger,
+                                RunBudget runBudget,
+                                String userId) {
+    }
+
+    private record BuildContext(TopologyPlan plan, BuildOptions options) {
+    }
+
     private record RuntimeLlmOptions(String baseUrl, String apiKey) {
         private boolean hasOverrides() {
             return (baseUrl != null && !baseUrl.isBlank()) || (apiKey != null && !apiKey.isBlank());
@@ -0,0 +1,76 @@
+package com.nexus.agent.service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.regex.Pattern;
+
+// Cheap 0..1 complexity score from message length, multi-step vocabulary and structure; no model call involved.
+public final class ComplexityEstimator {
+
+    private static final int LONG_MESSAGE_TOKENS = 800;
+    private static final double LENGTH_WEIGHT = 0.45;
+    private static final double KEYWORD_WEIGHT = 0.35;
+    private static final double STRUCTURE_WEIGHT = 0.20;
+    private static final Pattern WORD = Pattern.compile("[\\p{L}\\p{N}-]+");
+    private static final Pattern LIST_ITEM = Pattern.compile("(?m)^\\s*(?:[-*+]|\\d+[.)])\\s+");
+    private static final Set<String> MULTI_STEP_WORDS = Set.of(
+            "analyze", "analyse", "architecture", "compare", "design", "end-to-end", "evaluate", "implement",
+            "migrate", "migration", "plan", "refactor", "research", "review", "step", "steps", "tradeoff",
+            "trade-off", "then", "finally", "roadmap", "integrate", "pipeline"
+    );
+    private static final List<String> MULTI_STEP_PHRASES_CJK = List.of(
+            "\u8bbe\u8ba1", "\u67b6\u6784", "\u5bf9\u6bd4", "\u6bd4\u8f83", "\u65b9\u6848", "\u5b9e\u73b0", "\u8bc4\u5ba1", "\u8fc1\u79fb", "\u5206\u6790", "\u6b65\u9aa4", "\u89c4\u5212", "\u7136\u540e", "\u6700\u540e", "\u96c6\u6210"
+    );
+
+    private ComplexityEstimator() {
+    }
+
+    public static Complexity estimate(String message) {
+        if (message == null || message.isBlank()) {
+            return new Complexity(0, 0, List.of());
+        }
+        List<String> signals = new ArrayList<>();
+        int tokens = TokenEstimator.estimate(message);
+        double length = Math.min(1.0, (double) tokens / LONG_MESSAGE_TOKENS);
+        signals.add("tokens=" + tokens);
+
+        String lower = message.toLowerCase(Locale.ROOT);
+        int keywordHits = (int) WORD.matcher(lower).results()
+                .map(match -> match.group())
+                .filter(MULTI_STEP_WORDS::contains)
+                .distinct()
+                .count();
+        keywordHits += (int) MULTI_STEP_PHRASES_CJK.stream().filter(message::contains).count();
+        if (keywordHits > 0) {
+            signals.add("multiStepTerms=" + keywordHits);
+        }
+
+        int listItems = (int) LIST_ITEM.matcher(message).results().count();
+        int questions = (int) message.chars().filter(c -> c == '?' || c == '\uff1f').count();
+        int codeBlocks = countOccurrences(message, "```") / 2;
+        int structure = listItems + Math.max(0, questions - 1) + codeBlocks;
+        if (structure > 0) {
+            signals.add("listItems=" + listItems + ",questions=" + questions + ",codeBlocks=" + codeBlocks);
+        }
+
+        double score = LENGTH_WEIGHT * length
+                + KEYWORD_WEIGHT * Math.min(1.0, keywordHits / 4.0)
+                + STRUCTURE_WEIGHT * Math.min(1.0, structure / 4.0);
+        return new Complexity(Math.round(score * 1000) / 1000.0, tokens, List.copyOf(signals));
+    }
+
+    private static int countOccurrences(String text, String token) {
+        int count = 0;
+        int index = text.indexOf(token);
+        while (index >= 0) {
+            count++;
+            index = text.indexOf(token, index + token.length());
+        }
+        return count;
+    }
+
+    public record Complexity(double score, int tokens, List<String> signals) {
+    }
+}
@@ -0,0 +1,157 @@
+package com.nexus.agent.service;
+
+import com.nexus.agent.config.ModeProperties;
+import com.nexus.agent.config.SkillProperties;
+import com.nexus.agent.modes.ModeRegistry;
+import com.nexus.agent.skills.SkillRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+@Component
+public class DefinitionHotReloader {
+
+    private static final Logger log = LoggerFactory.getLogger(DefinitionHotReloader.class);
+    private static final long DEBOUNCE_MILLIS = 250;
+
+    private final SkillRegistry skillRegistry;
+    private final ModeRegistry modeRegistry;
+    private final SkillProperties skillProperties;
+    private final ModeProperties modeProperties;
+
+    private final Map<Path, WatchTarget> targets = new HashMap<>();
+    private WatchService watchService;
+    private Thread worker;
+
+    public DefinitionHotReloader(SkillRegistry skillRegistry,
+                                 ModeRegistry modeRegistry,
+                                 SkillProperties skillProperties,
+                                 ModeProperties modeProperties) {
+        this.skillRegistry = skillRegistry;
+        this.modeRegistry = modeRegistry;
+        this.skillProperties = skillProperties;
+        this.modeProperties = modeProperties;
+    }
+
+    @PostConstruct
+    public void start() {
+        if (skillProperties.isWatch()) {
+            targets.put(skillRegistry.directory(), new WatchTarget("skills", skillRegistry::reloadFiles, skillRegistry::reload));
+        }
+        if (modeProperties.isWatch()) {
+            targets.put(modeRegistry.directory(), new WatchTarget("modes", modeRegistry::reloadFiles, modeRegistry::reload));
+        }
+        targets.keySet().removeIf(directory -> {
+            if (Files.isDirectory(directory)) {
+                return false;
+            }
+            log.warn("Definition directory {} not found, hot reload disabled for it.", directory);
+            return true;
+        });
+        if (targets.isEmpty()) {
+            return;
+        }
+
+        try {
+            watchService = FileSystems.getDefault().newWatchService();
+            for (Path directory : targets.keySet()) {
+                directory.register(watchService,
+                        StandardWatchEventKinds.ENTRY_CREATE,
+                        StandardWatchEventKinds.ENTRY_MODIFY,
+                        StandardWatchEventKinds.ENTRY_DELETE);
+                log.info("Watching {} for definition changes", directory);
+            }
+        } catch (IOException ex) {
+            throw new IllegalStateException("Failed to start definition watcher", ex);
+        }
+
+        worker = new Thread(this::watchLoop, "definition-hot-reload");
+        worker.setDaemon(true);
+        worker.start();
+    }
+
+    @PreDestroy
+    public void stop() {
+        if (worker != null) {
+            worker.interrupt();
+        }
+        if (watchService != null) {
+            try {
+                watchService.close();
+            } catch (IOException ex) {
+                log.debug("Failed closing definition watcher", ex);
+            }
+        }
+    }
+
+    private void watchLoop() {
+        try {
+            while (!Thread.currentThread().isInterrupted()) {
+                Map<Path, Set<Path>> changed = new HashMap<>();
+                Set<Path> overflowed = new LinkedHashSet<>();
+                WatchKey key = watchService.take();
+                // Editors typically emit several events per save (temp file, rename, modify); drain them as one batch.
+                while (key != null) {
+                    collect(key, changed, overflowed);
+                    key = watchService.poll(DEBOUNCE_MILLIS, TimeUnit.MILLISECONDS);
+                }
+                overflowed.forEach(directory -> apply(directory, target -> target.fullReload().run()));
+                changed.forEach((directory, files) -> {
+                    if (!overflowed.contains(directory)) {
+                        apply(directory, target -> target.incrementalReload().accept(files));
+                    }
+                });
+            }
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        } catch (ClosedWatchServiceException ex) {
+            // Shutdown in progress.
+        }
+    }
+
+    private void collect(WatchKey key, Map<Path, Set<Path>> changed, Set<Path> overflowed) {
+        Path directory = (Path) key.watchable();
+        for (WatchEvent<?> event : key.pollEvents()) {
+            if (event.kind() == StandardWatchEventKinds.OVERFLOW) {
+                overflowed.add(directory);
+                continue;
+            }
+            Path file = directory.resolve((Path) event.context());
+            changed.computeIfAbsent(directory, ignored -> new LinkedHashSet<>()).add(file);
+        }
+        key.reset();
+    }
+
+    private void apply(Path directory, Consumer<WatchTarget> action) {
+        WatchTarget target = targets.get(directory);
+        if (target == null) {
+            return;
+        }
+        try {
+            action.accept(target);
+        } catch (RuntimeException ex) {
+            log.error("Rejected {} change in {}, keeping previous snapshot", target.label(), directory, ex);
+        }
+    }
+
+    private record WatchTarget(String label, Consumer<Set<Path>> incrementalReload, Runnable fullReload) {
+    }
+}
@@ -0,0 +1,66 @@
+package com.nexus.agent.service;
+
+import com.google.adk.events.Event;
+import com.nexus.agent.domain.AgentMode;
+import io.reactivex.rxjava3.core.Flowable;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Consumer;
+
+// The two legs of a hedged run. amb streams whichever leg signals first and cancels the other; a leg failing before
+// it emitted stays silent unless the other leg has failed too. Every event is reported with the mode of its leg.
+final class HedgeLegs {
+
+    private static final Logger log = LoggerFactory.getLogger(HedgeLegs.class);
+
+    private final AgentMode primaryMode;
+    private final AgentMode hedgeMode;
+    private final Consumer<AgentMode> onEvent;
+    private final AtomicInteger failedLegs = new AtomicInteger();
+    private final AtomicReference<Throwable> primaryError = new AtomicReference<>();
+    private final AtomicReference<Throwable> hedgeError = new AtomicReference<>();
+
+    HedgeLegs(AgentMode primaryMode, AgentMode hedgeMode, Consumer<AgentMode> onEvent) {
+        this.primaryMode = primaryMode;
+        this.hedgeMode = hedgeMode;
+        this.onEvent = onEvent;
+    }
+
+    Flowable<Event> race(Flowable<Event> primary, Flowable<Event> hedge) {
+        return Flowable.ambArray(
+                leg(primary, primaryMode, true),
+                leg(hedge, hedgeMode, false)
+        );
+    }
+
+    private Flowable<Event> leg(Flowable<Event> events, AgentMode mode, boolean primaryLeg) {
+        AtomicBoolean emitted = new AtomicBoolean();
+        return events
+                .doOnNext(event -> {
+                    emitted.set(true);
+                    onEvent.accept(mode);
+                })
+                .onErrorResumeNext(error -> {
+                    (primaryLeg ? primaryError : hedgeError).set(error);
+                    if (emitted.get()) {
+                        return Flowable.error(error);
+                    }
+                    if (failedLegs.incrementAndGet() == 2) {
+                        // The requested mode's own error surfaces unwrapped, so its status still reaches the
+                        // client; the hedge's failure rides along as suppressed, whichever leg failed last.
+                        Throwable original = primaryError.get();
+                        Throwable hedged = hedgeError.get();
+                        if (hedged != original) {
+                            original.addSuppressed(hedged);
+                        }
+                        return Flowable.error(original);
+                    }
+                    log.warn("Mode {} failed while hedged", mode, error);
+                    return Flowable.never();
+                });
+    }
+}
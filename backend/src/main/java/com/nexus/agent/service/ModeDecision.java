@@ -0,0 +1,22 @@
+package com.nexus.agent.service;
+
+import com.nexus.agent.domain.AgentMode;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+
+public record ModeDecision(
+        AgentMode requestedMode,
+        AgentMode selectedMode,
+        AgentMode preferredMode,
+        double complexity,
+        List<String> signals,
+        List<String> reasons,
+        Map<AgentMode, ModeStats> stats,
+        Instant decidedAt
+) {
+
+    public record ModeStats(long runs, long p95Millis, double successRate) {
+    }
+}
@@ -0,0 +1,186 @@
+package com.nexus.agent.service;
+
+import com.nexus.agent.config.AutoModeProperties;
+import com.nexus.agent.domain.AgentMode;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+
+// Resolves AUTO to a concrete mode: complexity picks the preferred topology, then observed latency and success
+// rates over a rolling window step it down to a cheaper one while the preferred mode misses the SLO. A small share
+// of AUTO traffic still explores a stepped-down mode, and old samples age out, so an exclusion never becomes permanent.
+@Component
+public class ModeSelector {
+
+    private static final List<AgentMode> BY_COST = List.of(AgentMode.SINGLE, AgentMode.MASTER_SUB, AgentMode.MULTI_WORKFLOW);
+
+    private final AutoModeProperties properties;
+    private final RunMetrics runMetrics;
+    private final Deque<ModeDecision> recentDecisions = new ArrayDeque<>();
+    private final Map<AgentMode, Deque<RunSample>> samples = new EnumMap<>(AgentMode.class);
+
+    public ModeSelector(AutoModeProperties properties, RunMetrics runMetrics) {
+        this.properties = properties;
+        this.runMetrics = runMetrics;
+    }
+
+    public AgentMode select(AgentMode requested, String message) {
+        if (!requested.isAuto()) {
+            return requested;
+        }
+        ModeDecision decision = decide(message, true);
+        remember(decision);
+        runMetrics.increment("auto-mode.selected." + decision.selectedMode().name().toLowerCase(Locale.ROOT));
+        return decision.selectedMode();
+    }
+
+    // Deterministic view of the decision for the admin API: never explores.
+    public ModeDecision explain(String message) {
+        return decide(message, false);
+    }
+
+    // Every executed run of a concrete mode feeds the rolling window, whether or not AUTO chose it.
+    public void record(AgentMode mode, long latencyMillis, boolean degraded) {
+        if (mode == null || mode.isAuto()) {
+            return;
+        }
+        long now = System.currentTimeMillis();
+        synchronized (samples) {
+            Deque<RunSample> window = samples.computeIfAbsent(mode, ignored -> new ArrayDeque<>());
+            window.addLast(new RunSample(now, Math.max(0, latencyMillis), degraded));
+            prune(window, now);
+        }
+    }
+
+    private ModeDecision decide(String message, boolean explore) {
+        ComplexityEstimator.Complexity complexity = ComplexityEstimator.estimate(message);
+        AgentMode preferred = preferredMode(complexity.score());
+        List<String> reasons = new ArrayList<>();
+        reasons.add("complexity " + complexity.score() + " prefers " + preferred);
+
+        Map<AgentMode, ModeDecision.ModeStats> stats = new LinkedHashMap<>();
+        for (AgentMode mode : BY_COST) {
+            stats.put(mode, stats(mode));
+        }
+
+        AgentMode selected = preferred;
+        while (selected != AgentMode.SINGLE) {
+            ModeDecision.ModeStats modeStats = stats.get(selected);
+            String miss = sloMiss(modeStats);
+            if (miss == null) {
+                break;
+            }
+            // Without fresh runs a stepped-down mode's window could only age out; exploring refreshes it sooner.
+            if (explore && ThreadLocalRandom.current().nextDouble() < properties.getExploreRatio()) {
+                reasons.add(selected + " " + miss + ", exploring it anyway");
+                runMetrics.increment("auto-mode.explored." + selected.name().toLowerCase(Locale.ROOT));
+                break;
+            }
+            AgentMode cheaper = BY_COST.get(BY_COST.indexOf(selected) - 1);
+            reasons.add(selected + " " + miss + ", stepping down to " + cheaper);
+            selected = cheaper;
+        }
+        if (selected == preferred && reasons.size() == 1) {
+            reasons.add(preferred + " is within the latency SLO of " + properties.getLatencySloMs() + " ms");
+        }
+
+        return new ModeDecision(
+                AgentMode.AUTO,
+                selected,
+                preferred,
+                complexity.score(),
+                complexity.signals(),
+                List.copyOf(reasons),
+                stats,
+                Instant.now()
+        );
+    }
+
+    public List<ModeDecision> recentDecisions() {
+        synchronized (recentDecisions) {
+            return List.copyOf(recentDecisions);
+        }
+    }
+
+    private AgentMode preferredMode(double complexity) {
+        if (complexity <= properties.getSingleMaxComplexity()) {
+            return AgentMode.SINGLE;
+        }
+        if (complexity <= properties.getMasterSubMaxComplexity()) {
+            return AgentMode.MASTER_SUB;
+        }
+        return AgentMode.MULTI_WORKFLOW;
+    }
+
+    // Too few samples is not a miss: a mode has to be tried before it can be ruled out.
+    private String sloMiss(ModeDecision.ModeStats stats) {
+        if (stats.runs() < Math.max(1, properties.getMinSamples())) {
+            return null;
+        }
+        if (stats.p95Millis() > properties.getLatencySloMs()) {
+            return "p95 " + stats.p95Millis() + " ms exceeds the " + properties.getLatencySloMs() + " ms SLO";
+        }
+        if (stats.successRate() < properties.getMinSuccessRate()) {
+            return "success rate " + stats.successRate() + " is below " + properties.getMinSuccessRate();
+        }
+        return null;
+    }
+
+    private ModeDecision.ModeStats stats(AgentMode mode) {
+        List<RunSample> window;
+        synchronized (samples) {
+            Deque<RunSample> recorded = samples.get(mode);
+            if (recorded == null) {
+                return new ModeDecision.ModeStats(0, 0, 1.0);
+            }
+            prune(recorded, System.currentTimeMillis());
+            window = List.copyOf(recorded);
+        }
+        if (window.isEmpty()) {
+            return new ModeDecision.ModeStats(0, 0, 1.0);
+        }
+        long[] latencies = window.stream().mapToLong(RunSample::latencyMillis).sorted().toArray();
+        long degraded = window.stream().filter(RunSample::degraded).count();
+        double successRate = (double) (window.size() - degraded) / window.size();
+        return new ModeDecision.ModeStats(
+                window.size(),
+                p95(latencies),
+                Math.round(successRate * 1000) / 1000.0
+        );
+    }
+
+    // Keeps at most window-size samples, none older than window-ms.
+    private void prune(Deque<RunSample> window, long now) {
+        long oldest = now - properties.getWindowMs();
+        while (!window.isEmpty()
+                && (window.size() > Math.max(1, properties.getWindowSize()) || window.peekFirst().recordedAtMillis() < oldest)) {
+            window.removeFirst();
+        }
+    }
+
+    private long p95(long[] sorted) {
+        int index = (int) Math.ceil(0.95 * sorted.length) - 1;
+        return sorted[Math.max(0, Math.min(sorted.length - 1, index))];
+    }
+
+    private void remember(ModeDecision decision) {
+        synchronized (recentDecisions) {
+            recentDecisions.addFirst(decision);
+            while (recentDecisions.size() > Math.max(1, properties.getDecisionHistory())) {
+                recentDecisions.removeLast();
+            }
+        }
+    }
+
+    private record RunSample(long recordedAtMillis, long latencyMillis, boolean degraded) {
+    }
+}
@@ -2,7 +2,10 @@ package com.nexus.agent.service;
 
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.nexus.agent.api.dto.ModelDiscoverBatchResponse;
 import com.nexus.agent.api.dto.ModelDiscoverRequest;
+import com.nexus.agent.config.ModelDiscoveryProperties;
+import jakarta.annotation.PreDestroy;
 import org.springframework.stereotype.Service;
 
 import java.io.IOException;
@@ -10,12 +13,30 @@ import java.net.URI;
 import java.net.http.HttpClient;
 import java.net.http.HttpRequest;
 import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
 import java.time.Duration;
+import java.time.Instant;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
 import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.stream.Stream;
 
+// Model lists are cached per models URL and API key hash: fresh within the TTL, then served stale while one
+// background refresh runs, and fetched synchronously only on a cold or fully expired entry. Concurrent fetches of the
+// same key share one upstream call.
 @Service
 public class ModelDiscoveryService {
 
@@ -23,25 +44,131 @@ public class ModelDiscoveryService {
     private static final Duration REQUEST_TIMEOUT = Duration.ofSeconds(20);
 
     private final ObjectMapper objectMapper;
+    private final ModelDiscoveryProperties properties;
+    private final RunMetrics runMetrics;
     private final HttpClient httpClient;
+    private final ExecutorService executor;
+    private final Map<String, CachedModels> cache = new LinkedHashMap<>(16, 0.75f, true);
+    private final Map<String, CompletableFuture<CachedModels>> inFlight = new ConcurrentHashMap<>();
 
-    public ModelDiscoveryService(ObjectMapper objectMapper) {
+    public ModelDiscoveryService(ObjectMapper objectMapper, ModelDiscoveryProperties properties, RunMetrics runMetrics) {
         this.objectMapper = objectMapper;
+        this.properties = properties;
+        this.runMetrics = runMetrics;
         this.httpClient = HttpClient.newBuilder()
                 .connectTimeout(CONNECT_TIMEOUT)
                 .build();
+        AtomicInteger threads = new AtomicInteger();
+        this.executor = Executors.newFixedThreadPool(Math.max(1, properties.getFanOutThreads()), runnable -> {
+            Thread thread = new Thread(runnable, "nexus-model-discovery-" + threads.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    @PreDestroy
+    public void close() {
+        executor.shutdownNow();
     }
 
     public List<String> discover(ModelDiscoverRequest request) {
+        try {
+            return discoverAsync(request).join().models();
+        } catch (CompletionException ex) {
+            throw unwrap(ex);
+        }
+    }
+
+    // Queries every endpoint in parallel; one failing endpoint is reported in its entry instead of failing the batch.
+    public ModelDiscoverBatchResponse discoverAll(List<ModelDiscoverRequest> requests) {
+        List<CompletableFuture<ModelDiscoverBatchResponse.EndpointModels>> futures = requests.stream()
+                .map(request -> {
+                    CompletableFuture<CachedModels> discovery;
+                    try {
+                        discovery = discoverAsync(request);
+                    } catch (RuntimeException ex) {
+                        discovery = CompletableFuture.failedFuture(ex);
+                    }
+                    return discovery
+                            .orTimeout(REQUEST_TIMEOUT.toMillis(), TimeUnit.MILLISECONDS)
+                            .handle((cached, error) -> error == null
+                                    ? new ModelDiscoverBatchResponse.EndpointModels(request.baseUrl(), cached.models(),
+                                    cached.fetchedAt(), cached.isStale(properties.getTtlMs()), null)
+                                    : new ModelDiscoverBatchResponse.EndpointModels(request.baseUrl(), List.of(), null,
+                                    false, errorMessage(error)));
+                })
+                .toList();
+        List<ModelDiscoverBatchResponse.EndpointModels> endpoints = futures.stream()
+                .map(CompletableFuture::join)
+                .toList();
+        Set<String> merged = new LinkedHashSet<>();
+        endpoints.forEach(endpoint -> merged.addAll(endpoint.models()));
+        return new ModelDiscoverBatchResponse(List.copyOf(merged), endpoints);
+    }
+
+    private CompletableFuture<CachedModels> discoverAsync(ModelDiscoverRequest request) {
         URI modelsUri = buildModelsUri(request.baseUrl());
+        String apiKey = hasText(request.apiKey()) ? request.apiKey().trim() : null;
+        String key = modelsUri + "|" + sha256(apiKey == null ? "" : apiKey);
+        long now = System.currentTimeMillis();
+        CachedModels cached;
+        synchronized (cache) {
+            cached = cache.get(key);
+        }
+        if (cached != null) {
+            long age = now - cached.fetchedAt().toEpochMilli();
+            if (age < properties.getTtlMs()) {
+                runMetrics.increment("model-discovery.hits");
+                return CompletableFuture.completedFuture(cached);
+            }
+            if (age < properties.getTtlMs() + properties.getStaleWhileRevalidateMs()) {
+                runMetrics.increment("model-discovery.stale");
+                refresh(key, modelsUri, apiKey);
+                return CompletableFuture.completedFuture(cached);
+            }
+        }
+        runMetrics.increment("model-discovery.misses");
+        return refresh(key, modelsUri, apiKey);
+    }
+
+    private CompletableFuture<CachedModels> refresh(String key, URI modelsUri, String apiKey) {
+        CompletableFuture<CachedModels> created = new CompletableFuture<>();
+        CompletableFuture<CachedModels> existing = inFlight.putIfAbsent(key, created);
+        if (existing != null) {
+            runMetrics.increment("model-discovery.deduplicated");
+            return existing;
+        }
+        executor.execute(() -> {
+            try {
+                long started = System.currentTimeMillis();
+                CachedModels fetched = new CachedModels(fetch(modelsUri, apiKey), Instant.now());
+                runMetrics.recordLatency("model-discovery.fetch", System.currentTimeMillis() - started);
+                synchronized (cache) {
+                    cache.put(key, fetched);
+                    if (cache.size() > Math.max(1, properties.getMaxEntries())) {
+                        cache.remove(cache.keySet().iterator().next());
+                    }
+                }
+                created.complete(fetched);
+            } catch (RuntimeException ex) {
+                runMetrics.increment("model-discovery.errors");
+                created.completeExceptionally(ex);
+            } finally {
+                inFlight.remove(key, created);
+            }
+        });
+        return created;
+    }
+
+    private List<String> fetch(URI modelsUri, String apiKey) {
         HttpRequest.Builder builder = HttpRequest.newBuilder()
                 .uri(modelsUri)
                 .timeout(REQUEST_TIMEOUT)
                 .header("Accept", "application/json")
                 .GET();
 
-        if (hasText(request.apiKey())) {
-            builder.header("Authorization", "Bearer " + request.apiKey().trim());
+        if (apiKey != null) {
+            builder.header("Authorization", "Bearer " + apiKey);
         }
 
         HttpResponse<String> response;
@@ -66,6 +193,18 @@ public class ModelDiscoveryService {
         return models;
     }
 
+    private RuntimeException unwrap(CompletionException ex) {
+        return ex.getCause() instanceof RuntimeException cause ? cause : ex;
+    }
+
+    private String errorMessage(Throwable error) {
+        Throwable cause = error instanceof CompletionException && error.getCause() != null ? error.getCause() : error;
+        if (cause instanceof TimeoutException) {
+            return "Model discovery timed out";
+        }
+        return cause.getMessage() == null ? "Model discovery failed" : cause.getMessage();
+    }
+
     private URI buildModelsUri(String baseUrl) {
         if (!hasText(baseUrl)) {
             throw new IllegalArgumentException("baseUrl is required");
@@ -162,4 +301,19 @@ public class ModelDiscoveryService {
     private boolean hasText(String value) {
         return value != null && !value.isBlank();
     }
+
+    private static String sha256(String text) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(text.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException ex) {
+            throw new IllegalStateException("SHA-256 is not available", ex);
+        }
+    }
+
+    private record CachedModels(List<String> models, Instant fetchedAt) {
+        private boolean isStale(long ttlMs) {
+            return System.currentTimeMillis() - fetchedAt.toEpochMilli() >= ttlMs;
+        }
+    }
 }
@@ -0,0 +1,162 @@
+package com.nexus.agent.service;
+
+import com.nexus.agent.config.PromptBudgetProperties;
+import com.nexus.agent.domain.AgentMode;
+import com.nexus.agent.modes.ModeDefinition;
+import com.nexus.agent.modes.ModeNodeDefinition;
+import com.nexus.agent.modes.ModeNodeKind;
+import com.nexus.agent.modes.ModeRegistry;
+import com.nexus.agent.modes.ModesReloadedEvent;
+import com.nexus.agent.skills.SkillDefinition;
+import com.nexus.agent.skills.SkillRegistry;
+import com.nexus.agent.skills.SkillsReloadedEvent;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Function;
+
+@Component
+public class PromptBudgetAnalyzer {
+
+    private static final Logger log = LoggerFactory.getLogger(PromptBudgetAnalyzer.class);
+
+    private final ModeRegistry modeRegistry;
+    private final SkillRegistry skillRegistry;
+    private final SkillPromptComposer skillPromptComposer;
+    private final PromptBudgetProperties properties;
+
+    private final AtomicReference<PromptBudgetReport> latest = new AtomicReference<>();
+
+    public PromptBudgetAnalyzer(ModeRegistry modeRegistry,
+                                SkillRegistry skillRegistry,
+                                SkillPromptComposer skillPromptComposer,
+                                PromptBudgetProperties properties) {
+        this.modeRegistry = modeRegistry;
+        this.skillRegistry = skillRegistry;
+        this.skillPromptComposer = skillPromptComposer;
+        this.properties = properties;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onStartup() {
+        refresh();
+    }
+
+    @EventListener
+    public void onModesReloaded(ModesReloadedEvent event) {
+        refresh();
+    }
+
+    @EventListener
+    public void onSkillsReloaded(SkillsReloadedEvent event) {
+        refresh();
+    }
+
+    public PromptBudgetReport report() {
+        PromptBudgetReport report = latest.get();
+        if (report == null || report.modeVersion() != modeRegistry.version() || report.skillVersion() != skillRegistry.version()) {
+            return refresh();
+        }
+        return report;
+    }
+
+    public PromptBudgetReport analyze(Set<String> skillNames) {
+        return analyze(mode -> skillRegistry.resolve(mode, skillNames));
+    }
+
+    private PromptBudgetReport refresh() {
+        PromptBudgetReport report = analyze(mode -> skillRegistry.resolve(mode, Set.of()));
+        latest.set(report);
+        report.violations().forEach(violation -> log.warn("Prompt budget violation: {}", violation));
+        return report;
+    }
+
+    private PromptBudgetReport analyze(Function<AgentMode, List<SkillDefinition>> skillSelector) {
+        long modeVersion = modeRegistry.version();
+        long skillVersion = skillRegistry.version();
+        List<PromptBudgetReport.ModeReport> modes = new ArrayList<>();
+        List<String> violations = new ArrayList<>();
+
+        for (AgentMode mode : AgentMode.concreteModes()) {
+            ModeDefinition definition = modeRegistry.find(mode).orElse(null);
+            if (definition == null) {
+                continue;
+            }
+            PromptBudgetReport.ModeReport modeReport = analyzeMode(definition, skillSelector.apply(mode));
+            modes.add(modeReport);
+
+            modeReport.nodes().stream()
+                    .filter(PromptBudgetReport.NodeReport::overBudget)
+                    .forEach(node -> violations.add(mode + "/" + node.node() + " estimates " + node.totalTokens()
+                            + " tokens (node budget " + properties.getMaxNodeTokens() + ")"));
+            if (modeReport.totalTokens() > properties.getMaxModeTokens()) {
+                violations.add(mode + " estimates " + modeReport.totalTokens() + " instruction tokens across "
+                        + modeReport.nodes().size() + " LLM nodes (mode budget " + properties.getMaxModeTokens() + ")");
+            }
+        }
+
+        return new PromptBudgetReport(
+                modeVersion,
+                skillVersion,
+                properties.getMaxNodeTokens(),
+                properties.getMaxModeTokens(),
+                List.copyOf(modes),
+                List.copyOf(violations),
+                Instant.now()
+        );
+    }
+
+    private PromptBudgetReport.ModeReport analyzeMode(ModeDefinition definition, List<SkillDefinition> skills) {
+        int skillPromptTokens = TokenEstimator.estimate(skillPromptComposer.compose(skills));
+        Map<String, Integer> skillTokens = new LinkedHashMap<>();
+        skills.forEach(skill -> skillTokens.put(skill.getName(), TokenEstimator.estimate(skillPromptComposer.compose(List.of(skill)))));
+
+        List<PromptBudgetReport.NodeReport> nodes = new ArrayList<>();
+        collectLlmNodes(definition, definition.getRoot(), new HashSet<>(), nodes, skillPromptTokens);
+        int totalTokens = nodes.stream().mapToInt(PromptBudgetReport.NodeReport::totalTokens).sum();
+
+        return new PromptBudgetReport.ModeReport(
+                definition.getMode().name(),
+                skills.stream().map(SkillDefinition::getName).toList(),
+                skillPromptTokens,
+                skillTokens,
+                totalTokens,
+                List.copyOf(nodes)
+        );
+    }
+
+    private void collectLlmNodes(ModeDefinition definition,
+                                 String nodeRef,
+                                 Set<String> visited,
+                                 List<PromptBudgetReport.NodeReport> nodes,
+                                 int skillPromptTokens) {
+        ModeNodeDefinition node = definition.getNodes().get(nodeRef);
+        if (node == null || !visited.add(nodeRef)) {
+            return;
+        }
+        if (node.getKind() == ModeNodeKind.LLM) {
+            int instructionTokens = TokenEstimator.estimate(node.getInstruction());
+            int total = instructionTokens + skillPromptTokens;
+            nodes.add(new PromptBudgetReport.NodeReport(
+                    nodeRef,
+                    node.getName(),
+                    instructionTokens,
+                    skillPromptTokens,
+                    total,
+                    total > properties.getMaxNodeTokens()
+            ));
+        }
+        node.getSubAgents().forEach(child -> collectLlmNodes(definition, child, visited, nodes, skillPromptTokens));
+    }
+}
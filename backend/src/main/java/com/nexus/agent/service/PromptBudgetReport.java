@@ -0,0 +1,36 @@
+package com.nexus.agent.service;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+
+public record PromptBudgetReport(
+        long modeVersion,
+        long skillVersion,
+        int maxNodeTokens,
+        int maxModeTokens,
+        List<ModeReport> modes,
+        List<String> violations,
+        Instant analyzedAt
+) {
+
+    public record ModeReport(
+            String mode,
+            List<String> skills,
+            int skillPromptTokens,
+            Map<String, Integer> skillTokens,
+            int totalTokens,
+            List<NodeReport> nodes
+    ) {
+    }
+
+    public record NodeReport(
+            String node,
+            String name,
+            int instructionTokens,
+            int skillPromptTokens,
+            int totalTokens,
+            boolean overBudget
+    ) {
+    }
+}
@@ -0,0 +1,213 @@
+package com.nexus.agent.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.nexus.agent.config.ResponseCacheProperties;
+import com.nexus.agent.modes.ModesReloadedEvent;
+import com.nexus.agent.skills.SkillsReloadedEvent;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Comparator;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+// Exact-match run results: an in-memory LRU with TTL in front of an optional on-disk tier (one JSON file per key).
+// Mode and skill reloads change what a run would answer, so they clear both tiers.
+@Component
+public class ResponseCache {
+
+    private static final Logger log = LoggerFactory.getLogger(ResponseCache.class);
+
+    private final ResponseCacheProperties properties;
+    private final RunMetrics runMetrics;
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final Map<String, Entry> memory;
+    private final Path diskDirectory;
+
+    public ResponseCache(ResponseCacheProperties properties, RunMetrics runMetrics) {
+        this.properties = properties;
+        this.runMetrics = runMetrics;
+        int maxEntries = Math.max(1, properties.getMaxEntries());
+        this.memory = new LinkedHashMap<>(64, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Entry> eldest) {
+                return size() > maxEntries;
+            }
+        };
+        this.diskDirectory = hasText(properties.getDiskPath()) ? Paths.get(properties.getDiskPath()).toAbsolutePath().normalize() : null;
+    }
+
+    public boolean enabled() {
+        return properties.isEnabled();
+    }
+
+    public String key(String... parts) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            for (String part : parts) {
+                digest.update((part == null ? "" : part).getBytes(StandardCharsets.UTF_8));
+                digest.update((byte) 0);
+            }
+            return HexFormat.of().formatHex(digest.digest());
+        } catch (NoSuchAlgorithmException ex) {
+            throw new IllegalStateException("SHA-256 is not available", ex);
+        }
+    }
+
+    public Optional<CachedResponse> get(String key) {
+        long now = System.currentTimeMillis();
+        synchronized (memory) {
+            Entry entry = memory.get(key);
+            if (entry != null && entry.expiresAtMillis() > now) {
+                runMetrics.increment("response-cache.hit");
+                return Optional.of(entry.response());
+            }
+            memory.remove(key);
+        }
+        Optional<Entry> fromDisk = readDisk(key).filter(entry -> entry.expiresAtMillis() > now);
+        if (fromDisk.isPresent()) {
+            runMetrics.increment("response-cache.hit");
+            runMetrics.increment("response-cache.disk-hit");
+            synchronized (memory) {
+                memory.put(key, fromDisk.get());
+            }
+            return Optional.of(fromDisk.get().response());
+        }
+        runMetrics.increment("response-cache.miss");
+        return Optional.empty();
+    }
+
+    public void put(String key, CachedResponse response) {
+        Entry entry = new Entry(key, response, System.currentTimeMillis() + Math.max(1, properties.getTtlMs()));
+        synchronized (memory) {
+            memory.put(key, entry);
+        }
+        runMetrics.increment("response-cache.store");
+        writeDisk(entry);
+    }
+
+    @EventListener
+    public void onModesReloaded(ModesReloadedEvent event) {
+        clear();
+    }
+
+    @EventListener
+    public void onSkillsReloaded(SkillsReloadedEvent event) {
+        clear();
+    }
+
+    public void clear() {
+        synchronized (memory) {
+            memory.clear();
+        }
+        if (diskDirectory == null || !Files.isDirectory(diskDirectory)) {
+            return;
+        }
+        try (Stream<Path> files = Files.list(diskDirectory)) {
+            files.filter(this::isEntryFile).forEach(this::deleteQuietly);
+        } catch (IOException ex) {
+            log.warn("Failed clearing response cache directory {}", diskDirectory, ex);
+        }
+    }
+
+    private Optional<Entry> readDisk(String key) {
+        if (diskDirectory == null) {
+            return Optional.empty();
+        }
+        Path file = diskDirectory.resolve(key + ".json");
+        if (!Files.isRegularFile(file)) {
+            return Optional.empty();
+        }
+        try {
+            Entry entry = objectMapper.readValue(file.toFile(), Entry.class);
+            if (entry.expiresAtMillis() <= System.currentTimeMillis()) {
+                deleteQuietly(file);
+                return Optional.empty();
+            }
+            return Optional.of(entry);
+        } catch (IOException ex) {
+            log.warn("Dropping unreadable response cache entry {}", file, ex);
+            deleteQuietly(file);
+            return Optional.empty();
+        }
+    }
+
+    private void writeDisk(Entry entry) {
+        if (diskDirectory == null) {
+            return;
+        }
+        try {
+            Files.createDirectories(diskDirectory);
+            Path target = diskDirectory.resolve(entry.key() + ".json");
+            Path temp = Files.createTempFile(diskDirectory, entry.key(), ".tmp");
+            objectMapper.writeValue(temp.toFile(), entry);
+            Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            trimDisk();
+        } catch (IOException ex) {
+            log.warn("Failed writing response cache entry to {}", diskDirectory, ex);
+        }
+    }
+
+    // Oldest files go first once the tier holds more than diskMaxEntries.
+    private void trimDisk() throws IOException {
+        List<Path> files;
+        try (Stream<Path> listing = Files.list(diskDirectory)) {
+            files = listing.filter(this::isEntryFile).toList();
+        }
+        int excess = files.size() - Math.max(1, properties.getDiskMaxEntries());
+        if (excess <= 0) {
+            return;
+        }
+        files.stream()
+                .sorted(Comparator.comparingLong(this::lastModified))
+                .limit(excess)
+                .forEach(this::deleteQuietly);
+    }
+
+    private boolean isEntryFile(Path path) {
+        return Files.isRegularFile(path) && path.getFileName().toString().endsWith(".json");
+    }
+
+    private long lastModified(Path path) {
+        try {
+            return Files.getLastModifiedTime(path).toMillis();
+        } catch (IOException ex) {
+            return 0;
+        }
+    }
+
+    private void deleteQuietly(Path path) {
+        try {
+            Files.deleteIfExists(path);
+        } catch (IOException ex) {
+            log.debug("Failed deleting response cache file {}", path, ex);
+        }
+    }
+
+    private boolean hasText(String value) {
+        return value != null && !value.isBlank();
+    }
+
+    public record CachedResponse(String servedMode, List<CachedEvent> events) {
+    }
+
+    public record CachedEvent(String author, String text) {
+    }
+
+    record Entry(String key, CachedResponse response, long expiresAtMillis) {
+    }
+}
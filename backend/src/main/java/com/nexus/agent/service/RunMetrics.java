@@ -0,0 +1,105 @@
+package com.nexus.agent.service;
+
+import org.springframework.stereotype.Component;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+@Component
+public class RunMetrics {
+
+    private static final int LATENCY_WINDOW = 512;
+    // Names embed client-supplied models and endpoints, so past this many series per kind new names are folded into
+    // the "other" series instead of growing without bound.
+    private static final int MAX_SERIES = 4_096;
+    private static final String OVERFLOW = "other";
+
+    private final Map<String, LongAdder> counters = new ConcurrentHashMap<>();
+    private final Map<String, LatencyWindow> latencies = new ConcurrentHashMap<>();
+
+    public void increment(String name) {
+        add(name, 1);
+    }
+
+    public void add(String name, long delta) {
+        LongAdder counter = counters.get(name);
+        if (counter == null) {
+            counter = counters.computeIfAbsent(counters.size() >= MAX_SERIES ? OVERFLOW : name, ignored -> new LongAdder());
+        }
+        counter.add(delta);
+    }
+
+    public long count(String name) {
+        LongAdder counter = counters.get(name);
+        return counter == null ? 0 : counter.sum();
+    }
+
+    public void recordLatency(String name, long millis) {
+        LatencyWindow window = latencies.get(name);
+        if (window == null) {
+            window = latencies.computeIfAbsent(latencies.size() >= MAX_SERIES ? OVERFLOW : name, ignored -> new LatencyWindow());
+        }
+        window.record(Math.max(0, millis));
+    }
+
+    public LatencySnapshot latency(String name) {
+        LatencyWindow window = latencies.get(name);
+        return window == null ? LatencySnapshot.EMPTY : window.snapshot();
+    }
+
+    public Map<String, Object> snapshot() {
+        Map<String, Long> counterValues = new TreeMap<>();
+        counters.forEach((name, counter) -> counterValues.put(name, counter.sum()));
+        Map<String, LatencySnapshot> latencyValues = new TreeMap<>();
+        latencies.forEach((name, window) -> latencyValues.put(name, window.snapshot()));
+        return Map.of(
+                "counters", counterValues,
+                "latencies", latencyValues
+        );
+    }
+
+    public record LatencySnapshot(long count, long meanMillis, long p50Millis, long p95Millis, long p99Millis, long maxMillis) {
+        static final LatencySnapshot EMPTY = new LatencySnapshot(0, 0, 0, 0, 0, 0);
+    }
+
+    // Sliding window of the most recent samples; total count keeps growing past the window size.
+    private static final class LatencyWindow {
+
+        private final long[] samples = new long[LATENCY_WINDOW];
+        private long total;
+
+        private synchronized void record(long millis) {
+            samples[(int) (total % LATENCY_WINDOW)] = millis;
+            total++;
+        }
+
+        private synchronized LatencySnapshot snapshot() {
+            int size = (int) Math.min(total, LATENCY_WINDOW);
+            if (size == 0) {
+                return LatencySnapshot.EMPTY;
+            }
+            long[] sorted = Arrays.copyOf(samples, size);
+            Arrays.sort(sorted);
+            long sum = 0;
+            for (long sample : sorted) {
+                sum += sample;
+            }
+            return new LatencySnapshot(
+                    total,
+                    sum / size,
+                    percentile(sorted, 0.50),
+                    percentile(sorted, 0.95),
+                    percentile(sorted, 0.99),
+                    sorted[size - 1]
+            );
+        }
+
+        private long percentile(long[] sorted, double quantile) {
+            int index = (int) Math.ceil(quantile * sorted.length) - 1;
+            return sorted[Math.max(0, Math.min(sorted.length - 1, index))];
+        }
+    }
+}
@@ -0,0 +1,26 @@
+package com.nexus.agent.service;
+
+import com.google.adk.events.Event;
+import com.nexus.agent.domain.AgentMode;
+import com.nexus.agent.domain.RunUsage;
+import com.nexus.agent.llm.PayloadLedger;
+import com.nexus.agent.llm.RunBudget;
+
+import java.util.List;
+
+public record RunOutcome(
+        List<Event> events,
+        AgentMode servedMode,
+        long timeoutMs,
+        boolean deadlineExceeded,
+        List<String> expiredNodes,
+        List<PayloadLedger.EdgeUsage> payloadEdges,
+        boolean cached,
+        RunUsage usage,
+        RunBudget.Report budget
+) {
+
+    public boolean degraded() {
+        return deadlineExceeded || !expiredNodes.isEmpty() || budget.exceeded();
+    }
+}
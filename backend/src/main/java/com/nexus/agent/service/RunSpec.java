@@ -0,0 +1,25 @@
+package com.nexus.agent.service;
+
+import com.google.genai.types.Content;
+import com.nexus.agent.domain.AgentMode;
+import com.nexus.agent.skills.SkillDefinition;
+
+import java.util.List;
+import java.util.Map;
+
+public record RunSpec(
+        AgentMode mode,
+        List<SkillDefinition> activeSkills,
+        String model,
+        Map<String, String> nodeModels,
+        String llmBaseUrl,
+        String llmApiKey,
+        String userId,
+        String sessionId,
+        Content message,
+        Long timeoutMs,
+        Long maxTokens,
+        Integer maxLlmCalls,
+        Boolean responseCache
+) {
+}
@@ -0,0 +1,172 @@
+package com.nexus.agent.service;
+
+import com.google.adk.events.Event;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+// In-flight deduplication of identical runs. The first caller for a key starts the run on a shared worker; every
+// caller, the first included, receives the events already produced and then every later one through its own queue,
+// drained on its own thread, and gets the same outcome or error. A slow or disconnected client only affects itself.
+final class SingleFlight {
+
+    private static final Object END = new Object();
+
+    private final Map<String, Flight> flights = new HashMap<>();
+    private final ExecutorService executor = Executors.newCachedThreadPool(runnable -> {
+        Thread thread = new Thread(runnable, "nexus-single-flight");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    Joined join(String key, Consumer<Event> sink, Function<Consumer<Event>, RunOutcome> run) {
+        Subscriber subscriber = new Subscriber(sink);
+        Flight flight;
+        boolean leader;
+        synchronized (flights) {
+            flight = flights.get(key);
+            leader = flight == null;
+            if (leader) {
+                flight = new Flight();
+                flights.put(key, flight);
+            }
+            flight.attach(subscriber);
+        }
+        if (leader) {
+            start(key, flight, run);
+        }
+        subscriber.drain();
+        return new Joined(await(flight.result), leader);
+    }
+
+    void close() {
+        executor.shutdownNow();
+    }
+
+    private void start(String key, Flight flight, Function<Consumer<Event>, RunOutcome> run) {
+        // The flight leaves the map before anyone sees its result, so a caller that arrives after a run has
+        // finished starts a new one instead of being handed the old outcome.
+        Runnable task = () -> {
+            RunOutcome outcome;
+            try {
+                outcome = run.apply(flight::publish);
+            } catch (RuntimeException | Error ex) {
+                land(key, flight);
+                flight.result.completeExceptionally(ex);
+                return;
+            }
+            land(key, flight);
+            flight.result.complete(outcome);
+        };
+        try {
+            executor.execute(task);
+        } catch (RejectedExecutionException ex) {
+            land(key, flight);
+            flight.result.completeExceptionally(ex);
+        }
+    }
+
+    private void land(String key, Flight flight) {
+        synchronized (flights) {
+            flights.remove(key, flight);
+        }
+        flight.finish();
+    }
+
+    private RunOutcome await(CompletableFuture<RunOutcome> result) {
+        try {
+            return result.join();
+        } catch (CompletionException ex) {
+            if (ex.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            if (ex.getCause() instanceof Error error) {
+                throw error;
+            }
+            throw ex;
+        }
+    }
+
+    record Joined(RunOutcome outcome, boolean leader) {
+    }
+
+    private static final class Flight {
+
+        private final List<Event> events = new ArrayList<>();
+        private final List<Subscriber> subscribers = new ArrayList<>();
+        private final CompletableFuture<RunOutcome> result = new CompletableFuture<>();
+        private boolean finished;
+
+        // Only enqueues under the lock; delivery happens on each subscriber's thread.
+        private synchronized void attach(Subscriber subscriber) {
+            events.forEach(subscriber::offer);
+            if (finished) {
+                subscriber.finish();
+            } else {
+                subscribers.add(subscriber);
+            }
+        }
+
+        private synchronized void publish(Event event) {
+            events.add(event);
+            subscribers.forEach(subscriber -> subscriber.offer(event));
+        }
+
+        private synchronized void finish() {
+            finished = true;
+            subscribers.forEach(Subscriber::finish);
+        }
+    }
+
+    private static final class Subscriber {
+
+        private final Consumer<Event> sink;
+        private final BlockingQueue<Object> queue = new LinkedBlockingQueue<>();
+
+        private Subscriber(Consumer<Event> sink) {
+            this.sink = sink;
+        }
+
+        private void offer(Event event) {
+            queue.add(event);
+        }
+
+        private void finish() {
+            queue.add(END);
+        }
+
+        // A sink that throws (its client went away) is detached; the rest of its queue is discarded.
+        private void drain() {
+            boolean detached = false;
+            try {
+                while (true) {
+                    Object next = queue.take();
+                    if (next == END) {
+                        return;
+                    }
+                    if (detached) {
+                        continue;
+                    }
+                    try {
+                        sink.accept((Event) next);
+                    } catch (RuntimeException ex) {
+                        detached = true;
+                    }
+                }
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+}
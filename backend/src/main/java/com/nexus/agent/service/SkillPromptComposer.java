@@ -1,18 +1,56 @@
 package com.nexus.agent.service;
 
 import com.nexus.agent.skills.SkillDefinition;
+import com.nexus.agent.skills.SkillRegistry;
+import com.nexus.agent.skills.SkillsReloadedEvent;
+import org.springframework.context.event.EventListener;
 import org.springframework.stereotype.Component;
 
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
 
 @Component
 public class SkillPromptComposer {
 
+    private static final int MAX_CACHED_PROMPTS = 256;
+
+    // Access-ordered, so the eldest entry is the least recently used prompt.
+    private final LinkedHashMap<String, CachedPrompt> cache = new LinkedHashMap<>(16, 0.75f, true);
+
     public String compose(List<SkillDefinition> skills) {
         if (skills == null || skills.isEmpty()) {
             return "";
         }
 
+        String fingerprint = SkillRegistry.fingerprint(skills);
+        synchronized (cache) {
+            CachedPrompt cached = cache.get(fingerprint);
+            if (cached != null) {
+                return cached.prompt();
+            }
+        }
+
+        Set<String> skillNames = skills.stream().map(SkillDefinition::getName).collect(Collectors.toUnmodifiableSet());
+        String prompt = render(skills);
+        synchronized (cache) {
+            cache.put(fingerprint, new CachedPrompt(skillNames, prompt));
+            if (cache.size() > MAX_CACHED_PROMPTS) {
+                cache.remove(cache.keySet().iterator().next());
+            }
+        }
+        return prompt;
+    }
+
+    @EventListener
+    public void onSkillsReloaded(SkillsReloadedEvent event) {
+        synchronized (cache) {
+            cache.values().removeIf(entry -> entry.skillNames().stream().anyMatch(event::affects));
+        }
+    }
+
+    private String render(List<SkillDefinition> skills) {
         StringBuilder prompt = new StringBuilder();
         prompt.append("\n\nActivated skills:\n");
         for (SkillDefinition skill : skills) {
@@ -27,4 +65,7 @@ public class SkillPromptComposer {
         }
         return prompt.toString();
     }
+
+    private record CachedPrompt(Set<String> skillNames, String prompt) {
+    }
 }
@@ -0,0 +1,33 @@
+package com.nexus.agent.service;
+
+// Offline approximation: ~4 characters per token for Latin text, one token per CJK character.
+public final class TokenEstimator {
+
+    private static final double CHARS_PER_TOKEN = 4.0;
+
+    private TokenEstimator() {
+    }
+
+    public static int estimate(String text) {
+        if (text == null || text.isEmpty()) {
+            return 0;
+        }
+        int cjk = 0;
+        int other = 0;
+        int offset = 0;
+        while (offset < text.length()) {
+            int codePoint = text.codePointAt(offset);
+            offset += Character.charCount(codePoint);
+            Character.UnicodeScript script = Character.UnicodeScript.of(codePoint);
+            if (script == Character.UnicodeScript.HAN
+                    || script == Character.UnicodeScript.HIRAGANA
+                    || script == Character.UnicodeScript.KATAKANA
+                    || script == Character.UnicodeScript.HANGUL) {
+                cjk++;
+            } else {
+                other++;
+            }
+        }
+        return cjk + (int) Math.ceil(other / CHARS_PER_TOKEN);
+    }
+}
@@ -0,0 +1,80 @@
+package com.nexus.agent.service;
+
+import com.google.adk.events.Event;
+import com.google.genai.types.GenerateContentResponseUsageMetadata;
+import com.nexus.agent.domain.RunUsage;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+// Per-run usage accumulator fed from the event stream as it flows. Every non-partial model event carries the usage
+// of the call that produced it, and is attributed to the model stamped on it by the circuit breakers (a failover
+// alternate included), else the one the topology bound to the authoring node.
+public class UsageLedger {
+
+    private final Map<String, String> modelsByNode = new ConcurrentHashMap<>();
+    private final Map<NodeModel, Counts> countsByNode = new LinkedHashMap<>();
+
+    public void bindModel(String node, String model) {
+        modelsByNode.put(node, model);
+    }
+
+    public void record(Event event) {
+        if (event.partial().orElse(false) || event.usageMetadata().isEmpty()) {
+            return;
+        }
+        GenerateContentResponseUsageMetadata usage = event.usageMetadata().get();
+        String node = event.author();
+        String model = event.modelVersion().orElseGet(() -> modelsByNode.getOrDefault(node, "unknown"));
+        synchronized (countsByNode) {
+            Counts counts = countsByNode.computeIfAbsent(new NodeModel(node, model), ignored -> new Counts());
+            counts.calls++;
+            counts.prompt += usage.promptTokenCount().orElse(0);
+            counts.completion += usage.candidatesTokenCount().orElse(0);
+            counts.cached += usage.cachedContentTokenCount().orElse(0);
+            counts.total += usage.totalTokenCount()
+                    .orElse(usage.promptTokenCount().orElse(0) + usage.candidatesTokenCount().orElse(0));
+        }
+    }
+
+    public RunUsage snapshot() {
+        List<RunUsage.NodeUsage> nodes = new ArrayList<>();
+        int prompt = 0;
+        int completion = 0;
+        int cached = 0;
+        int total = 0;
+        synchronized (countsByNode) {
+            for (Map.Entry<NodeModel, Counts> entry : countsByNode.entrySet()) {
+                Counts counts = entry.getValue();
+                nodes.add(new RunUsage.NodeUsage(
+                        entry.getKey().node(),
+                        entry.getKey().model(),
+                        counts.calls,
+                        counts.prompt,
+                        counts.completion,
+                        counts.cached,
+                        counts.total
+                ));
+                prompt += counts.prompt;
+                completion += counts.completion;
+                cached += counts.cached;
+                total += counts.total;
+            }
+        }
+        return nodes.isEmpty() ? RunUsage.EMPTY : new RunUsage(prompt, completion, cached, total, List.copyOf(nodes));
+    }
+
+    private record NodeModel(String node, String model) {
+    }
+
+    private static final class Counts {
+        private int calls;
+        private int prompt;
+        private int completion;
+        private int cached;
+        private int total;
+    }
+}
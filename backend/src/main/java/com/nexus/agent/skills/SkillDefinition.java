@@ -4,7 +4,9 @@ import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.nexus.agent.domain.AgentMode;
 
 import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 
 public class SkillDefinition {
 
@@ -14,6 +16,7 @@ public class SkillDefinition {
     private List<String> appliesTo = new ArrayList<>();
     private String instruction;
     private List<String> tools = new ArrayList<>();
+    private Map<String, Long> toolCacheTtlMs = new LinkedHashMap<>();
 
     public String getName() {
         return name;
@@ -63,6 +66,14 @@ public class SkillDefinition {
         this.tools = tools == null ? new ArrayList<>() : tools;
     }
 
+    public Map<String, Long> getToolCacheTtlMs() {
+        return toolCacheTtlMs;
+    }
+
+    public void setToolCacheTtlMs(Map<String, Long> toolCacheTtlMs) {
+        this.toolCacheTtlMs = toolCacheTtlMs == null ? new LinkedHashMap<>() : toolCacheTtlMs;
+    }
+
     @JsonIgnore
     public boolean supports(AgentMode mode) {
         if (appliesTo == null || appliesTo.isEmpty()) {
@@ -6,6 +6,7 @@ import com.nexus.agent.config.SkillProperties;
 import com.nexus.agent.domain.AgentMode;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Component;
 
 import jakarta.annotation.PostConstruct;
@@ -13,11 +14,22 @@ import java.io.IOException;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.LinkedHashSet;
 import java.util.List;
-import java.util.Objects;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
 import java.util.Set;
 import java.util.concurrent.atomic.AtomicReference;
+import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
 @Component
@@ -28,11 +40,15 @@ public class SkillRegistry {
     private final ObjectMapper jsonMapper = new ObjectMapper();
     private final ObjectMapper yamlMapper = new ObjectMapper(new YAMLFactory());
     private final Path skillDirectory;
+    private final SkillProperties skillProperties;
+    private final ApplicationEventPublisher eventPublisher;
 
-    private final AtomicReference<List<SkillDefinition>> cache = new AtomicReference<>(List.of());
+    private final AtomicReference<Snapshot> cache = new AtomicReference<>(Snapshot.EMPTY);
 
-    public SkillRegistry(SkillProperties skillProperties) {
+    public SkillRegistry(SkillProperties skillProperties, ApplicationEventPublisher eventPublisher) {
         this.skillDirectory = resolveDirectory(skillProperties.getPath());
+        this.skillProperties = skillProperties;
+        this.eventPublisher = eventPublisher;
     }
 
     @PostConstruct
@@ -43,42 +59,218 @@ public class SkillRegistry {
     public synchronized List<SkillDefinition> reload() {
         if (!Files.exists(skillDirectory)) {
             log.warn("Skill directory {} not found, skipping load.", skillDirectory.toAbsolutePath());
-            cache.set(List.of());
-            return cache.get();
+            return swap(Map.of(), Set.of(), true).skills();
         }
 
         try (Stream<Path> files = Files.list(skillDirectory)) {
-            List<SkillDefinition> loaded = files
+            Map<Path, SkillDefinition> loaded = files
                     .filter(Files::isRegularFile)
                     .filter(this::isSupported)
-                    .map(this::readSkill)
-                    .filter(Objects::nonNull)
-                    .sorted((left, right) -> left.getName().compareToIgnoreCase(right.getName()))
-                    .toList();
-            cache.set(loaded);
-            log.info("Loaded {} skill files from {}", loaded.size(), skillDirectory.toAbsolutePath());
-            return loaded;
+                    .collect(Collectors.toMap(path -> path.toAbsolutePath().normalize(), this::readSkill));
+            Snapshot snapshot = swap(loaded, Set.of(), true);
+            log.info("Loaded {} skill files from {} (version {})",
+                    snapshot.skills().size(), skillDirectory.toAbsolutePath(), snapshot.version());
+            return snapshot.skills();
         } catch (IOException e) {
             throw new IllegalStateException("Failed loading skills from " + skillDirectory.toAbsolutePath(), e);
         }
     }
 
+    public synchronized List<SkillDefinition> reloadFiles(Collection<Path> changedFiles) {
+        Snapshot current = cache.get();
+        Map<Path, SkillDefinition> files = new HashMap<>(current.files());
+        Set<String> changedNames = new HashSet<>();
+
+        for (Path changed : changedFiles) {
+            Path path = changed.toAbsolutePath().normalize();
+            if (!skillDirectory.equals(path.getParent()) || !isSupported(path)) {
+                continue;
+            }
+            SkillDefinition previous = files.remove(path);
+            if (previous != null) {
+                changedNames.add(normalize(previous.getName()));
+            }
+            if (Files.isRegularFile(path)) {
+                SkillDefinition definition = readSkill(path);
+                files.put(path, definition);
+                changedNames.add(normalize(definition.getName()));
+            }
+        }
+
+        if (changedNames.isEmpty()) {
+            return current.skills();
+        }
+        Snapshot snapshot = swap(files, changedNames, false);
+        log.info("Reloaded skills {} from {} (version {})", changedNames, skillDirectory.toAbsolutePath(), snapshot.version());
+        return snapshot.skills();
+    }
+
     public List<SkillDefinition> listAll() {
-        return cache.get();
+        return cache.get().skills();
+    }
+
+    public long version() {
+        return cache.get().version();
+    }
+
+    public Path directory() {
+        return skillDirectory;
+    }
+
+    public static String fingerprint(List<SkillDefinition> skills) {
+        if (skills == null || skills.isEmpty()) {
+            return "";
+        }
+        return skills.stream()
+                .map(skill -> skill.getName().trim().toLowerCase(Locale.ROOT))
+                .sorted()
+                .distinct()
+                .collect(Collectors.joining(","));
     }
 
+    public Optional<SkillDefinition> find(String skillName) {
+        if (skillName == null) {
+            return Optional.empty();
+        }
+        return Optional.ofNullable(cache.get().byName().get(normalize(skillName)));
+    }
+
+    // Callers pass names already trimmed and lower-cased, so the common path is one hash lookup per requested skill.
     public List<SkillDefinition> resolve(AgentMode mode, Set<String> requiredSkillNames) {
-        Set<String> normalized = requiredSkillNames == null
-                ? Set.of()
-                : requiredSkillNames.stream().filter(Objects::nonNull).map(String::trim).map(String::toLowerCase).collect(java.util.stream.Collectors.toSet());
-
-        return cache.get().stream()
-                .filter(SkillDefinition::isEnabled)
-                .filter(skill -> skill.supports(mode))
-                .filter(skill -> normalized.isEmpty() || normalized.contains(skill.getName().toLowerCase()))
+        ModeIndex index = cache.get().byMode().get(mode);
+        if (requiredSkillNames == null || requiredSkillNames.isEmpty()) {
+            return index.skills();
+        }
+
+        IndexedSkill[] slots = new IndexedSkill[index.skills().size()];
+        int matched = 0;
+        for (String name : requiredSkillNames) {
+            if (name == null) {
+                continue;
+            }
+            IndexedSkill entry = index.byName().get(name);
+            if (entry == null) {
+                entry = index.byName().get(normalize(name));
+            }
+            if (entry != null && slots[entry.position()] == null) {
+                slots[entry.position()] = entry;
+                matched++;
+            }
+        }
+
+        List<SkillDefinition> resolved = new ArrayList<>(matched);
+        for (IndexedSkill slot : slots) {
+            if (slot != null) {
+                resolved.add(slot.skill());
+            }
+        }
+        return List.copyOf(resolved);
+    }
+
+    public List<SkillDefinition> resolve(AgentMode mode,
+                                         Set<String> requiredSkillNames,
+                                         String message,
+                                         String selection) {
+        if ((requiredSkillNames != null && !requiredSkillNames.isEmpty()) || !isAutoSelect(selection)) {
+            return resolve(mode, requiredSkillNames);
+        }
+        return select(mode, message, skillProperties.getAutoSelectTopK(), skillProperties.getAutoSelectMinScore());
+    }
+
+    public List<SkillDefinition> select(AgentMode mode, String message, int topK, double minScore) {
+        Snapshot snapshot = cache.get();
+        List<SkillDefinition> candidates = snapshot.byMode().get(mode).skills();
+        List<String> queryTerms = snapshot.relevance().queryTerms(message);
+        if (candidates.isEmpty() || queryTerms.isEmpty() || topK < 1) {
+            return List.of();
+        }
+
+        List<ScoredSkill> ranked = new ArrayList<>();
+        for (int i = 0; i < candidates.size(); i++) {
+            double score = snapshot.relevance().score(candidates.get(i), queryTerms);
+            if (score >= minScore && score > 0) {
+                ranked.add(new ScoredSkill(i, score));
+            }
+        }
+        ranked.sort((left, right) -> Double.compare(right.score(), left.score()));
+
+        return ranked.stream()
+                .limit(topK)
+                .mapToInt(ScoredSkill::position)
+                .sorted()
+                .mapToObj(candidates::get)
                 .toList();
     }
 
+    private boolean isAutoSelect(String selection) {
+        if (selection == null || selection.isBlank()) {
+            return skillProperties.isAutoSelect();
+        }
+        return switch (selection.trim().toLowerCase(Locale.ROOT)) {
+            case "auto" -> true;
+            case "all" -> false;
+            default -> throw new IllegalArgumentException("Unsupported skillSelection: " + selection);
+        };
+    }
+
+    private Snapshot swap(Map<Path, SkillDefinition> files, Set<String> changedNames, boolean fullReload) {
+        List<SkillDefinition> skills = uniqueSkills(files);
+
+        Snapshot snapshot = new Snapshot(
+                cache.get().version() + 1,
+                Map.copyOf(files),
+                skills,
+                indexByName(skills),
+                indexByMode(skills),
+                SkillRelevanceIndex.build(skills.stream().filter(SkillDefinition::isEnabled).toList())
+        );
+        cache.set(snapshot);
+        eventPublisher.publishEvent(new SkillsReloadedEvent(snapshot.version(), Set.copyOf(changedNames), fullReload));
+        return snapshot;
+    }
+
+    private Map<String, SkillDefinition> indexByName(List<SkillDefinition> skills) {
+        Map<String, SkillDefinition> byName = new HashMap<>();
+        skills.forEach(skill -> byName.put(normalize(skill.getName()), skill));
+        return Map.copyOf(byName);
+    }
+
+    private Map<AgentMode, ModeIndex> indexByMode(List<SkillDefinition> skills) {
+        Map<AgentMode, ModeIndex> byMode = new EnumMap<>(AgentMode.class);
+        for (AgentMode mode : AgentMode.values()) {
+            List<SkillDefinition> enabled = skills.stream()
+                    .filter(SkillDefinition::isEnabled)
+                    .filter(skill -> skill.supports(mode))
+                    .toList();
+            Map<String, IndexedSkill> byName = new HashMap<>();
+            for (int i = 0; i < enabled.size(); i++) {
+                byName.put(normalize(enabled.get(i).getName()), new IndexedSkill(i, enabled.get(i)));
+            }
+            byMode.put(mode, new ModeIndex(enabled, Map.copyOf(byName)));
+        }
+        return Collections.unmodifiableMap(byMode);
+    }
+
+    private String normalize(String skillName) {
+        return skillName.trim().toLowerCase(Locale.ROOT);
+    }
+
+    // Sorted by name, then file; a name defined twice keeps its first definition, like duplicate tool names.
+    private List<SkillDefinition> uniqueSkills(Map<Path, SkillDefinition> files) {
+        Map<String, SkillDefinition> byName = new LinkedHashMap<>();
+        files.entrySet().stream()
+                .sorted(Comparator.<Map.Entry<Path, SkillDefinition>, String>comparing(
+                                entry -> entry.getValue().getName(), String.CASE_INSENSITIVE_ORDER)
+                        .thenComparing(Map.Entry::getKey))
+                .forEach(entry -> {
+                    SkillDefinition skill = entry.getValue();
+                    if (byName.putIfAbsent(normalize(skill.getName()), skill) != null) {
+                        log.warn("Skill {} in {} is already defined, ignoring", skill.getName(), entry.getKey().getFileName());
+                    }
+                });
+        return List.copyOf(byName.values());
+    }
+
     private boolean isSupported(Path path) {
         String name = path.getFileName().toString().toLowerCase();
         return name.endsWith(".yaml") || name.endsWith(".yml") || name.endsWith(".json");
@@ -128,4 +320,30 @@ public class SkillRegistry {
 
         return configured.toAbsolutePath().normalize();
     }
+
+    private record Snapshot(long version,
+                            Map<Path, SkillDefinition> files,
+                            List<SkillDefinition> skills,
+                            Map<String, SkillDefinition> byName,
+                            Map<AgentMode, ModeIndex> byMode,
+                            SkillRelevanceIndex relevance) {
+        private static final Snapshot EMPTY = new Snapshot(0, Map.of(), List.of(), Map.of(), emptyModeIndex(), SkillRelevanceIndex.EMPTY);
+
+        private static Map<AgentMode, ModeIndex> emptyModeIndex() {
+            Map<AgentMode, ModeIndex> byMode = new EnumMap<>(AgentMode.class);
+            for (AgentMode mode : AgentMode.values()) {
+                byMode.put(mode, new ModeIndex(List.of(), Map.of()));
+            }
+            return Collections.unmodifiableMap(byMode);
+        }
+    }
+
+    private record ModeIndex(List<SkillDefinition> skills, Map<String, IndexedSkill> byName) {
+    }
+
+    private record IndexedSkill(int position, SkillDefinition skill) {
+    }
+
+    private record ScoredSkill(int position, double score) {
+    }
 }
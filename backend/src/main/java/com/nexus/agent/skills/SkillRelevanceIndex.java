@@ -0,0 +1,157 @@
+package com.nexus.agent.skills;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+// BM25 over skill name, description and instruction; name and description terms are boosted by repetition.
+final class SkillRelevanceIndex {
+
+    static final SkillRelevanceIndex EMPTY = new SkillRelevanceIndex(Map.of(), Map.of(), 0);
+
+    private static final double K1 = 1.2;
+    private static final double B = 0.75;
+    private static final int NAME_BOOST = 3;
+    private static final int DESCRIPTION_BOOST = 2;
+    private static final int MAX_QUERY_CHARS = 4000;
+    private static final Set<String> STOP_WORDS = Set.of(
+            "a", "an", "and", "are", "as", "at", "be", "by", "for", "from", "how", "i", "in", "is", "it",
+            "me", "my", "of", "on", "or", "please", "that", "the", "this", "to", "we", "what", "with", "you"
+    );
+
+    private final Map<String, Document> documents;
+    private final Map<String, Double> idf;
+    private final double averageLength;
+
+    private SkillRelevanceIndex(Map<String, Document> documents, Map<String, Double> idf, double averageLength) {
+        this.documents = documents;
+        this.idf = idf;
+        this.averageLength = averageLength;
+    }
+
+    static SkillRelevanceIndex build(List<SkillDefinition> skills) {
+        if (skills.isEmpty()) {
+            return EMPTY;
+        }
+
+        Map<String, Document> documents = new HashMap<>();
+        Map<String, Integer> documentFrequency = new HashMap<>();
+        long totalLength = 0;
+        for (SkillDefinition skill : skills) {
+            Map<String, Integer> termFrequency = new HashMap<>();
+            int length = 0;
+            length += addTerms(termFrequency, skill.getName(), NAME_BOOST);
+            length += addTerms(termFrequency, skill.getDescription(), DESCRIPTION_BOOST);
+            length += addTerms(termFrequency, skill.getInstruction(), 1);
+            termFrequency.keySet().forEach(term -> documentFrequency.merge(term, 1, Integer::sum));
+            documents.put(key(skill), new Document(Map.copyOf(termFrequency), length));
+            totalLength += length;
+        }
+
+        int count = documents.size();
+        Map<String, Double> idf = new HashMap<>();
+        documentFrequency.forEach((term, df) -> idf.put(term, Math.log(1 + (count - df + 0.5) / (df + 0.5))));
+        return new SkillRelevanceIndex(Map.copyOf(documents), Map.copyOf(idf), (double) totalLength / count);
+    }
+
+    List<String> queryTerms(String message) {
+        if (message == null || message.isBlank()) {
+            return List.of();
+        }
+        String bounded = message.length() > MAX_QUERY_CHARS ? message.substring(0, MAX_QUERY_CHARS) : message;
+        List<String> terms = new ArrayList<>();
+        tokenize(bounded, terms);
+        // Terms unknown to every skill cannot contribute to any score.
+        terms.removeIf(term -> !idf.containsKey(term));
+        return terms;
+    }
+
+    double score(SkillDefinition skill, List<String> queryTerms) {
+        Document document = documents.get(key(skill));
+        if (document == null || queryTerms.isEmpty()) {
+            return 0;
+        }
+        double norm = K1 * (1 - B + B * document.length() / averageLength);
+        double score = 0;
+        for (String term : queryTerms) {
+            Integer frequency = document.termFrequency().get(term);
+            if (frequency == null) {
+                continue;
+            }
+            score += idf.get(term) * (frequency * (K1 + 1)) / (frequency + norm);
+        }
+        return score;
+    }
+
+    private static String key(SkillDefinition skill) {
+        return skill.getName().trim().toLowerCase(Locale.ROOT);
+    }
+
+    private static int addTerms(Map<String, Integer> termFrequency, String text, int weight) {
+        if (text == null || text.isBlank()) {
+            return 0;
+        }
+        List<String> terms = new ArrayList<>();
+        tokenize(text, terms);
+        terms.forEach(term -> termFrequency.merge(term, weight, Integer::sum));
+        return terms.size() * weight;
+    }
+
+    // Latin/digit runs become words; Han runs become character bigrams since they carry no whitespace.
+    private static void tokenize(String text, List<String> terms) {
+        String lower = text.toLowerCase(Locale.ROOT);
+        StringBuilder word = new StringBuilder();
+        int previousHan = -1;
+        int offset = 0;
+        while (offset < lower.length()) {
+            int codePoint = lower.codePointAt(offset);
+            offset += Character.charCount(codePoint);
+
+            if (Character.UnicodeScript.of(codePoint) == Character.UnicodeScript.HAN) {
+                flushWord(word, terms);
+                if (previousHan >= 0) {
+                    terms.add(new StringBuilder().appendCodePoint(previousHan).appendCodePoint(codePoint).toString());
+                } else if (offset >= lower.length()
+                        || Character.UnicodeScript.of(lower.codePointAt(offset)) != Character.UnicodeScript.HAN) {
+                    terms.add(new StringBuilder().appendCodePoint(codePoint).toString());
+                }
+                previousHan = codePoint;
+                continue;
+            }
+            previousHan = -1;
+            if (Character.isLetterOrDigit(codePoint)) {
+                word.appendCodePoint(codePoint);
+            } else {
+                flushWord(word, terms);
+            }
+        }
+        flushWord(word, terms);
+    }
+
+    private static void flushWord(StringBuilder word, List<String> terms) {
+        if (word.isEmpty()) {
+            return;
+        }
+        String term = stem(word.toString());
+        word.setLength(0);
+        if (term.length() > 1 && !STOP_WORDS.contains(term)) {
+            terms.add(term);
+        }
+    }
+
+    private static String stem(String term) {
+        if (term.length() > 4 && term.endsWith("ies")) {
+            return term.substring(0, term.length() - 3) + "y";
+        }
+        if (term.length() > 3 && term.endsWith("s") && !term.endsWith("ss")) {
+            return term.substring(0, term.length() - 1);
+        }
+        return term;
+    }
+
+    private record Document(Map<String, Integer> termFrequency, int length) {
+    }
+}
@@ -0,0 +1,11 @@
+package com.nexus.agent.skills;
+
+import java.util.Locale;
+import java.util.Set;
+
+public record SkillsReloadedEvent(long version, Set<String> changedSkills, boolean fullReload) {
+
+    public boolean affects(String skillName) {
+        return fullReload || (skillName != null && changedSkills.contains(skillName.trim().toLowerCase(Locale.ROOT)));
+    }
+}
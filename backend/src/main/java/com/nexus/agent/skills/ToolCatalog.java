@@ -1,48 +1,95 @@
 package com.nexus.agent.skills;
 
 import com.google.adk.tools.BaseTool;
-import com.google.adk.tools.FunctionTool;
+import com.nexus.agent.tools.MemoizingTool;
+import com.nexus.agent.tools.ToolPluginRegistry;
+import com.nexus.agent.tools.ToolResultCache;
+import org.springframework.context.event.EventListener;
 import org.springframework.stereotype.Component;
 
-import java.time.Instant;
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Locale;
 import java.util.Map;
-import java.util.Objects;
 import java.util.Set;
 import java.util.stream.Collectors;
 
 @Component
 public class ToolCatalog {
 
-    private final Map<String, BaseTool> indexedTools;
+    private static final int MAX_CACHED_TOOL_SETS = 256;
 
-    public ToolCatalog() {
-        Map<String, BaseTool> tools = new HashMap<>();
-        tools.put("echo", FunctionTool.create(this, "echo"));
-        tools.put("now", FunctionTool.create(this, "now"));
-        this.indexedTools = Map.copyOf(tools);
+    private final ToolPluginRegistry toolRegistry;
+    private final ToolResultCache toolResultCache;
+    // Access-ordered, so the eldest entry is the least recently used tool set.
+    private final LinkedHashMap<String, CachedTools> cache = new LinkedHashMap<>(16, 0.75f, true);
+
+    public ToolCatalog(ToolPluginRegistry toolRegistry, ToolResultCache toolResultCache) {
+        this.toolRegistry = toolRegistry;
+        this.toolResultCache = toolResultCache;
     }
 
     public List<BaseTool> resolve(List<SkillDefinition> skills) {
-        Set<String> toolNames = skills.stream()
-                .flatMap(skill -> skill.getTools().stream())
-                .filter(Objects::nonNull)
-                .map(String::trim)
-                .filter(name -> !name.isBlank())
-                .collect(Collectors.toSet());
-
-        return toolNames.stream()
-                .map(name -> indexedTools.get(name.toLowerCase()))
-                .filter(Objects::nonNull)
-                .toList();
+        if (skills == null || skills.isEmpty()) {
+            return List.of();
+        }
+
+        String fingerprint = SkillRegistry.fingerprint(skills);
+        synchronized (cache) {
+            CachedTools cached = cache.get(fingerprint);
+            if (cached != null) {
+                return cached.tools();
+            }
+        }
+
+        Set<String> skillNames = skills.stream().map(SkillDefinition::getName).collect(Collectors.toUnmodifiableSet());
+        List<BaseTool> tools = lookup(skills);
+        synchronized (cache) {
+            cache.put(fingerprint, new CachedTools(skillNames, tools));
+            if (cache.size() > MAX_CACHED_TOOL_SETS) {
+                cache.remove(cache.keySet().iterator().next());
+            }
+        }
+        return tools;
     }
 
-    public Map<String, Object> echo(String input) {
-        return Map.of("echo", input == null ? "" : input);
+    @EventListener
+    public void onSkillsReloaded(SkillsReloadedEvent event) {
+        synchronized (cache) {
+            cache.values().removeIf(entry -> entry.skillNames().stream().anyMatch(event::affects));
+        }
+    }
+
+    private List<BaseTool> lookup(List<SkillDefinition> skills) {
+        Set<String> toolNames = new LinkedHashSet<>();
+        Map<String, Long> skillCacheTtls = new HashMap<>();
+        for (SkillDefinition skill : skills) {
+            for (String name : skill.getTools()) {
+                if (name != null && !name.isBlank()) {
+                    toolNames.add(name.trim().toLowerCase(Locale.ROOT));
+                }
+            }
+            // When several active skills set a TTL for the same tool, the shortest one applies.
+            skill.getToolCacheTtlMs().forEach((name, ttlMs) -> {
+                if (name != null && ttlMs != null && ttlMs > 0) {
+                    skillCacheTtls.merge(name.trim().toLowerCase(Locale.ROOT), ttlMs, Math::min);
+                }
+            });
+        }
+
+        List<BaseTool> tools = new ArrayList<>(toolNames.size());
+        for (String name : toolNames) {
+            toolRegistry.find(name).ifPresent(tool -> {
+                long ttlMs = skillCacheTtls.getOrDefault(name, toolRegistry.cacheTtlMs(name));
+                tools.add(ttlMs > 0 ? new MemoizingTool(tool, ttlMs, toolResultCache) : tool);
+            });
+        }
+        return List.copyOf(tools);
     }
 
-    public Map<String, Object> now() {
-        return Map.of("timestamp", Instant.now().toString());
+    private record CachedTools(Set<String> skillNames, List<BaseTool> tools) {
     }
 }
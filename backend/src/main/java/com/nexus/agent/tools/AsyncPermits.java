@@ -0,0 +1,48 @@
+package com.nexus.agent.tools;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.concurrent.CompletableFuture;
+
+// Non-blocking semaphore: callers over the limit wait on a future instead of a thread. Waiters that were
+// cancelled (for example by a timeout) are skipped when a permit is handed over.
+final class AsyncPermits {
+
+    private final int permits;
+    private final Deque<CompletableFuture<Void>> waiters = new ArrayDeque<>();
+    private int inUse;
+
+    AsyncPermits(int permits) {
+        this.permits = permits;
+    }
+
+    synchronized CompletableFuture<Void> acquire() {
+        if (inUse < permits) {
+            inUse++;
+            return CompletableFuture.completedFuture(null);
+        }
+        CompletableFuture<Void> waiter = new CompletableFuture<>();
+        waiters.addLast(waiter);
+        return waiter;
+    }
+
+    void release() {
+        while (true) {
+            CompletableFuture<Void> next;
+            synchronized (this) {
+                next = waiters.pollFirst();
+                if (next == null) {
+                    inUse--;
+                    return;
+                }
+            }
+            if (next.complete(null)) {
+                return;
+            }
+        }
+    }
+
+    synchronized int waiting() {
+        return waiters.size();
+    }
+}
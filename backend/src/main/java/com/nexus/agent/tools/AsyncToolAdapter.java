@@ -0,0 +1,94 @@
+package com.nexus.agent.tools;
+
+import com.google.adk.tools.BaseTool;
+import com.google.adk.tools.ToolContext;
+import com.google.genai.types.FunctionDeclaration;
+import com.nexus.agent.service.RunMetrics;
+import io.reactivex.rxjava3.core.Single;
+
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+// Exposes a NexusTool to ADK. Each call waits for a permit of the tool's own concurrency limit without holding a
+// thread, then runs on the tool executor; since the returned Single completes off the caller thread, the function
+// calls of one model turn execute concurrently. Timeouts and failures become an "error" result for the model.
+public class AsyncToolAdapter extends BaseTool {
+
+    private final NexusTool tool;
+    private final long timeoutMs;
+    private final AsyncPermits permits;
+    private final Executor executor;
+    private final RunMetrics metrics;
+
+    public AsyncToolAdapter(NexusTool tool, long timeoutMs, int maxConcurrency, Executor executor, RunMetrics metrics) {
+        super(tool.name(), tool.description());
+        this.tool = tool;
+        this.timeoutMs = timeoutMs;
+        this.permits = new AsyncPermits(maxConcurrency);
+        this.executor = executor;
+        this.metrics = metrics;
+    }
+
+    @Override
+    public Optional<FunctionDeclaration> declaration() {
+        FunctionDeclaration.Builder builder = FunctionDeclaration.builder()
+                .name(tool.name())
+                .description(tool.description());
+        if (tool.parameters() != null) {
+            builder.parameters(tool.parameters());
+        }
+        return Optional.of(builder.build());
+    }
+
+    @Override
+    public Single<Map<String, Object>> runAsync(Map<String, Object> args, ToolContext toolContext) {
+        return Single.defer(() -> {
+            String key = "tool." + tool.name();
+            long started = System.currentTimeMillis();
+            if (permits.waiting() > 0) {
+                metrics.increment(key + ".queued");
+            }
+            CompletableFuture<Void> permit = permits.acquire();
+            CompletableFuture<Map<String, Object>> call = permit.thenComposeAsync(ignored -> invoke(args), executor);
+            return Single.fromCompletionStage(call)
+                    .timeout(timeoutMs, TimeUnit.MILLISECONDS)
+                    .doOnSuccess(result -> metrics.recordLatency(key, System.currentTimeMillis() - started))
+                    .onErrorReturn(error -> {
+                        // A caller that gave up while still queued must not be handed a permit later.
+                        permit.cancel(false);
+                        boolean timedOut = error instanceof TimeoutException;
+                        metrics.increment(key + (timedOut ? ".timeout" : ".errors"));
+                        String message = timedOut
+                                ? "Tool " + tool.name() + " timed out after " + timeoutMs + " ms"
+                                : "Tool " + tool.name() + " failed: " + rootMessage(error);
+                        return Map.of("error", message);
+                    });
+        });
+    }
+
+    // The permit is held until the tool itself finishes (or exceeds its timeout), not just until the caller stops
+    // waiting, so slow tools cannot exceed their concurrency limit.
+    private CompletableFuture<Map<String, Object>> invoke(Map<String, Object> args) {
+        CompletableFuture<Map<String, Object>> invocation;
+        try {
+            invocation = tool.invoke(args == null ? Map.of() : args).toCompletableFuture();
+        } catch (RuntimeException ex) {
+            invocation = CompletableFuture.failedFuture(ex);
+        }
+        return invocation
+                .orTimeout(timeoutMs, TimeUnit.MILLISECONDS)
+                .whenComplete((result, error) -> permits.release());
+    }
+
+    private String rootMessage(Throwable error) {
+        Throwable current = error;
+        while (current.getCause() != null && current.getCause() != current) {
+            current = current.getCause();
+        }
+        return current.getMessage() == null ? current.getClass().getSimpleName() : current.getMessage();
+    }
+}
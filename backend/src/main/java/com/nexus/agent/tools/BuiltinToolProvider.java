@@ -0,0 +1,68 @@
+package com.nexus.agent.tools;
+
+import com.google.genai.types.Schema;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+
+public class BuiltinToolProvider implements ToolProvider {
+
+    @Override
+    public List<NexusTool> tools() {
+        return List.of(new EchoTool(), new NowTool());
+    }
+
+    private static final class EchoTool implements NexusTool {
+
+        @Override
+        public String name() {
+            return "echo";
+        }
+
+        @Override
+        public String description() {
+            return "Echo the input text back.";
+        }
+
+        @Override
+        public Schema parameters() {
+            return Schema.builder()
+                    .type("OBJECT")
+                    .properties(Map.of("input", Schema.builder().type("STRING").build()))
+                    .required(List.of("input"))
+                    .build();
+        }
+
+        @Override
+        public long cacheTtlMs() {
+            return 300_000;
+        }
+
+        @Override
+        public CompletionStage<Map<String, Object>> invoke(Map<String, Object> args) {
+            Object input = args.get("input");
+            return CompletableFuture.completedFuture(Map.of("echo", input == null ? "" : input.toString()));
+        }
+    }
+
+    private static final class NowTool implements NexusTool {
+
+        @Override
+        public String name() {
+            return "now";
+        }
+
+        @Override
+        public String description() {
+            return "Return the current UTC timestamp.";
+        }
+
+        @Override
+        public CompletionStage<Map<String, Object>> invoke(Map<String, Object> args) {
+            return CompletableFuture.completedFuture(Map.of("timestamp", Instant.now().toString()));
+        }
+    }
+}
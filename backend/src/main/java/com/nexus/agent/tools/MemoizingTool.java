@@ -0,0 +1,46 @@
+package com.nexus.agent.tools;
+
+import com.google.adk.tools.BaseTool;
+import com.google.adk.tools.ToolContext;
+import com.google.genai.types.FunctionDeclaration;
+import io.reactivex.rxjava3.core.Single;
+
+import java.util.Map;
+import java.util.Optional;
+
+// Serves repeated calls of a deterministic tool from the shared ToolResultCache. Error results are never cached.
+public class MemoizingTool extends BaseTool {
+
+    private final BaseTool delegate;
+    private final long ttlMs;
+    private final ToolResultCache cache;
+
+    public MemoizingTool(BaseTool delegate, long ttlMs, ToolResultCache cache) {
+        super(delegate.name(), delegate.description());
+        this.delegate = delegate;
+        this.ttlMs = ttlMs;
+        this.cache = cache;
+    }
+
+    @Override
+    public Optional<FunctionDeclaration> declaration() {
+        return delegate.declaration();
+    }
+
+    @Override
+    public Single<Map<String, Object>> runAsync(Map<String, Object> args, ToolContext toolContext) {
+        return Single.defer(() -> {
+            String key = cache.key(name(), args);
+            Optional<Map<String, Object>> cached = cache.get(name(), key);
+            if (cached.isPresent()) {
+                return Single.just(cached.get());
+            }
+            return delegate.runAsync(args, toolContext)
+                    .doOnSuccess(result -> {
+                        if (result != null && !result.containsKey("error")) {
+                            cache.put(name(), key, result, ttlMs);
+                        }
+                    });
+        });
+    }
+}
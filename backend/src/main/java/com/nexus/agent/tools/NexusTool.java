@@ -0,0 +1,37 @@
+package com.nexus.agent.tools;
+
+import com.google.genai.types.Schema;
+
+import java.util.Map;
+import java.util.concurrent.CompletionStage;
+
+// Tool SPI. Implementations are contributed by a ToolProvider (classpath, plugin jar or Spring bean) and are
+// exposed to skills by name. invoke runs on the tool executor, so blocking work there does not hold the run thread.
+public interface NexusTool {
+
+    String name();
+
+    String description();
+
+    // JSON schema of the arguments object; null for tools without arguments.
+    default Schema parameters() {
+        return null;
+    }
+
+    CompletionStage<Map<String, Object>> invoke(Map<String, Object> args);
+
+    // 0 falls back to nexus.tools.default-timeout-ms (or a per-tool override).
+    default long timeoutMs() {
+        return 0;
+    }
+
+    // 0 falls back to nexus.tools.default-max-concurrency (or a per-tool override).
+    default int maxConcurrency() {
+        return 0;
+    }
+
+    // Pure tools may opt into result memoization; 0 disables it unless a skill sets toolCacheTtlMs for the tool.
+    default long cacheTtlMs() {
+        return 0;
+    }
+}
@@ -0,0 +1,185 @@
+package com.nexus.agent.tools;
+
+import com.google.adk.tools.BaseTool;
+import com.nexus.agent.config.ToolProperties;
+import com.nexus.agent.service.RunMetrics;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.net.MalformedURLException;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.ServiceConfigurationError;
+import java.util.ServiceLoader;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Stream;
+
+// Collects tools from ToolProvider beans, the application classpath and plugin jars, and wraps each one with its
+// timeout and concurrency limit. The first provider to claim a name wins.
+@Component
+public class ToolPluginRegistry {
+
+    private static final Logger log = LoggerFactory.getLogger(ToolPluginRegistry.class);
+
+    private final ToolProperties properties;
+    private final ObjectProvider<ToolProvider> beanProviders;
+    private final RunMetrics runMetrics;
+    private final ExecutorService executor;
+    private final List<URLClassLoader> pluginLoaders = new ArrayList<>();
+    private volatile Map<String, BaseTool> tools = Map.of();
+    private volatile Map<String, Long> cacheTtls = Map.of();
+
+    public ToolPluginRegistry(ToolProperties properties,
+                              ObjectProvider<ToolProvider> beanProviders,
+                              RunMetrics runMetrics) {
+        this.properties = properties;
+        this.beanProviders = beanProviders;
+        this.runMetrics = runMetrics;
+        AtomicInteger threadIndex = new AtomicInteger();
+        this.executor = Executors.newFixedThreadPool(Math.max(1, properties.getExecutorThreads()), runnable -> {
+            Thread thread = new Thread(runnable, "nexus-tool-" + threadIndex.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    @PostConstruct
+    public void init() {
+        Map<String, BaseTool> loaded = new LinkedHashMap<>();
+        Map<String, Long> ttls = new LinkedHashMap<>();
+        beanProviders.orderedStream().forEach(provider -> register(loaded, ttls, provider, "bean"));
+        ServiceLoader.load(ToolProvider.class, ToolPluginRegistry.class.getClassLoader())
+                .forEach(provider -> register(loaded, ttls, provider, "classpath"));
+        for (Path jar : pluginJars()) {
+            try {
+                URLClassLoader loader = new URLClassLoader(new URL[]{jar.toUri().toURL()}, ToolPluginRegistry.class.getClassLoader());
+                pluginLoaders.add(loader);
+                // Only providers declared by the jar itself; parent-visible providers were registered above.
+                ServiceLoader.load(ToolProvider.class, loader).stream()
+                        .filter(provider -> provider.type().getClassLoader() == loader)
+                        .forEach(provider -> register(loaded, ttls, provider.get(), jar.getFileName().toString()));
+            } catch (MalformedURLException | RuntimeException | ServiceConfigurationError ex) {
+                log.warn("Failed loading tool plugin {}", jar.toAbsolutePath(), ex);
+            }
+        }
+        this.tools = Map.copyOf(loaded);
+        this.cacheTtls = Map.copyOf(ttls);
+        log.info("Registered {} tools: {}", loaded.size(), loaded.keySet());
+    }
+
+    public Optional<BaseTool> find(String name) {
+        if (name == null) {
+            return Optional.empty();
+        }
+        return Optional.ofNullable(tools.get(name.trim().toLowerCase(Locale.ROOT)));
+    }
+
+    // Memoization TTL the tool declares for itself; 0 when it is not cacheable by default.
+    public long cacheTtlMs(String name) {
+        return name == null ? 0 : cacheTtls.getOrDefault(name.trim().toLowerCase(Locale.ROOT), 0L);
+    }
+
+    public Set<String> names() {
+        return tools.keySet();
+    }
+
+    @PreDestroy
+    public void close() {
+        executor.shutdownNow();
+        for (URLClassLoader loader : pluginLoaders) {
+            try {
+                loader.close();
+            } catch (IOException ex) {
+                log.debug("Failed closing plugin class loader", ex);
+            }
+        }
+    }
+
+    private void register(Map<String, BaseTool> loaded, Map<String, Long> ttls, ToolProvider provider, String source) {
+        for (NexusTool tool : provider.tools()) {
+            String name = tool.name() == null ? "" : tool.name().trim().toLowerCase(Locale.ROOT);
+            if (name.isEmpty()) {
+                log.warn("Ignoring tool without a name from {} ({})", provider.getClass().getName(), source);
+                continue;
+            }
+            if (loaded.containsKey(name)) {
+                log.warn("Tool {} from {} ({}) is already registered, ignoring", name, provider.getClass().getName(), source);
+                continue;
+            }
+            ToolProperties.Limits limits = properties.getLimits().get(name);
+            long timeoutMs = firstPositive(
+                    limits == null ? null : limits.getTimeoutMs(),
+                    tool.timeoutMs(),
+                    properties.getDefaultTimeoutMs());
+            int maxConcurrency = (int) firstPositive(
+                    limits == null || limits.getMaxConcurrency() == null ? null : limits.getMaxConcurrency().longValue(),
+                    tool.maxConcurrency(),
+                    properties.getDefaultMaxConcurrency());
+            loaded.put(name, new AsyncToolAdapter(tool, timeoutMs, maxConcurrency, executor, runMetrics));
+            if (tool.cacheTtlMs() > 0) {
+                ttls.put(name, tool.cacheTtlMs());
+            }
+        }
+    }
+
+    private long firstPositive(Long override, long toolValue, long defaultValue) {
+        if (override != null && override > 0) {
+            return override;
+        }
+        if (toolValue > 0) {
+            return toolValue;
+        }
+        return Math.max(1, defaultValue);
+    }
+
+    private List<Path> pluginJars() {
+        Path directory = resolveDirectory(properties.getPluginDir());
+        if (directory == null) {
+            return List.of();
+        }
+        try (Stream<Path> files = Files.list(directory)) {
+            return files
+                    .filter(Files::isRegularFile)
+                    .filter(path -> path.getFileName().toString().toLowerCase(Locale.ROOT).endsWith(".jar"))
+                    .sorted()
+                    .toList();
+        } catch (IOException ex) {
+            log.warn("Failed listing tool plugin directory {}", directory, ex);
+            return List.of();
+        }
+    }
+
+    private Path resolveDirectory(String configuredPath) {
+        if (configuredPath == null || configuredPath.isBlank()) {
+            return null;
+        }
+        Path configured = Paths.get(configuredPath).normalize();
+        Set<Path> candidates = new LinkedHashSet<>();
+        candidates.add(configured.toAbsolutePath());
+        if (!configured.isAbsolute()) {
+            candidates.add(Paths.get("backend").resolve(configured).toAbsolutePath());
+            if (configured.getNameCount() > 1 && "backend".equals(configured.getName(0).toString())) {
+                candidates.add(configured.subpath(1, configured.getNameCount()).toAbsolutePath());
+            }
+        }
+        return candidates.stream().filter(Files::isDirectory).findFirst().orElse(null);
+    }
+}
@@ -0,0 +1,10 @@
+package com.nexus.agent.tools;
+
+import java.util.List;
+
+// Discovered through java.util.ServiceLoader (META-INF/services/com.nexus.agent.tools.ToolProvider) on the
+// application classpath and in every jar of nexus.tools.plugin-dir, or registered as a Spring bean.
+public interface ToolProvider {
+
+    List<NexusTool> tools();
+}
@@ -0,0 +1,159 @@
+package com.nexus.agent.tools;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.nexus.agent.config.ToolProperties;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+// Shared across sessions: LRU bounded by entry count and by approximate bytes (key plus JSON form of the result).
+// Keys are the tool name plus canonical JSON of the arguments, so key order and 1 vs 1.0 do not split entries.
+@Component
+public class ToolResultCache {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final int maxEntries;
+    private final long maxBytes;
+    private final LinkedHashMap<String, Entry> entries = new LinkedHashMap<>(256, 0.75f, true);
+    private final Map<String, ToolCounters> counters = new ConcurrentHashMap<>();
+    private long totalBytes;
+
+    public ToolResultCache(ToolProperties properties) {
+        this.maxEntries = Math.max(1, properties.getCacheMaxEntries());
+        this.maxBytes = Math.max(1, properties.getCacheMaxBytes());
+    }
+
+    public String key(String tool, Map<String, Object> args) {
+        try {
+            return tool + "|" + objectMapper.writeValueAsString(canonical(args == null ? Map.of() : args));
+        } catch (JsonProcessingException ex) {
+            throw new IllegalArgumentException("Tool " + tool + " arguments are not serializable", ex);
+        }
+    }
+
+    public Optional<Map<String, Object>> get(String tool, String key) {
+        ToolCounters toolCounters = counters(tool);
+        synchronized (this) {
+            Entry entry = entries.get(key);
+            if (entry != null && entry.expiresAtMillis() > System.currentTimeMillis()) {
+                toolCounters.hits.increment();
+                return Optional.of(new LinkedHashMap<>(entry.result()));
+            }
+            if (entry != null) {
+                remove(key);
+            }
+        }
+        toolCounters.misses.increment();
+        return Optional.empty();
+    }
+
+    public void put(String tool, String key, Map<String, Object> result, long ttlMs) {
+        long bytes;
+        try {
+            bytes = 2L * (key.length() + objectMapper.writeValueAsString(result).length());
+        } catch (JsonProcessingException ex) {
+            return;
+        }
+        // One oversized result must not flush the whole cache.
+        if (bytes > maxBytes / 8) {
+            counters(tool).skipped.increment();
+            return;
+        }
+        synchronized (this) {
+            remove(key);
+            entries.put(key, new Entry(tool, new LinkedHashMap<>(result), bytes, System.currentTimeMillis() + ttlMs));
+            totalBytes += bytes;
+            Iterator<Map.Entry<String, Entry>> eldest = entries.entrySet().iterator();
+            while ((entries.size() > maxEntries || totalBytes > maxBytes) && eldest.hasNext()) {
+                Entry evicted = eldest.next().getValue();
+                eldest.remove();
+                totalBytes -= evicted.bytes();
+                counters(evicted.tool()).evictions.increment();
+            }
+        }
+    }
+
+    public synchronized List<ToolCacheStats> stats() {
+        Map<String, long[]> sizes = new TreeMap<>();
+        for (Entry entry : entries.values()) {
+            long[] size = sizes.computeIfAbsent(entry.tool(), ignored -> new long[2]);
+            size[0]++;
+            size[1] += entry.bytes();
+        }
+        counters.keySet().forEach(tool -> sizes.computeIfAbsent(tool, ignored -> new long[2]));
+        List<ToolCacheStats> stats = new ArrayList<>();
+        sizes.forEach((tool, size) -> {
+            ToolCounters toolCounters = counters(tool);
+            long hits = toolCounters.hits.sum();
+            long misses = toolCounters.misses.sum();
+            stats.add(new ToolCacheStats(
+                    tool,
+                    hits,
+                    misses,
+                    hits + misses == 0 ? 0 : Math.round(1000.0 * hits / (hits + misses)) / 1000.0,
+                    toolCounters.evictions.sum(),
+                    toolCounters.skipped.sum(),
+                    size[0],
+                    size[1]
+            ));
+        });
+        return stats;
+    }
+
+    private void remove(String key) {
+        Entry removed = entries.remove(key);
+        if (removed != null) {
+            totalBytes -= removed.bytes();
+        }
+    }
+
+    private ToolCounters counters(String tool) {
+        return counters.computeIfAbsent(tool, ignored -> new ToolCounters());
+    }
+
+    private Object canonical(Object value) {
+        if (value instanceof Map<?, ?> map) {
+            Map<String, Object> sorted = new TreeMap<>();
+            map.forEach((key, item) -> sorted.put(String.valueOf(key), canonical(item)));
+            return sorted;
+        }
+        if (value instanceof Collection<?> collection) {
+            return collection.stream().map(this::canonical).toList();
+        }
+        if (value instanceof Number number) {
+            return new BigDecimal(number.toString()).stripTrailingZeros().toPlainString();
+        }
+        return value;
+    }
+
+    public record ToolCacheStats(String tool,
+                                 long hits,
+                                 long misses,
+                                 double hitRatio,
+                                 long evictions,
+                                 long skippedOversized,
+                                 long entries,
+                                 long approximateBytes) {
+    }
+
+    private record Entry(String tool, Map<String, Object> result, long bytes, long expiresAtMillis) {
+    }
+
+    private static final class ToolCounters {
+        private final LongAdder hits = new LongAdder();
+        private final LongAdder misses = new LongAdder();
+        private final LongAdder evictions = new LongAdder();
+        private final LongAdder skipped = new LongAdder();
+    }
+}
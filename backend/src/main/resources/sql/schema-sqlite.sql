@@ -1,5 +1,6 @@
 -- Intent: Persist chat request/response records for session-level history retrieval.
--- Scope: SQLite schema for nexus-agent relational persistence v1.
+-- Scope: SQLite schema for nexus-agent relational persistence v1; v2 adds per-run token usage columns
+--        (added to existing databases by SqliteSchemaInitializer).
 -- Rollback: DROP INDEX IF EXISTS idx_chat_history_session_created; DROP TABLE IF EXISTS chat_history;
 
 CREATE TABLE IF NOT EXISTS chat_history (
@@ -11,6 +12,11 @@ CREATE TABLE IF NOT EXISTS chat_history (
     response_message TEXT NOT NULL,
     activated_skills_json TEXT NOT NULL,
     event_count INTEGER NOT NULL,
+    prompt_tokens INTEGER NOT NULL DEFAULT 0,
+    completion_tokens INTEGER NOT NULL DEFAULT 0,
+    cached_tokens INTEGER NOT NULL DEFAULT 0,
+    total_tokens INTEGER NOT NULL DEFAULT 0,
+    node_usage_json TEXT NOT NULL DEFAULT '[]',
     created_at TEXT NOT NULL
 );
 
@@ -0,0 +1,154 @@
+package com.nexus.agent.llm;
+
+import com.nexus.agent.config.AdmissionProperties;
+import com.nexus.agent.service.RunMetrics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class AdmissionControllerTest {
+
+    private final RunMetrics metrics = new RunMetrics();
+    private AdmissionController controller;
+
+    @AfterEach
+    void close() {
+        if (controller != null) {
+            controller.close();
+        }
+    }
+
+    @Test
+    void neverAdmitsMoreThanTheModelLimitUnderContention() throws Exception {
+        controller = controller(new AdmissionProperties.Limits(3, 0, 0, 1_000), 10_000);
+        AtomicInteger inFlight = new AtomicInteger();
+        AtomicInteger peak = new AtomicInteger();
+        ExecutorService callers = Executors.newFixedThreadPool(16);
+        CountDownLatch start = new CountDownLatch(1);
+        try {
+            List<Future<?>> calls = new ArrayList<>();
+            for (int i = 0; i < 200; i++) {
+                String userId = "user-" + (i % 5);
+                calls.add(callers.submit(() -> {
+                    start.await();
+                    AdmissionController.Ticket ticket = controller.acquire(userId, null, "model").get(10, TimeUnit.SECONDS);
+                    peak.accumulateAndGet(inFlight.incrementAndGet(), Math::max);
+                    Thread.sleep(1);
+                    inFlight.decrementAndGet();
+                    ticket.release();
+                    return null;
+                }));
+            }
+            start.countDown();
+            for (Future<?> call : calls) {
+                call.get(30, TimeUnit.SECONDS);
+            }
+        } finally {
+            callers.shutdownNow();
+        }
+
+        assertTrue(peak.get() <= 3, "peak in flight " + peak.get());
+        assertEquals(200, metrics.count("admission.model.model.admitted"));
+    }
+
+    @Test
+    void rejectsImmediatelyWhenTheQueueIsFull() throws Exception {
+        controller = controller(new AdmissionProperties.Limits(1, 0, 0, 1), 10_000);
+        AdmissionController.Ticket held = controller.acquire("a", null, "model").get(1, TimeUnit.SECONDS);
+        CompletableFuture<AdmissionController.Ticket> queued = controller.acquire("a", null, "model");
+        CompletableFuture<AdmissionController.Ticket> rejected = controller.acquire("b", null, "model");
+
+        assertFalse(queued.isDone());
+        assertRejected(rejected);
+        assertEquals(1, metrics.count("admission.model.model.rejected.queue-full"));
+
+        held.release();
+        queued.get(1, TimeUnit.SECONDS).release();
+    }
+
+    @Test
+    void rejectsWaitersPastTheMaxQueueWait() throws Exception {
+        controller = controller(new AdmissionProperties.Limits(1, 0, 0, 8), 50);
+        AdmissionController.Ticket held = controller.acquire("a", null, "model").get(1, TimeUnit.SECONDS);
+
+        assertRejected(controller.acquire("b", null, "model"));
+        assertEquals(1, metrics.count("admission.model.model.rejected.timeout"));
+
+        held.release();
+        controller.acquire("b", null, "model").get(1, TimeUnit.SECONDS).release();
+    }
+
+    @Test
+    void servesQueuedUsersRoundRobin() throws Exception {
+        controller = controller(new AdmissionProperties.Limits(1, 0, 0, 16), 10_000);
+        AdmissionController.Ticket held = controller.acquire("burst", null, "model").get(1, TimeUnit.SECONDS);
+        List<String> order = new ArrayList<>();
+        List<CompletableFuture<Void>> served = new ArrayList<>();
+        for (String userId : List.of("burst", "burst", "burst", "other")) {
+            served.add(controller.acquire(userId, null, "model").thenAccept(ticket -> {
+                synchronized (order) {
+                    order.add(userId);
+                }
+                ticket.release();
+            }));
+        }
+
+        held.release();
+        CompletableFuture.allOf(served.toArray(CompletableFuture[]::new)).get(1, TimeUnit.SECONDS);
+
+        assertEquals(List.of("burst", "other", "burst", "burst"), order);
+    }
+
+    @Test
+    void cancelledWaiterFreesItsQueueSlot() throws Exception {
+        controller = controller(new AdmissionProperties.Limits(1, 0, 0, 1), 10_000);
+        AdmissionController.Ticket held = controller.acquire("a", null, "model").get(1, TimeUnit.SECONDS);
+        CompletableFuture<AdmissionController.Ticket> cancelled = controller.acquire("a", null, "model");
+        cancelled.cancel(false);
+
+        CompletableFuture<AdmissionController.Ticket> next = controller.acquire("b", null, "model");
+        assertFalse(next.isDone());
+
+        held.release();
+        next.get(1, TimeUnit.SECONDS).release();
+    }
+
+    @Test
+    void tokenBucketAdmitsTheBurstThenWaitsForRefill() throws Exception {
+        controller = controller(new AdmissionProperties.Limits(0, 20, 2, 8), 10_000);
+        controller.acquire("a", null, "model").get(1, TimeUnit.SECONDS).release();
+        controller.acquire("a", null, "model").get(1, TimeUnit.SECONDS).release();
+
+        CompletableFuture<AdmissionController.Ticket> throttled = controller.acquire("a", null, "model");
+        assertFalse(throttled.isDone());
+        throttled.get(1, TimeUnit.SECONDS).release();
+    }
+
+    private AdmissionController controller(AdmissionProperties.Limits modelLimits, long maxQueueWaitMs) {
+        AdmissionProperties properties = new AdmissionProperties();
+        properties.setModelDefaults(modelLimits);
+        properties.setMaxQueueWaitMs(maxQueueWaitMs);
+        return new AdmissionController(properties, metrics);
+    }
+
+    private static void assertRejected(CompletableFuture<AdmissionController.Ticket> ticket) {
+        ExecutionException error = assertThrows(ExecutionException.class, () -> ticket.get(5, TimeUnit.SECONDS));
+        assertInstanceOf(AdmissionRejectedException.class, error.getCause());
+    }
+}
@@ -0,0 +1,88 @@
+package com.nexus.agent.llm;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.nexus.agent.config.AdkProperties;
+import com.nexus.agent.config.CircuitBreakerProperties;
+import com.nexus.agent.service.RunMetrics;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class CircuitBreakerRegistryTest {
+
+    private final RunMetrics metrics = new RunMetrics();
+    private final CircuitBreakerRegistry registry = registry();
+
+    @Test
+    void failsOverWhileTheCircuitIsOpen() {
+        trip("primary");
+
+        CircuitBreakerRegistry.Route route = registry.route("default", "primary");
+
+        assertEquals("fallback", route.model());
+        assertEquals(1, metrics.count("circuit.default.primary.rejected"));
+        assertEquals(1, metrics.count("circuit.default.primary.failover.fallback"));
+    }
+
+    @Test
+    void failsFastWhenEveryCandidateIsOpen() {
+        trip("primary");
+        trip("fallback");
+
+        CircuitOpenException error = assertThrows(CircuitOpenException.class, () -> registry.route("default", "primary"));
+
+        assertTrue(error.retryAfterMs() > 0 && error.retryAfterMs() <= 60_000, "retry after " + error.retryAfterMs());
+        assertTrue(error.getMessage().contains("[fallback]"), error.getMessage());
+    }
+
+    @Test
+    void clientErrorsDoNotOpenTheCircuit() {
+        for (int i = 0; i < 10; i++) {
+            registry.route("default", "primary").onError(new UpstreamHttpException(400, "bad request"));
+        }
+
+        assertEquals("primary", registry.route("default", "primary").model());
+        assertEquals("CLOSED", state("primary"));
+    }
+
+    @Test
+    void openAiCompatibleEndpointsDoNotUseTheGeminiFailoverChain() {
+        String endpoint = "http://localhost:8000/v1";
+        for (int i = 0; i < 4; i++) {
+            registry.route(endpoint, "primary").onError(new UpstreamHttpException(503, "unavailable"));
+        }
+
+        assertThrows(CircuitOpenException.class, () -> registry.route(endpoint, "primary"));
+    }
+
+    private void trip(String model) {
+        for (int i = 0; i < 4; i++) {
+            registry.route("default", model).onError(new UpstreamHttpException(503, "unavailable"));
+        }
+        assertEquals("OPEN", state(model));
+    }
+
+    private String state(String model) {
+        return registry.states().stream()
+                .filter(state -> state.endpoint().equals("default") && state.model().equals(model))
+                .findFirst()
+                .orElseThrow()
+                .state();
+    }
+
+    private CircuitBreakerRegistry registry() {
+        CircuitBreakerProperties properties = new CircuitBreakerProperties();
+        properties.setWindowSize(10);
+        properties.setMinCalls(4);
+        properties.setOpenDurationMs(60_000);
+        properties.setFailover(Map.of("primary", "fallback"));
+        AdkProperties adkProperties = new AdkProperties();
+        adkProperties.setAvailableModels(List.of("primary", "fallback"));
+        return new CircuitBreakerRegistry(properties, adkProperties, new OpenAiCompatibleModels(new ObjectMapper()), metrics);
+    }
+}
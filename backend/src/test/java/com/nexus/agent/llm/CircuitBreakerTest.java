@@ -0,0 +1,144 @@
+package com.nexus.agent.llm;
+
+import com.nexus.agent.config.CircuitBreakerProperties;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class CircuitBreakerTest {
+
+    private static final long OPEN_MS = 1_000;
+
+    private final CircuitBreakerProperties properties = properties();
+    private final CircuitBreaker breaker = new CircuitBreaker("default", "model", properties);
+
+    @Test
+    void staysClosedUntilMinCallsAreRecorded() {
+        for (int i = 0; i < 3; i++) {
+            assertTrue(breaker.tryAcquire(0));
+            assertFalse(breaker.onFailure(0));
+        }
+
+        assertTrue(breaker.tryAcquire(0));
+        assertTrue(breaker.onFailure(0));
+        assertFalse(breaker.tryAcquire(0));
+        assertEquals(OPEN_MS, breaker.retryAfterMillis(0));
+    }
+
+    @Test
+    void opensOnSlowCallRate() {
+        for (int i = 0; i < 3; i++) {
+            assertFalse(breaker.onSuccess(500, 0));
+        }
+
+        assertTrue(breaker.onSuccess(500, 0));
+        assertEquals(CircuitBreaker.State.OPEN.name(), breaker.snapshot(0).state());
+    }
+
+    @Test
+    void successesKeepFailuresBelowTheThreshold() {
+        for (int i = 0; i < 20; i++) {
+            assertFalse(i % 4 == 3 ? breaker.onFailure(0) : breaker.onSuccess(10, 0));
+        }
+        assertFalse(breaker.idle());
+        assertEquals(CircuitBreaker.State.CLOSED.name(), breaker.snapshot(0).state());
+    }
+
+    @Test
+    void halfOpenAdmitsOnlyTheConfiguredProbesUnderContention() throws Exception {
+        open();
+        ExecutorService callers = Executors.newFixedThreadPool(16);
+        CountDownLatch start = new CountDownLatch(1);
+        AtomicInteger admitted = new AtomicInteger();
+        try {
+            List<Future<?>> calls = new ArrayList<>();
+            for (int i = 0; i < 64; i++) {
+                calls.add(callers.submit(() -> {
+                    start.await();
+                    if (breaker.tryAcquire(OPEN_MS)) {
+                        admitted.incrementAndGet();
+                    }
+                    return null;
+                }));
+            }
+            start.countDown();
+            for (Future<?> call : calls) {
+                call.get(10, TimeUnit.SECONDS);
+            }
+        } finally {
+            callers.shutdownNow();
+        }
+
+        assertEquals(2, admitted.get());
+        assertEquals(CircuitBreaker.State.HALF_OPEN.name(), breaker.snapshot(OPEN_MS).state());
+    }
+
+    @Test
+    void closesWhenEveryProbeSucceeds() {
+        open();
+        assertTrue(breaker.tryAcquire(OPEN_MS));
+        assertTrue(breaker.tryAcquire(OPEN_MS));
+
+        breaker.onSuccess(10, OPEN_MS);
+        assertFalse(breaker.tryAcquire(OPEN_MS));
+        breaker.onSuccess(10, OPEN_MS);
+
+        assertEquals(CircuitBreaker.State.CLOSED.name(), breaker.snapshot(OPEN_MS).state());
+        assertTrue(breaker.idle());
+    }
+
+    @Test
+    void reopensWhenAProbeFails() {
+        open();
+        assertTrue(breaker.tryAcquire(OPEN_MS));
+        assertTrue(breaker.tryAcquire(OPEN_MS));
+
+        breaker.onSuccess(10, OPEN_MS);
+        assertTrue(breaker.onFailure(OPEN_MS + 5));
+
+        assertFalse(breaker.tryAcquire(OPEN_MS + 5));
+        assertEquals(OPEN_MS, breaker.retryAfterMillis(OPEN_MS + 5));
+    }
+
+    @Test
+    void releasedProbeGivesItsSlotBack() {
+        open();
+        assertTrue(breaker.tryAcquire(OPEN_MS));
+        assertTrue(breaker.tryAcquire(OPEN_MS));
+        assertFalse(breaker.tryAcquire(OPEN_MS));
+
+        breaker.release();
+
+        assertTrue(breaker.tryAcquire(OPEN_MS));
+    }
+
+    private void open() {
+        for (int i = 0; i < 4; i++) {
+            breaker.onFailure(0);
+        }
+        assertFalse(breaker.tryAcquire(OPEN_MS - 1));
+    }
+
+    private static CircuitBreakerProperties properties() {
+        CircuitBreakerProperties properties = new CircuitBreakerProperties();
+        properties.setWindowSize(10);
+        properties.setMinCalls(4);
+        properties.setFailureRateThreshold(0.5);
+        properties.setSlowCallMs(100);
+        properties.setSlowCallRateThreshold(0.75);
+        properties.setOpenDurationMs(OPEN_MS);
+        properties.setHalfOpenProbes(2);
+        return properties;
+    }
+}
@@ -0,0 +1,168 @@
+package com.nexus.agent.llm;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.google.adk.models.LlmRequest;
+import com.google.adk.models.LlmResponse;
+import com.google.genai.types.Content;
+import com.google.genai.types.FunctionCall;
+import com.google.genai.types.Part;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+// Runs the adapter against a stand-in /v1/chat/completions server on a local port.
+class OpenAiCompatibleLlmTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final AtomicReference<JsonNode> lastRequest = new AtomicReference<>();
+    private final AtomicReference<String> lastAuthorization = new AtomicReference<>();
+    private final CountDownLatch release = new CountDownLatch(1);
+    private HttpServer server;
+
+    @BeforeEach
+    void startServer() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.start();
+    }
+
+    @AfterEach
+    void stopServer() {
+        release.countDown();
+        server.stop(0);
+    }
+
+    @Test
+    void streamsTextDeltasThenOneCompleteResponseWithToolCalls() {
+        respond(200, "text/event-stream", String.join("",
+                sse("{\"choices\":[{\"delta\":{\"role\":\"assistant\",\"content\":\"Hel\"}}]}"),
+                sse("{\"choices\":[{\"delta\":{\"content\":\"lo\"}}]}"),
+                sse("{\"choices\":[{\"delta\":{\"tool_calls\":[{\"index\":0,\"id\":\"call-1\",\"function\":{\"name\":\"lookup\",\"arguments\":\"{\\\"q\\\":\"}}]}}]}"),
+                sse("{\"choices\":[{\"delta\":{\"tool_calls\":[{\"index\":0,\"function\":{\"arguments\":\"\\\"nexus\\\"}\"}}]}}]}"),
+                sse("{\"choices\":[],\"usage\":{\"prompt_tokens\":7,\"completion_tokens\":3,\"total_tokens\":10}}"),
+                sse("[DONE]")));
+
+        List<LlmResponse> responses = model(Duration.ofSeconds(5)).generateContent(request(), true).toList().blockingGet();
+
+        assertEquals(3, responses.size());
+        assertEquals("Hel", responses.get(0).content().orElseThrow().text());
+        assertTrue(responses.get(0).partial().orElse(false));
+        assertEquals("lo", responses.get(1).content().orElseThrow().text());
+        LlmResponse complete = responses.get(2);
+        assertEquals("Hello", complete.content().orElseThrow().text());
+        FunctionCall call = complete.content().orElseThrow().parts().orElseThrow().get(1).functionCall().orElseThrow();
+        assertEquals("lookup", call.name().orElseThrow());
+        assertEquals("call-1", call.id().orElseThrow());
+        assertEquals("nexus", call.args().orElseThrow().get("q"));
+        assertEquals(10, complete.usageMetadata().orElseThrow().totalTokenCount().orElseThrow());
+
+        assertEquals("local-model", lastRequest.get().path("model").asText());
+        assertTrue(lastRequest.get().path("stream").asBoolean());
+        assertEquals("user", lastRequest.get().path("messages").path(0).path("role").asText());
+        assertEquals("Bearer secret", lastAuthorization.get());
+    }
+
+    @Test
+    void returnsNonStreamedCompletion() {
+        respond(200, "application/json",
+                "{\"choices\":[{\"message\":{\"role\":\"assistant\",\"content\":\"Hi there\"}}]}");
+
+        List<LlmResponse> responses = model(Duration.ofSeconds(5)).generateContent(request(), false).toList().blockingGet();
+
+        assertEquals(1, responses.size());
+        assertEquals("Hi there", responses.get(0).content().orElseThrow().text());
+    }
+
+    @Test
+    void surfacesErrorStatusWithUpstreamMessage() {
+        respond(503, "application/json", "{\"error\":{\"message\":\"overloaded\"}}");
+
+        model(Duration.ofSeconds(5)).generateContent(request(), true)
+                .test()
+                .awaitDone(5, TimeUnit.SECONDS)
+                .assertNoValues()
+                .assertError(error -> error instanceof UpstreamHttpException upstream
+                        && upstream.statusCode() == 503
+                        && upstream.getMessage().contains("overloaded"));
+    }
+
+    @Test
+    void failsStalledStreamAfterResponseTimeout() {
+        server.createContext("/v1/chat/completions", exchange -> {
+            exchange.getResponseHeaders().add("Content-Type", "text/event-stream");
+            exchange.sendResponseHeaders(200, 0);
+            OutputStream body = exchange.getResponseBody();
+            body.write(sse("{\"choices\":[{\"delta\":{\"content\":\"partial\"}}]}").getBytes(StandardCharsets.UTF_8));
+            body.flush();
+            try {
+                release.await(10, TimeUnit.SECONDS);
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+            }
+            exchange.close();
+        });
+
+        model(Duration.ofMillis(300)).generateContent(request(), true)
+                .test()
+                .awaitDone(5, TimeUnit.SECONDS)
+                .assertValueCount(1)
+                .assertError(TimeoutException.class);
+    }
+
+    @Test
+    void liveConnectionFailsInsteadOfThrowing() {
+        model(Duration.ofSeconds(5)).connect(request()).receive()
+                .test()
+                .assertError(UnsupportedOperationException.class);
+    }
+
+    private OpenAiCompatibleLlm model(Duration responseTimeout) {
+        URI uri = URI.create("http://127.0.0.1:" + server.getAddress().getPort() + "/v1/chat/completions");
+        return new OpenAiCompatibleLlm("local-model", uri, "secret", HttpClient.newHttpClient(), objectMapper, responseTimeout);
+    }
+
+    private LlmRequest request() {
+        return LlmRequest.builder()
+                .contents(List.of(Content.builder().role("user").parts(List.of(Part.fromText("hello"))).build()))
+                .build();
+    }
+
+    private void respond(int status, String contentType, String body) {
+        server.createContext("/v1/chat/completions", exchange -> {
+            capture(exchange);
+            byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+            exchange.getResponseHeaders().add("Content-Type", contentType);
+            exchange.sendResponseHeaders(status, bytes.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(bytes);
+            }
+        });
+    }
+
+    private void capture(HttpExchange exchange) throws IOException {
+        lastRequest.set(objectMapper.readTree(exchange.getRequestBody().readAllBytes()));
+        lastAuthorization.set(exchange.getRequestHeaders().getFirst("Authorization"));
+    }
+
+    private static String sse(String data) {
+        return "data: " + data + "\n\n";
+    }
+}
@@ -0,0 +1,93 @@
+package com.nexus.agent.service;
+
+import com.google.adk.events.Event;
+import com.nexus.agent.domain.AgentMode;
+import io.reactivex.rxjava3.processors.PublishProcessor;
+import io.reactivex.rxjava3.subscribers.TestSubscriber;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class HedgeLegsTest {
+
+    private final PublishProcessor<Event> primary = PublishProcessor.create();
+    private final PublishProcessor<Event> hedge = PublishProcessor.create();
+    private final List<AgentMode> emittedBy = new CopyOnWriteArrayList<>();
+    private final HedgeLegs legs = new HedgeLegs(AgentMode.MASTER_SUB, AgentMode.SINGLE, emittedBy::add);
+
+    @Test
+    void firstLegToEmitWinsAndTheOtherIsCancelled() {
+        TestSubscriber<Event> race = legs.race(primary, hedge).test();
+        Event answer = event("hedge");
+
+        hedge.onNext(answer);
+        hedge.onComplete();
+
+        race.assertValues(answer).assertComplete();
+        assertFalse(primary.hasSubscribers());
+        assertEquals(List.of(AgentMode.SINGLE), emittedBy);
+    }
+
+    @Test
+    void legFailingBeforeOutputLeavesTheRaceToTheOther() {
+        TestSubscriber<Event> race = legs.race(primary, hedge).test();
+        Event answer = event("primary");
+
+        hedge.onError(new IllegalStateException("fallback failed"));
+        race.assertNoValues().assertNotComplete();
+        primary.onNext(answer);
+        primary.onComplete();
+
+        race.assertValues(answer).assertComplete();
+        assertEquals(List.of(AgentMode.MASTER_SUB), emittedBy);
+    }
+
+    @Test
+    void bothLegsFailingSurfaceThePrimaryErrorWithTheHedgeSuppressed() {
+        TestSubscriber<Event> race = legs.race(primary, hedge).test();
+        IllegalArgumentException primaryError = new IllegalArgumentException("bad request");
+        IllegalStateException hedgeError = new IllegalStateException("fallback failed");
+
+        hedge.onError(hedgeError);
+        primary.onError(primaryError);
+
+        race.assertError(error -> error == primaryError);
+        assertSame(hedgeError, primaryError.getSuppressed()[0]);
+    }
+
+    @Test
+    void primaryErrorSurfacesEvenWhenItFailsFirst() {
+        TestSubscriber<Event> race = legs.race(primary, hedge).test();
+        IllegalArgumentException primaryError = new IllegalArgumentException("bad request");
+        IllegalStateException hedgeError = new IllegalStateException("fallback failed");
+
+        primary.onError(primaryError);
+        hedge.onError(hedgeError);
+
+        race.assertError(error -> error == primaryError);
+        assertSame(hedgeError, primaryError.getSuppressed()[0]);
+    }
+
+    @Test
+    void winningLegErrorAfterOutputIsNotHidden() {
+        TestSubscriber<Event> race = legs.race(primary, hedge).test();
+        IllegalStateException midStream = new IllegalStateException("stream broke");
+
+        primary.onNext(event("primary"));
+        primary.onError(midStream);
+
+        race.assertValueCount(1).assertError(error -> error == midStream);
+        assertTrue(midStream.getSuppressed().length == 0);
+        assertFalse(hedge.hasSubscribers());
+    }
+
+    private static Event event(String author) {
+        return Event.builder().author(author).build();
+    }
+}
@@ -0,0 +1,154 @@
+package com.nexus.agent.service;
+
+import com.google.adk.events.Event;
+import com.nexus.agent.domain.AgentMode;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class SingleFlightTest {
+
+    private static final int CALLERS = 8;
+
+    private final SingleFlight singleFlight = new SingleFlight();
+    private final ExecutorService callers = Executors.newFixedThreadPool(CALLERS);
+    private final Event first = event("first");
+    private final Event second = event("second");
+    private final RunOutcome outcome = new RunOutcome(List.of(), AgentMode.SINGLE, 0, false, List.of(), List.of(), false, null, null);
+
+    @AfterEach
+    void close() {
+        callers.shutdownNow();
+        singleFlight.close();
+    }
+
+    @Test
+    void concurrentCallersShareOneRunAndSeeEveryEvent() throws Exception {
+        AtomicInteger runs = new AtomicInteger();
+        CountDownLatch everyoneSawFirst = new CountDownLatch(CALLERS);
+        List<List<Event>> received = new ArrayList<>();
+        List<Future<SingleFlight.Joined>> joined = new ArrayList<>();
+        Function<Consumer<Event>, RunOutcome> run = publish -> {
+            runs.incrementAndGet();
+            publish.accept(first);
+            await(everyoneSawFirst);
+            publish.accept(second);
+            return outcome;
+        };
+        for (int i = 0; i < CALLERS; i++) {
+            List<Event> events = new CopyOnWriteArrayList<>();
+            received.add(events);
+            joined.add(callers.submit(() -> singleFlight.join("key", event -> {
+                events.add(event);
+                if (event == first) {
+                    everyoneSawFirst.countDown();
+                }
+            }, run)));
+        }
+
+        int leaders = 0;
+        for (Future<SingleFlight.Joined> result : joined) {
+            SingleFlight.Joined join = result.get(10, TimeUnit.SECONDS);
+            assertSame(outcome, join.outcome());
+            leaders += join.leader() ? 1 : 0;
+        }
+        assertEquals(1, runs.get());
+        assertEquals(1, leaders);
+        for (List<Event> events : received) {
+            assertEquals(List.of(first, second), events);
+        }
+    }
+
+    @Test
+    void everyCallerGetsTheRunError() throws Exception {
+        CountDownLatch everyoneJoined = new CountDownLatch(CALLERS);
+        List<Future<SingleFlight.Joined>> joined = new ArrayList<>();
+        Function<Consumer<Event>, RunOutcome> run = publish -> {
+            publish.accept(first);
+            await(everyoneJoined);
+            throw new IllegalStateException("upstream failed");
+        };
+        for (int i = 0; i < CALLERS; i++) {
+            joined.add(callers.submit(() -> singleFlight.join("key", event -> everyoneJoined.countDown(), run)));
+        }
+
+        for (Future<SingleFlight.Joined> result : joined) {
+            ExecutionException error = assertThrows(ExecutionException.class, () -> result.get(10, TimeUnit.SECONDS));
+            assertInstanceOf(IllegalStateException.class, error.getCause());
+        }
+    }
+
+    @Test
+    void failingSinkIsDetachedWithoutAffectingOthers() throws Exception {
+        CountDownLatch bothSawFirst = new CountDownLatch(2);
+        List<Event> healthy = new CopyOnWriteArrayList<>();
+        Function<Consumer<Event>, RunOutcome> run = publish -> {
+            publish.accept(first);
+            await(bothSawFirst);
+            publish.accept(second);
+            return outcome;
+        };
+        Future<SingleFlight.Joined> broken = callers.submit(() -> singleFlight.join("key", event -> {
+            bothSawFirst.countDown();
+            throw new IllegalStateException("client went away");
+        }, run));
+        Future<SingleFlight.Joined> working = callers.submit(() -> singleFlight.join("key", event -> {
+            healthy.add(event);
+            bothSawFirst.countDown();
+        }, run));
+
+        assertSame(outcome, broken.get(10, TimeUnit.SECONDS).outcome());
+        assertSame(outcome, working.get(10, TimeUnit.SECONDS).outcome());
+        assertEquals(List.of(first, second), healthy);
+    }
+
+    @Test
+    void finishedRunIsNotShared() {
+        AtomicInteger runs = new AtomicInteger();
+        Function<Consumer<Event>, RunOutcome> run = publish -> {
+            runs.incrementAndGet();
+            return outcome;
+        };
+
+        assertTrue(singleFlight.join("key", event -> {
+        }, run).leader());
+        assertTrue(singleFlight.join("key", event -> {
+        }, run).leader());
+        assertSame(outcome, singleFlight.join("other", event -> {
+        }, run).outcome());
+        assertEquals(3, runs.get());
+    }
+
+    private static Event event(String text) {
+        return Event.builder().author(text).build();
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            if (!latch.await(10, TimeUnit.SECONDS)) {
+                throw new IllegalStateException("callers did not join in time");
+            }
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(ex);
+        }
+    }
+}
@@ -0,0 +1,107 @@
+package com.nexus.agent.skills;
+
+import com.nexus.agent.config.SkillProperties;
+import com.nexus.agent.domain.AgentMode;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+// The precomputed index must resolve exactly what the original stream-based filter did, for every mode.
+class SkillRegistryTest {
+
+    private Path directory;
+    private SkillRegistry registry;
+
+    @BeforeEach
+    void loadSkills() throws IOException {
+        directory = Files.createTempDirectory("nexus-skills");
+        write("architecture.yaml", "name: architecture-first\nappliesTo: [SINGLE, master_sub]\ninstruction: a\n");
+        write("hygiene.yaml", "name: Delivery-Hygiene\ninstruction: b\n");
+        write("research.json", "{\"name\": \"research\", \"appliesTo\": [\"Multi_Workflow\"], \"instruction\": \"c\"}");
+        write("review.yml", "name: review\nappliesTo: [MULTI_WORKFLOW, SINGLE]\ninstruction: d\n");
+        write("retired.yaml", "name: retired\nenabled: false\ninstruction: e\n");
+        SkillProperties properties = new SkillProperties();
+        properties.setPath(directory.toString());
+        registry = new SkillRegistry(properties, event -> {
+        });
+        registry.init();
+    }
+
+    @AfterEach
+    void deleteSkills() throws IOException {
+        try (Stream<Path> files = Files.walk(directory)) {
+            for (Path path : files.sorted(Comparator.reverseOrder()).toList()) {
+                Files.deleteIfExists(path);
+            }
+        }
+    }
+
+    @Test
+    void indexResolvesTheSameSkillsAsTheStreamFilter() {
+        assertResolvesLikeStreamFilter();
+    }
+
+    @Test
+    void indexFollowsIncrementalReloads() throws IOException {
+        write("research.json", "{\"name\": \"research\", \"appliesTo\": [\"SINGLE\"], \"instruction\": \"c2\"}");
+        Files.delete(directory.resolve("review.yml"));
+        write("planning.yaml", "name: planning\ninstruction: f\n");
+
+        registry.reloadFiles(List.of(
+                directory.resolve("research.json"),
+                directory.resolve("review.yml"),
+                directory.resolve("planning.yaml")));
+
+        assertResolvesLikeStreamFilter();
+    }
+
+    private void assertResolvesLikeStreamFilter() {
+        List<Set<String>> requests = new ArrayList<>();
+        requests.add(null);
+        requests.add(Set.of());
+        requests.add(Set.of("architecture-first"));
+        requests.add(Set.of("delivery-hygiene", "REVIEW"));
+        requests.add(Set.of("  Research ", "unknown"));
+        requests.add(Set.of("retired"));
+        requests.add(Set.of("architecture-first", "delivery-hygiene", "research", "review", "planning"));
+        requests.add(new HashSet<>(Arrays.asList("review", null)));
+
+        for (AgentMode mode : AgentMode.values()) {
+            for (Set<String> names : requests) {
+                assertEquals(streamFilter(mode, names), registry.resolve(mode, names), mode + " " + names);
+            }
+        }
+    }
+
+    // SkillRegistry.resolve as it was before the index.
+    private List<SkillDefinition> streamFilter(AgentMode mode, Set<String> requiredSkillNames) {
+        Set<String> normalized = requiredSkillNames == null
+                ? Set.of()
+                : requiredSkillNames.stream().filter(Objects::nonNull).map(String::trim).map(String::toLowerCase).collect(Collectors.toSet());
+
+        return registry.listAll().stream()
+                .filter(SkillDefinition::isEnabled)
+                .filter(skill -> skill.supports(mode))
+                .filter(skill -> normalized.isEmpty() || normalized.contains(skill.getName().toLowerCase()))
+                .toList();
+    }
+
+    private void write(String fileName, String content) throws IOException {
+        Files.writeString(directory.resolve(fileName), content);
+    }
+}